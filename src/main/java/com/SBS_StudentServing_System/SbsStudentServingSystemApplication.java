@@ -2,8 +2,10 @@ package com.SBS_StudentServing_System;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SbsStudentServingSystemApplication {
 
 	public static void main(String[] args) {
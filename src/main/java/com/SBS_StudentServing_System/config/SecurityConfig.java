@@ -36,11 +36,14 @@ public class SecurityConfig {
                         .requestMatchers("/api/admin/accounts/*/change-password").authenticated()
                         .requestMatchers("/api/announcements/**").permitAll()
                         .requestMatchers("/api/news/**").permitAll()
+                        .requestMatchers("/api/admin/students/purge", "/api/admin/students/purge/**").hasRole("ADMIN")
+                        .requestMatchers("/api/admin/students/import", "/api/admin/students/import/**").hasRole("ADMIN")
                         .requestMatchers("/api/admin/students/**").permitAll()
                         .requestMatchers("/api/admin/lecturers/**").permitAll()
                         .requestMatchers("/api/admin/visa-passports/**").hasRole("ADMIN")
                         .requestMatchers("/api/admin/scholarships/**").hasRole("ADMIN")
                         .requestMatchers("/api/admin/tuition-payments/**").hasRole("ADMIN")
+                        .requestMatchers("/api/admin/exports/**").hasRole("ADMIN")
                         .requestMatchers("/api/admin/academic/grades/**").hasRole("ADMIN")
                         .requestMatchers("/api/admin/academic/class-schedules/**").hasRole("ADMIN")
                         .requestMatchers("/api/admin/academic/student-enrollments/**").hasRole("ADMIN")
@@ -64,11 +67,16 @@ public class SecurityConfig {
         CorsConfiguration config = new CorsConfiguration();
         // 允许来自前端的请求
         config.setAllowedOriginPatterns(Arrays.asList("*"));
-        config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        config.setAllowedMethods(Arrays.asList("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(Arrays.asList("*"));
         config.setAllowCredentials(true);
         // 允许携带认证信息
-        config.setExposedHeaders(Arrays.asList("Authorization"));
+        config.setExposedHeaders(Arrays.asList("Authorization",
+                // 断点续传 (tus) 协议响应头
+                "Location", "Tus-Resumable", "Tus-Version", "Tus-Extension", "Tus-Max-Size",
+                "Upload-Offset", "Upload-Length", "Upload-Expires",
+                // 已弃用接口的弃用日期与替代接口
+                "Deprecation", "Link"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", config);
@@ -0,0 +1,24 @@
+package com.SBS_StudentServing_System.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a deprecated endpoint that still answers but has a replacement. {@link SupersededEndpointInterceptor}
+ * adds {@code Deprecation} (RFC 9745) and {@code Link: <successor>; rel="successor-version"} headers to its
+ * responses so clients can find the replacement before the endpoint is removed.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SupersededBy {
+
+    // Path of the replacement endpoint, e.g. "/api/admin/students/page"
+    String value();
+
+    // ISO date the endpoint was deprecated on
+    String since();
+}
@@ -0,0 +1,31 @@
+package com.SBS_StudentServing_System.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+// Headers are set before the handler runs: endpoints returning a plain body commit the response themselves
+public class SupersededEndpointInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            SupersededBy superseded = method.getMethodAnnotation(SupersededBy.class);
+            if (superseded != null) {
+                response.setHeader("Deprecation", deprecationDate(superseded.since()));
+                response.addHeader(HttpHeaders.LINK, "<" + superseded.value() + ">; rel=\"successor-version\"");
+            }
+        }
+        return true;
+    }
+
+    // RFC 9745 structured date: "@" followed by epoch seconds
+    static String deprecationDate(String since) {
+        return "@" + LocalDate.parse(since).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+    }
+}
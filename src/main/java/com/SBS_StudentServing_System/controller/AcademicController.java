@@ -6,10 +6,14 @@ import com.SBS_StudentServing_System.mapping.StudentEnglishPlacementTestMapper;
 import com.SBS_StudentServing_System.model.academic.*;
 import com.SBS_StudentServing_System.model.lecturer.Lecturer;
 import com.SBS_StudentServing_System.service.academic.AcademicService;
+import com.SBS_StudentServing_System.service.common.CatalogResponses;
+import com.SBS_StudentServing_System.service.common.DimensionSnapshotService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -20,6 +24,9 @@ public class AcademicController {
     @Autowired
     private AcademicService academicService;
 
+    @Autowired
+    private CatalogResponses catalogResponses;
+
     // --- StudentAcademicBackground ---
     /*
 @GetMapping("/student-academic-backgrounds")
@@ -75,8 +82,9 @@ public class AcademicController {
 
     // --- StudyPlan ---
     @GetMapping("/study-plans")
-    public List<StudyPlan> getAllStudyPlans() {
-        return academicService.getAllStudyPlans();
+    public ResponseEntity<List<StudyPlan>> getAllStudyPlans(WebRequest request) {
+        return catalogResponses.respond(request, snapshot -> new ArrayList<>(snapshot.studyPlans().values()),
+                DimensionSnapshotService.STUDY_PLAN_TABLE);
     }
     @GetMapping("/study-plans/{id}")
     public ResponseEntity<StudyPlan> getStudyPlan(@PathVariable String id) {
@@ -123,8 +131,9 @@ public class AcademicController {
 
     // --- Grade ---
     @GetMapping("/grades")
-    public List<Grade> getAllGrades() {
-        return academicService.getAllGrades();
+    public ResponseEntity<List<Grade>> getAllGrades(WebRequest request) {
+        return catalogResponses.respond(request, snapshot -> new ArrayList<>(snapshot.grades().values()),
+                DimensionSnapshotService.GRADE_TABLE);
     }
     @GetMapping("/grades/{id}")
     public ResponseEntity<Grade> getGrade(@PathVariable String id) {
@@ -164,9 +173,12 @@ return academicService.getGrade(id)
     }
 
    // --- Course ---
+    // Course DTOs carry the lecturer, so lecturer edits change the ETag too
     @GetMapping("/courses")
-    public List<CourseDto> getAllCourses() {
-        return academicService.getAllCourses();
+    public ResponseEntity<List<CourseDto>> getAllCourses(WebRequest request) {
+        return catalogResponses.respond(request,
+                snapshot -> snapshot.courses().values().stream().map(CourseMapper::toDto).toList(),
+                DimensionSnapshotService.COURSE_TABLE, DimensionSnapshotService.LECTURER_TABLE);
     }
     @GetMapping("/course-results/total-credits/{studentId}")
     public ResponseEntity<Integer> getTotalCredits(@PathVariable String studentId) {
@@ -208,8 +220,9 @@ return academicService.getGrade(id)
 
     // --- Semester ---
     @GetMapping("/semesters")
-    public List<Semester> getAllSemesters() {
-        return academicService.getAllSemesters();
+    public ResponseEntity<List<Semester>> getAllSemesters(WebRequest request) {
+        return catalogResponses.respond(request, snapshot -> new ArrayList<>(snapshot.semesters().values()),
+                DimensionSnapshotService.SEMESTER_TABLE);
     }
     @GetMapping("/semesters/{id}")
     public ResponseEntity<Semester> getSemester(@PathVariable String id) {
@@ -229,8 +242,9 @@ return academicService.getGrade(id)
 
     // --- Department ---
     @GetMapping("/departments")
-    public List<Department> getAllDepartments() {
-        return academicService.getAllDepartments();
+    public ResponseEntity<List<Department>> getAllDepartments(WebRequest request) {
+        return catalogResponses.respond(request, snapshot -> new ArrayList<>(snapshot.departments().values()),
+                DimensionSnapshotService.DEPARTMENT_TABLE);
     }
     @GetMapping("/departments/{id}")
     public ResponseEntity<Department> getDepartment(@PathVariable String id) {
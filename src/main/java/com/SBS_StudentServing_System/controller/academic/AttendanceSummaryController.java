@@ -1,6 +1,10 @@
 package com.SBS_StudentServing_System.controller.academic;
 
+import com.SBS_StudentServing_System.config.SupersededBy;
 import com.SBS_StudentServing_System.dto.academic.AttendanceSummaryDto;
+import com.SBS_StudentServing_System.dto.common.CursorPage;
+import com.SBS_StudentServing_System.service.common.KeysetPageRequest;
+import com.SBS_StudentServing_System.service.academic.AttendanceCounterService;
 import com.SBS_StudentServing_System.service.academic.AttendanceSummaryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -8,6 +12,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -17,12 +22,22 @@ public class AttendanceSummaryController {
     @Autowired
     private AttendanceSummaryService attendanceSummaryService;
 
+    @Autowired
+    private AttendanceCounterService attendanceCounterService;
+
+    @Deprecated
+    @SupersededBy(value = "/api/admin/academic/attendance-summaries/page", since = "2026-10-17")
     @GetMapping
     public ResponseEntity<List<AttendanceSummaryDto>> getAllAttendanceSummaries() {
         List<AttendanceSummaryDto> attendanceSummaries = attendanceSummaryService.getAllAttendanceSummaries();
         return new ResponseEntity<>(attendanceSummaries, HttpStatus.OK);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<AttendanceSummaryDto>> getAttendanceSummaryPage(@RequestParam Map<String, String> params) {
+        return new ResponseEntity<>(attendanceSummaryService.getAttendanceSummaryPage(KeysetPageRequest.from(params)), HttpStatus.OK);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<AttendanceSummaryDto> getAttendanceSummaryById(@PathVariable Long id) {
         Optional<AttendanceSummaryDto> attendanceSummary = attendanceSummaryService.getAttendanceSummaryById(id);
@@ -61,4 +76,11 @@ public class AttendanceSummaryController {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
-}
\ No newline at end of file
+
+    // Rebuilds every counter from fact_daily_attendance (also runs nightly)
+    @PostMapping("/reconcile")
+    public ResponseEntity<Map<String, Object>> reconcileAttendanceSummaries() {
+        int corrected = attendanceCounterService.reconcile();
+        return new ResponseEntity<>(Map.of("correctedRows", corrected), HttpStatus.OK);
+    }
+}
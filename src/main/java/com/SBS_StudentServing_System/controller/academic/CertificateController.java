@@ -1,52 +1,54 @@
 package com.SBS_StudentServing_System.controller.academic;
 
+import com.SBS_StudentServing_System.exception.ResumableUploadException;
 import com.SBS_StudentServing_System.model.academic.Certificate;
 import com.SBS_StudentServing_System.service.academic.CertificateService;
+import com.SBS_StudentServing_System.service.upload.ContentBlobStore;
+import com.SBS_StudentServing_System.service.upload.ContentBlobStore.StoredBlob;
+import com.SBS_StudentServing_System.service.upload.ResumableUploadService;
+import com.SBS_StudentServing_System.service.upload.ResumableUploadService.CompletedUpload;
+import com.SBS_StudentServing_System.service.upload.UploadFileServer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.security.Principal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/academic/certificates")
 public class CertificateController {
 
-    // 证书文件存储目录
-    private static final String CERTIFICATE_UPLOAD_DIR = "uploads/certificates/";
-
     @Autowired
     private CertificateService certificateService;
 
-    public CertificateController() {
+    @Autowired
+    private ContentBlobStore contentBlobStore;
 
-        File directory = new File(CERTIFICATE_UPLOAD_DIR);
-        if (!directory.exists()) {
-            directory.mkdirs();
-        }
-    }
+    @Autowired
+    private ResumableUploadService resumableUploadService;
+
+    @Autowired
+    private UploadFileServer uploadFileServer;
 
     @PostMapping("/upload")
     @PreAuthorize("hasRole('STUDENT') or hasRole('ADMIN')")
     public ResponseEntity<Map<String, Object>> uploadCertificate(
-            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "file", required = false) MultipartFile file,
+            @RequestParam(value = "uploadId", required = false) String uploadId,
             @RequestParam("studentId") String studentId,
             @RequestParam(value = "certificateType", defaultValue = "general") String certificateType,
             @RequestParam(value = "description", required = false) String description,
@@ -55,7 +57,7 @@ public class CertificateController {
         Map<String, Object> response = new HashMap<>();
         
         // 验证请求参数
-        if (file.isEmpty()) {
+        if ((file == null || file.isEmpty()) && uploadId == null) {
             response.put("success", false);
             response.put("message", "File is empty");
             return ResponseEntity.badRequest().body(response);
@@ -68,34 +70,41 @@ public class CertificateController {
         }
         
         try {
-            // 生成唯一文件名
-            String originalFileName = file.getOriginalFilename();
-            String fileExtension = "";
-            if (originalFileName != null && originalFileName.contains(".")) {
-                fileExtension = originalFileName.substring(originalFileName.lastIndexOf("."));
+            // 保存文件 (identical content is stored once and shared); large files arrive through a completed
+            // resumable upload instead of the multipart body
+            String originalFileName;
+            StoredBlob blob;
+            if (uploadId != null) {
+                CompletedUpload upload = resumableUploadService.take(uploadId, principal.getName());
+                originalFileName = upload.fileName();
+                blob = contentBlobStore.store(upload.file(), originalFileName);
+                resumableUploadService.remove(uploadId, principal.getName());
+            } else {
+                originalFileName = file.getOriginalFilename();
+                blob = contentBlobStore.store(file.getInputStream(), originalFileName);
             }
-            
-            String uniqueFileName = studentId + "_" + certificateType + "_" + 
-                                  UUID.randomUUID().toString() + fileExtension;
-            
-            // 构建文件路径
-            Path filePath = Paths.get(CERTIFICATE_UPLOAD_DIR + uniqueFileName);
-            
-            // 保存文件
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-            
+            String filePath = contentBlobStore.key(blob);
+
+            // 生成唯一文件名
+            String uniqueFileName = studentId + "_" + certificateType + "_" +
+                                  UUID.randomUUID().toString() + ContentBlobStore.extension(originalFileName);
+
             // 保存证书信息到数据库
             Certificate certificate = certificateService.saveCertificate(
-                studentId, uniqueFileName, filePath.toString(), certificateType, description);
-            
+                studentId, uniqueFileName, filePath, certificateType, description);
+
             // 返回成功响应
             response.put("success", true);
             response.put("message", "Certificate uploaded successfully");
             response.put("fileName", uniqueFileName);
-            response.put("filePath", filePath.toString());
+            response.put("filePath", filePath);
             response.put("certificateId", certificate.getId());
             
             return ResponseEntity.ok(response);
+        } catch (ResumableUploadException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(e.getStatus()).body(response);
         } catch (IOException e) {
             response.put("success", false);
             response.put("message", "Failed to upload certificate: " + e.getMessage());
@@ -109,25 +118,26 @@ public class CertificateController {
     
     @GetMapping("/download/{fileName}")
     @PreAuthorize("hasRole('STUDENT') or hasRole('ADMIN')")
-    public ResponseEntity<Resource> downloadCertificate(
+    public void downloadCertificate(
             @PathVariable String fileName,
-            Principal principal) {
-        try {
-            Path filePath = Paths.get(CERTIFICATE_UPLOAD_DIR + fileName);
-            Resource resource = new UrlResource(filePath.toUri());
-            
-            if (resource.exists()) {
-                return ResponseEntity.ok()
-                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                        .header(HttpHeaders.CONTENT_DISPOSITION, 
-                               "attachment; filename=\"" + fileName + "\"")
-                        .body(resource);
-            } else {
-                return ResponseEntity.notFound().build();
-            }
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            Principal principal,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Optional<Certificate> certificate = certificateService.getCertificateByFileName(fileName);
+        if (certificate.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        // Range/If-Range lets large PDFs resume; ETag and zero-copy transfer come from the file server. With a
+        // remote store the client is redirected to a short-lived presigned URL after this check instead
+        String filePath = certificate.get().getFilePath();
+        String key = ContentBlobStore.keyOf(filePath);
+        if (key == null) {
+            // Stored before the blob store as uploads/certificates/<name>
+            key = "certificates/" + Paths.get(filePath).getFileName();
         }
+        uploadFileServer.serve(key, ContentBlobStore.hashOf(filePath), CacheControl.noCache().cachePrivate(),
+                ContentDisposition.attachment().filename(fileName).build().toString(), request, response);
     }
 
     // 新增API端点用于获取证书信息
@@ -1,13 +1,20 @@
 package com.SBS_StudentServing_System.controller.academic;
 
+import com.SBS_StudentServing_System.config.SupersededBy;
 import com.SBS_StudentServing_System.dto.academic.DailyAttendanceDto;
+import com.SBS_StudentServing_System.dto.academic.RollCallDto;
+import com.SBS_StudentServing_System.dto.academic.RollCallResultDto;
+import com.SBS_StudentServing_System.dto.common.CursorPage;
+import com.SBS_StudentServing_System.service.common.KeysetPageRequest;
 import com.SBS_StudentServing_System.service.academic.DailyAttendanceService;
+import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin/academic/daily-attendances")
@@ -16,12 +23,19 @@ public class DailyAttendanceController {
     @Autowired
     private DailyAttendanceService dailyAttendanceService;
 
+    @Deprecated
+    @SupersededBy(value = "/api/admin/academic/daily-attendances/page", since = "2026-10-17")
     @GetMapping
     public ResponseEntity<List<DailyAttendanceDto>> getAllDailyAttendances() {
         List<DailyAttendanceDto> dailyAttendances = dailyAttendanceService.getAllDailyAttendances();
         return new ResponseEntity<>(dailyAttendances, HttpStatus.OK);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<DailyAttendanceDto>> getDailyAttendancePage(@RequestParam Map<String, String> params) {
+        return new ResponseEntity<>(dailyAttendanceService.getDailyAttendancePage(KeysetPageRequest.from(params)), HttpStatus.OK);
+    }
+
     @GetMapping("/student/{studentId}")
     public ResponseEntity<List<DailyAttendanceDto>> getDailyAttendanceByStudentId(@PathVariable String studentId) {
         List<DailyAttendanceDto> dailyAttendances = dailyAttendanceService.getDailyAttendanceByStudentId(studentId);
@@ -38,6 +52,19 @@ public class DailyAttendanceController {
         }
     }
 
+    // Database failures are not caught here: they reach ApiExceptionHandler and answer 500
+    @PostMapping("/roll-call")
+    public ResponseEntity<?> recordRollCall(@RequestBody RollCallDto rollCallDto) {
+        try {
+            RollCallResultDto result = dailyAttendanceService.recordRollCall(rollCallDto);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (EntityNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PutMapping("/{studentId}/{classScheduleId}")
     public ResponseEntity<DailyAttendanceDto> updateDailyAttendance(
             @PathVariable String studentId, 
@@ -1,20 +1,33 @@
 package com.SBS_StudentServing_System.controller.academic;
 
 import com.SBS_StudentServing_System.dto.academic.StudentAcademicBackgroundDto;
+import com.SBS_StudentServing_System.exception.ResumableUploadException;
 import com.SBS_StudentServing_System.service.academic.StudentAcademicBackgroundService;
+import com.SBS_StudentServing_System.service.upload.BlobStore;
+import com.SBS_StudentServing_System.service.upload.ContentBlobStore;
+import com.SBS_StudentServing_System.service.upload.ContentBlobStore.StoredBlob;
+import com.SBS_StudentServing_System.service.upload.ResumableUploadService;
+import com.SBS_StudentServing_System.service.upload.ResumableUploadService.CompletedUpload;
+import com.SBS_StudentServing_System.service.upload.UploadFileServer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.security.Principal;
+import java.util.Arrays;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/admin/academic/student-academic-backgrounds-file")
 @PreAuthorize("hasRole('ADMIN')")
@@ -23,10 +36,22 @@ public class StudentAcademicBackgroundFileController {
     @Autowired
     private StudentAcademicBackgroundService studentAcademicBackgroundService;
 
+    @Autowired
+    private ContentBlobStore contentBlobStore;
+
+    @Autowired
+    private ResumableUploadService resumableUploadService;
+
+    @Autowired
+    private UploadFileServer uploadFileServer;
+
     @Value("${app.base-url}")
     private String baseUrl;
 
-    private final String UPLOAD_DIR = "uploads/academic-backgrounds/";
+    // Documents hold personal data: they are only served through the admin-only endpoint below, never /uploads
+    public static final String DOCUMENT_PATH = "/api/admin/academic/student-academic-backgrounds-file/documents/";
+
+    private static final byte[] PDF_MAGIC = "%PDF-".getBytes(StandardCharsets.US_ASCII);
 
     @PostMapping("/upload")
     @PreAuthorize("hasRole('ADMIN')")
@@ -38,7 +63,9 @@ public class StudentAcademicBackgroundFileController {
             @RequestParam(value = "englishQualification", required = false) String englishQualification,
             @RequestParam(value = "englishScore", required = false) Float englishScore,
             @RequestParam("requiredForPlacementTest") Boolean requiredForPlacementTest,
-            @RequestParam(value = "documentFile", required = false) MultipartFile documentFile) {
+            @RequestParam(value = "documentFile", required = false) MultipartFile documentFile,
+            @RequestParam(value = "documentUploadId", required = false) String documentUploadId,
+            Principal principal) {
         
         try {
             String documentUrl = null;
@@ -47,28 +74,25 @@ public class StudentAcademicBackgroundFileController {
             if (documentFile != null && !documentFile.isEmpty()) {
                 // Validate file
                 if (!isValidPdfFile(documentFile)) {
-                    System.out.println("File validation failed for: " + documentFile.getOriginalFilename());
+                    log.warn("File validation failed for: {}", documentFile.getOriginalFilename());
                     return ResponseEntity.badRequest().build();
                 }
 
-                // Create upload directory if not exists
-                Path uploadPath = Paths.get(UPLOAD_DIR);
-                if (!Files.exists(uploadPath)) {
-                    Files.createDirectories(uploadPath);
-                }
-
-                // Generate filename
-                String originalFilename = documentFile.getOriginalFilename();
-                String filename = backgroundId + "_" + System.currentTimeMillis() + 
-                    (originalFilename != null && originalFilename.contains(".") ? 
-                        originalFilename.substring(originalFilename.lastIndexOf(".")) : ".pdf");
+                // Save file; a document uploaded before (for any student) is stored once and shared
+                StoredBlob blob = contentBlobStore.store(documentFile.getInputStream(), documentFile.getOriginalFilename());
 
-                // Save file
-                Path filePath = uploadPath.resolve(filename);
-                Files.copy(documentFile.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-                
                 // Set document URL
-                documentUrl = baseUrl + "/uploads/academic-backgrounds/" + filename;
+                documentUrl = baseUrl + DOCUMENT_PATH + contentBlobStore.key(blob);
+            } else if (documentUploadId != null) {
+                // Scans over the multipart limit arrive through a completed resumable upload
+                CompletedUpload upload = resumableUploadService.take(documentUploadId, principal.getName());
+                if (!isValidPdfFile(upload)) {
+                    log.warn("File validation failed for: {}", upload.fileName());
+                    return ResponseEntity.badRequest().build();
+                }
+                StoredBlob blob = contentBlobStore.store(upload.file(), upload.fileName());
+                resumableUploadService.remove(documentUploadId, principal.getName());
+                documentUrl = baseUrl + DOCUMENT_PATH + contentBlobStore.key(blob);
             }
 
             // Create DTO
@@ -90,6 +114,9 @@ public class StudentAcademicBackgroundFileController {
             } else {
                 return ResponseEntity.badRequest().build();
             }
+        } catch (ResumableUploadException e) {
+            log.warn("Resumable upload rejected: {}", e.getMessage());
+            return ResponseEntity.status(e.getStatus()).build();
         } catch (IOException e) {
             e.printStackTrace();
             return ResponseEntity.status(500).build();
@@ -99,31 +126,75 @@ public class StudentAcademicBackgroundFileController {
         }
     }
 
+    // Deduplicated documents (blobs/<shard>/<sha256>.pdf): the name is the content hash, a strong ETag
+    @GetMapping("/documents/blobs/{shard}/{name}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void getDocument(@PathVariable String shard, @PathVariable String name,
+                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String key = ContentBlobStore.KEY_PREFIX + shard + "/" + name;
+        if (!key.equals(ContentBlobStore.keyOf(key))) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        uploadFileServer.serve(key, ContentBlobStore.hashOf(key), CacheControl.noCache().cachePrivate(), "inline", request, response);
+    }
+
+    // Documents uploaded before the blob store
+    @GetMapping("/documents/academic-backgrounds/{name}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void getLegacyDocument(@PathVariable String name,
+                                  HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String key = "academic-backgrounds/" + name;
+        try {
+            BlobStore.checkKey(key);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        uploadFileServer.serve(key, null, CacheControl.noCache().cachePrivate(), "inline", request, response);
+    }
+
     private boolean isValidPdfFile(MultipartFile file) {
         // Check file type
         String contentType = file.getContentType();
-        System.out.println("File content type: " + contentType);
+        log.debug("File content type: {}", contentType);
         if (contentType == null || !contentType.equals("application/pdf")) {
-            System.out.println("Invalid content type: " + contentType);
+            log.debug("Invalid content type: {}", contentType);
             return false;
         }
 
         // Check file extension
         String originalFilename = file.getOriginalFilename();
-        System.out.println("File name: " + originalFilename);
+        log.debug("File name: {}", originalFilename);
         if (originalFilename == null || !originalFilename.toLowerCase().endsWith(".pdf")) {
-            System.out.println("Invalid file extension: " + originalFilename);
+            log.debug("Invalid file extension: {}", originalFilename);
             return false;
         }
 
         // Check file size (limit to 10MB)
         long fileSize = file.getSize();
-        System.out.println("File size: " + fileSize);
+        log.debug("File size: {}", fileSize);
         if (fileSize > 10 * 1024 * 1024) {
-            System.out.println("File too large: " + fileSize);
+            log.debug("File too large: {}", fileSize);
             return false;
         }
 
         return true;
     }
-}
\ No newline at end of file
+
+    // Completed resumable uploads carry no content type: check the name and the PDF header instead
+    private boolean isValidPdfFile(CompletedUpload upload) throws IOException {
+        if (upload.fileName() == null || !upload.fileName().toLowerCase().endsWith(".pdf")) {
+            log.debug("Invalid file extension: {}", upload.fileName());
+            return false;
+        }
+        try (InputStream in = Files.newInputStream(upload.file())) {
+            byte[] header = in.readNBytes(PDF_MAGIC.length);
+            if (!Arrays.equals(header, PDF_MAGIC)) {
+                log.debug("Not a PDF: {}", upload.fileName());
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,12 +1,15 @@
 package com.SBS_StudentServing_System.controller.academic;
 
+import com.SBS_StudentServing_System.dto.academic.StudentProgressDrift;
 import com.SBS_StudentServing_System.dto.academic.StudentProgressSummaryDto;
 import com.SBS_StudentServing_System.service.academic.StudentProgressSummaryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin/academic/student-progress-summaries")
@@ -21,6 +24,27 @@ public class StudentProgressSummaryController {
         return studentProgressSummaryService.getAllStudentProgressSummaries();
     }
 
+    @GetMapping("/student/{studentId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StudentProgressSummaryDto> getStudentProgressSummaryByStudentId(@PathVariable String studentId) {
+        return studentProgressSummaryService.getByStudentId(studentId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Backfill: recompute every summary from enrollments and course results
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> rebuildStudentProgressSummaries() {
+        return Map.of("rowsWritten", studentProgressSummaryService.rebuildAll());
+    }
+
+    @GetMapping("/drift")
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<StudentProgressDrift> getStudentProgressDrift() {
+        return studentProgressSummaryService.findDrift();
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public StudentProgressSummaryDto getStudentProgressSummaryById(@PathVariable Long id) {
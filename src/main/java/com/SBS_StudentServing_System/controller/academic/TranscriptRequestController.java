@@ -1,6 +1,9 @@
 package com.SBS_StudentServing_System.controller.academic;
 
+import com.SBS_StudentServing_System.config.SupersededBy;
+import com.SBS_StudentServing_System.dto.common.CursorPage;
 import com.SBS_StudentServing_System.model.academic.TranscriptIssueRequest;
+import com.SBS_StudentServing_System.service.common.KeysetPageRequest;
 import com.SBS_StudentServing_System.service.academic.TranscriptRequestService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -41,6 +44,8 @@ public class TranscriptRequestController {
         }
     }
 
+    @Deprecated
+    @SupersededBy(value = "/api/academic/transcript-requests/page", since = "2026-10-17")
     @GetMapping("/all")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Map<String, Object>> getAllTranscriptRequests() {
@@ -58,6 +63,24 @@ public class TranscriptRequestController {
         }
     }
 
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getTranscriptRequestPage(@RequestParam Map<String, String> params) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            CursorPage<TranscriptIssueRequest> page =
+                    transcriptRequestService.getTranscriptRequestPage(KeysetPageRequest.from(params));
+
+            response.put("success", true);
+            response.put("data", page);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error retrieving transcript requests: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
     @PutMapping("/{requestId}/status")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Map<String, Object>> updateTranscriptRequestStatus(
@@ -6,14 +6,19 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.SBS_StudentServing_System.dto.upload.StoredUploadDto;
 import com.SBS_StudentServing_System.service.account.LoginAccountService;
+import com.SBS_StudentServing_System.service.common.ImageDerivativeService;
+import com.SBS_StudentServing_System.service.common.ImageDerivativeService.Status;
+import com.SBS_StudentServing_System.service.common.ImageDerivativeService.Submission;
+import com.SBS_StudentServing_System.service.common.ImageDerivativeService.Variant;
+import com.SBS_StudentServing_System.service.upload.UploadMetadataService;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -23,12 +28,19 @@ public class ProfileController {
     @Autowired
     private LoginAccountService accountService;
 
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+
+    @Autowired
+    private UploadMetadataService uploadMetadataService;
+
+    private static final int MAX_BATCH_STUDENT_IDS = 500;
+    // How long an upload request waits for its derivatives before answering "processing"
+    private static final Duration UPLOAD_WAIT = Duration.ofSeconds(3);
+
     @Value("${app.base-url}")
     private String baseUrl;
 
-    @Value("${profile.image.upload.dir:uploads/profile-images/}")
-    private String UPLOAD_DIR;
-
     @PostMapping("/profile/upload-image")
     public ResponseEntity<Map<String, String>> uploadProfileImage(
             @RequestParam("file") MultipartFile file,
@@ -48,41 +60,25 @@ public class ProfileController {
                 return ResponseEntity.badRequest().body(Map.of("error", "File must be less than 5MB"));
             }
 
-            // Create upload directory if not exists
-            Path uploadPath = Paths.get(UPLOAD_DIR);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-
-            // Generate filename based on studentId
-            String originalFilename = file.getOriginalFilename();
-            String extension = "";
-            if (originalFilename != null && originalFilename.contains(".")) {
-                extension = originalFilename.substring(originalFilename.lastIndexOf(".")).toLowerCase();
-            } else {
-                // Default to jpg if no extension
-                extension = ".jpg";
-            }
-            
-            // Ensure we have a valid image extension
-            if (!extension.equals(".jpg") && !extension.equals(".jpeg") && 
-                !extension.equals(".png") && !extension.equals(".gif")) {
-                extension = ".jpg"; // Default to jpg
+            // The original is never stored; the upload is indexed on the pool once its derivatives exist, so
+            // lookups never return URLs of files that were not written
+            long sizeBytes = file.getSize();
+            Submission submission = imageDerivativeService.submit(file, derivatives -> uploadMetadataService.recordImage(
+                    UploadMetadataService.PROFILE_IMAGE, studentId, sizeBytes, derivatives));
+            Status status = submission.await(UPLOAD_WAIT);
+            if (status == Status.FAILED) {
+                return ResponseEntity.unprocessableEntity().body(Map.of("error", "Image could not be processed"));
             }
 
-            String filename = studentId + extension;
-
-            // Save file
-            Path filePath = uploadPath.resolve(filename);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-            // Create response
-            Map<String, String> response = new HashMap<>();
-            response.put("filename", filename);
-            response.put("imageUrl", baseUrl + "/uploads/profile-images/" + filename);
+            // Create response; "processing" until the derivatives are served and the profile points at them
+            Map<String, String> response = new HashMap<>(imageDerivativeService.urls(submission.set()));
+            response.put("filename", submission.set().filename(Variant.FULL));
+            response.put("status", status == Status.READY ? "ready" : "processing");
 
             return ResponseEntity.ok(response);
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (IOException e) {
             return ResponseEntity.status(500)
                     .body(Map.of("error", "Upload failed: " + e.getMessage()));
@@ -96,27 +92,39 @@ public class ProfileController {
     public ResponseEntity<Map<String, String>> getProfileImage(
             @PathVariable String studentId) {
         try {
-            // Check for different possible image extensions
-            String[] extensions = {".jpg", ".jpeg", ".png", ".gif"};
-            String imageUrl = null;
-            
-            for (String ext : extensions) {
-                Path imagePath = Paths.get(UPLOAD_DIR, studentId + ext);
-                if (Files.exists(imagePath)) {
-                    imageUrl = baseUrl + "/uploads/profile-images/" + studentId + ext;
-                    break;
-                }
-            }
-            
-            Map<String, String> response = new HashMap<>();
-            response.put("imageUrl", imageUrl); // Will be null if no image found
-            return ResponseEntity.ok(response);
+            StoredUploadDto upload = uploadMetadataService
+                    .find(UploadMetadataService.PROFILE_IMAGE, studentId)
+                    .orElse(null);
+            return ResponseEntity.ok(imageUrls(upload)); // imageUrl is null if no image was uploaded
         } catch (Exception e) {
             return ResponseEntity.status(500)
                     .body(Map.of("error", "Failed to get profile image: " + e.getMessage()));
         }
     }
 
+    // Rosters and headers: image URLs for many students in one call (?studentIds=a,b,c)
+    @GetMapping("/profile/images")
+    public ResponseEntity<?> getProfileImages(@RequestParam("studentIds") List<String> studentIds) {
+        if (studentIds.size() > MAX_BATCH_STUDENT_IDS) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "At most " + MAX_BATCH_STUDENT_IDS + " studentIds per request"));
+        }
+        Map<String, Map<String, String>> response = new LinkedHashMap<>();
+        uploadMetadataService.findAll(UploadMetadataService.PROFILE_IMAGE, studentIds)
+                .forEach((studentId, upload) -> response.put(studentId, imageUrls(upload)));
+        return ResponseEntity.ok(response);
+    }
+
+    // Images stored before derivatives existed have no thumbnail/card; those fall back to the image itself
+    private Map<String, String> imageUrls(StoredUploadDto upload) {
+        Map<String, String> urls = new HashMap<>();
+        String imageUrl = upload != null ? baseUrl + upload.storedPath() : null;
+        urls.put("imageUrl", imageUrl);
+        urls.put("thumbnailUrl", upload != null && upload.thumbnailPath() != null ? baseUrl + upload.thumbnailPath() : imageUrl);
+        urls.put("cardUrl", upload != null && upload.cardPath() != null ? baseUrl + upload.cardPath() : imageUrl);
+        return urls;
+    }
+
     private boolean isValidImageType(String contentType) {
         return contentType != null && (
                 contentType.equals("image/jpeg") ||
@@ -0,0 +1,68 @@
+package com.SBS_StudentServing_System.controller.admin;
+
+import com.SBS_StudentServing_System.service.export.ExportFormat;
+import com.SBS_StudentServing_System.service.export.FactExportService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/admin/exports")
+public class AdminExportController {
+
+    private final FactExportService exportService;
+
+    public AdminExportController(FactExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/daily-attendance")
+    public ResponseEntity<StreamingResponseBody> exportDailyAttendance(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String semesterId,
+            @RequestParam(required = false) String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return stream("daily-attendance", exportFormat,
+                out -> exportService.exportDailyAttendance(from, to, semesterId, exportFormat, out));
+    }
+
+    @GetMapping("/course-results")
+    public ResponseEntity<StreamingResponseBody> exportCourseResults(
+            @RequestParam(required = false) String semesterId,
+            @RequestParam(required = false) String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return stream("course-results", exportFormat,
+                out -> exportService.exportCourseResults(semesterId, exportFormat, out));
+    }
+
+    @GetMapping("/student-enrollments")
+    public ResponseEntity<StreamingResponseBody> exportStudentEnrollments(
+            @RequestParam(required = false) String semesterId,
+            @RequestParam(required = false) String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return stream("student-enrollments", exportFormat,
+                out -> exportService.exportStudentEnrollments(semesterId, exportFormat, out));
+    }
+
+    @GetMapping("/tuition-payments")
+    public ResponseEntity<StreamingResponseBody> exportTuitionPayments(
+            @RequestParam(required = false) String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return stream("tuition-payments", exportFormat,
+                out -> exportService.exportTuitionPayments(exportFormat, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String name, ExportFormat format, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + "." + format.getExtension() + "\"")
+                .body(body);
+    }
+}
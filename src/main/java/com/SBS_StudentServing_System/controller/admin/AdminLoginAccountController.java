@@ -5,6 +5,7 @@ import com.SBS_StudentServing_System.dto.account.LoginAccountDto;
 import com.SBS_StudentServing_System.model.account.LoginAccount;
 import com.SBS_StudentServing_System.repository.account.LoginAccountRepository;
 import com.SBS_StudentServing_System.service.account.LoginAccountService;
+import com.SBS_StudentServing_System.service.account.PrincipalCache;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -17,10 +18,13 @@ public class AdminLoginAccountController {
 
     private final LoginAccountService accountService;
     private final LoginAccountRepository accountRepository;
+    private final PrincipalCache principalCache;
 
-    public AdminLoginAccountController(LoginAccountService accountService, LoginAccountRepository accountRepository) {
+    public AdminLoginAccountController(LoginAccountService accountService, LoginAccountRepository accountRepository,
+                                       PrincipalCache principalCache) {
         this.accountService = accountService;
         this.accountRepository = accountRepository;
+        this.principalCache = principalCache;
     }
 
     @GetMapping
@@ -62,6 +66,7 @@ public class AdminLoginAccountController {
         }
 
         accountRepository.delete(account);
+        principalCache.evict(accountId);
         return true;
     }
 
@@ -75,6 +80,7 @@ public class AdminLoginAccountController {
         // Toggle account status
         account.setAccountStatus(account.getAccountStatus() == 1 ? 0 : 1);
         accountRepository.save(account);
+        principalCache.evict(accountId);
         
         return toDto(account);
     }
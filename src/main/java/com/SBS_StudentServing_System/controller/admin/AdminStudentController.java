@@ -1,15 +1,36 @@
 package com.SBS_StudentServing_System.controller.admin;
 
+import com.SBS_StudentServing_System.config.SupersededBy;
+import com.SBS_StudentServing_System.dto.common.CursorPage;
 import com.SBS_StudentServing_System.dto.student.StudentCreateDto;
 import com.SBS_StudentServing_System.dto.student.StudentDto;
+import com.SBS_StudentServing_System.dto.student.StudentImportJobDto;
+import com.SBS_StudentServing_System.dto.student.StudentPurgeJobDto;
+import com.SBS_StudentServing_System.dto.student.StudentPurgeRequestDto;
 import com.SBS_StudentServing_System.model.student.related.City;
 import com.SBS_StudentServing_System.model.student.related.Ward;
+import com.SBS_StudentServing_System.service.common.CatalogResponses;
+import com.SBS_StudentServing_System.service.common.DimensionSnapshotService;
+import com.SBS_StudentServing_System.service.common.KeysetPageRequest;
+import com.SBS_StudentServing_System.service.student.StudentImportService;
+import com.SBS_StudentServing_System.service.student.StudentPurgeService;
 import com.SBS_StudentServing_System.service.student.StudentService;
 import com.SBS_StudentServing_System.repository.student.CityRepository;
 import com.SBS_StudentServing_System.repository.student.WardRepository;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin/students")
@@ -18,18 +39,36 @@ public class AdminStudentController {
     private final StudentService studentService;
     private final CityRepository cityRepository;
     private final WardRepository wardRepository;
+    private final DimensionSnapshotService dimensionSnapshotService;
+    private final StudentPurgeService studentPurgeService;
+    private final StudentImportService studentImportService;
+    private final CatalogResponses catalogResponses;
 
-    public AdminStudentController(StudentService studentService, CityRepository cityRepository, WardRepository wardRepository) {
+    public AdminStudentController(StudentService studentService, CityRepository cityRepository, WardRepository wardRepository,
+                                  DimensionSnapshotService dimensionSnapshotService, StudentPurgeService studentPurgeService,
+                                  StudentImportService studentImportService, CatalogResponses catalogResponses) {
         this.studentService = studentService;
         this.cityRepository = cityRepository;
         this.wardRepository = wardRepository;
+        this.dimensionSnapshotService = dimensionSnapshotService;
+        this.studentPurgeService = studentPurgeService;
+        this.studentImportService = studentImportService;
+        this.catalogResponses = catalogResponses;
     }
 
+    @Deprecated
+    @SupersededBy(value = "/api/admin/students/page", since = "2026-10-17")
     @GetMapping
     public List<StudentDto> getAllStudents() {
         return studentService.getAllStudents();
     }
 
+    // Keyset-paginated listing: ?cursor=&size=&sort=lastName|-lastName&studyPlanId=...
+    @GetMapping("/page")
+    public CursorPage<StudentDto> getStudentPage(@RequestParam Map<String, String> params) {
+        return studentService.getStudentPage(KeysetPageRequest.from(params));
+    }
+
     @GetMapping("/{id}")
     public StudentDto getStudent(@PathVariable("id") String studentId) {
         return studentService.getStudent(studentId);
@@ -50,28 +89,76 @@ public class AdminStudentController {
         return studentService.deleteStudent(studentId);
     }
 
+    // Cohort removal runs in the background in chunked transactions; poll the returned job for progress
+    @PostMapping("/purge")
+    public ResponseEntity<StudentPurgeJobDto> purgeStudents(@RequestBody StudentPurgeRequestDto request) {
+        if (request.getStudentIds() == null || request.getStudentIds().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(studentPurgeService.startCohortPurge(request.getStudentIds()));
+    }
+
+    @GetMapping("/purge/{jobId}")
+    public ResponseEntity<StudentPurgeJobDto> getPurgeJob(@PathVariable String jobId) {
+        StudentPurgeJobDto job = studentPurgeService.getJob(jobId);
+        return job != null ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    }
+
+    // CSV or XLSX with a header row named after StudentCreateDto fields; poll the job, then fetch the error report
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<StudentImportJobDto> importStudents(@RequestParam("file") MultipartFile file) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(studentImportService.startImport(file));
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<StudentImportJobDto> getImportJob(@PathVariable String jobId) {
+        StudentImportJobDto job = studentImportService.getJob(jobId);
+        return job != null ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/import/{jobId}/errors")
+    public ResponseEntity<Resource> getImportErrors(@PathVariable String jobId) {
+        Path report = studentImportService.getErrorReport(jobId);
+        if (report == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"student-import-" + jobId + "-errors.csv\"")
+                .body(new FileSystemResource(report));
+    }
+
     @PutMapping("/{id}/toggle-status")
     public StudentDto toggleAccountStatus(@PathVariable("id") String studentId) {
         return studentService.toggleAccountStatus(studentId);
     }
     
     @GetMapping("/cities")
-    public List<City> getAllCities() {
-        return cityRepository.findAll();
+    public ResponseEntity<List<City>> getAllCities(WebRequest request) {
+        return catalogResponses.respond(request, snapshot -> new ArrayList<>(snapshot.cities().values()),
+                DimensionSnapshotService.CITY_TABLE);
     }
     
     @GetMapping("/wards")
-    public List<Ward> getAllWards() {
-        return wardRepository.findAll();
+    public ResponseEntity<List<Ward>> getAllWards(WebRequest request) {
+        return catalogResponses.respond(request, snapshot -> new ArrayList<>(snapshot.wards().values()),
+                DimensionSnapshotService.WARD_TABLE);
     }
     
     @PostMapping("/cities")
     public City createCity(@RequestBody City city) {
-        return cityRepository.save(city);
+        City saved = cityRepository.save(city);
+        dimensionSnapshotService.refresh();
+        return saved;
     }
     
     @PostMapping("/wards")
     public Ward createWard(@RequestBody Ward ward) {
-        return wardRepository.save(ward);
+        Ward saved = wardRepository.save(ward);
+        dimensionSnapshotService.refresh();
+        return saved;
     }
 }
\ No newline at end of file
@@ -1,12 +1,16 @@
 package com.SBS_StudentServing_System.controller.admin;
 
+import com.SBS_StudentServing_System.config.SupersededBy;
+import com.SBS_StudentServing_System.dto.common.CursorPage;
 import com.SBS_StudentServing_System.dto.studentinfo.TuitionPaymentDto;
+import com.SBS_StudentServing_System.service.common.KeysetPageRequest;
 import com.SBS_StudentServing_System.service.studentinfo.TuitionPaymentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin/tuition-payments")
@@ -15,11 +19,18 @@ public class AdminTuitionPaymentController {
     @Autowired
     private TuitionPaymentService tuitionPaymentService;
 
+    @Deprecated
+    @SupersededBy(value = "/api/admin/tuition-payments/page", since = "2026-10-17")
     @GetMapping
     public List<TuitionPaymentDto> getAll() {
         return tuitionPaymentService.getAll();
     }
 
+    @GetMapping("/page")
+    public CursorPage<TuitionPaymentDto> getPage(@RequestParam Map<String, String> params) {
+        return tuitionPaymentService.getPage(KeysetPageRequest.from(params));
+    }
+
     @GetMapping("/student/{studentId}")
     public List<TuitionPaymentDto> getByStudentId(@PathVariable String studentId) {
         return tuitionPaymentService.getByStudentId(studentId);
@@ -1,12 +1,16 @@
 package com.SBS_StudentServing_System.controller.admin;
 
+import com.SBS_StudentServing_System.config.SupersededBy;
+import com.SBS_StudentServing_System.dto.common.CursorPage;
 import com.SBS_StudentServing_System.dto.studentinfo.VisaExtensionRequestDto;
+import com.SBS_StudentServing_System.service.common.KeysetPageRequest;
 import com.SBS_StudentServing_System.service.studentinfo.VisaExtensionRequestService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin/visa-extension-requests")
@@ -25,6 +29,8 @@ public class AdminVisaExtensionRequestController {
         }
     }
 
+    @Deprecated
+    @SupersededBy(value = "/api/admin/visa-extension-requests/page", since = "2026-10-17")
     @GetMapping
     public ResponseEntity<?> getAll() {
         try {
@@ -35,6 +41,16 @@ public class AdminVisaExtensionRequestController {
         }
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<?> getPage(@RequestParam Map<String, String> params) {
+        try {
+            CursorPage<VisaExtensionRequestDto> page = visaExtensionRequestService.getPage(KeysetPageRequest.from(params));
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching requests: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getById(@PathVariable String id) {
         try {
@@ -1,12 +1,16 @@
 package com.SBS_StudentServing_System.controller.student;
 
+import com.SBS_StudentServing_System.config.SupersededBy;
+import com.SBS_StudentServing_System.dto.common.CursorPage;
 import com.SBS_StudentServing_System.dto.studentinfo.VisaExtensionRequestDto;
+import com.SBS_StudentServing_System.service.common.KeysetPageRequest;
 import com.SBS_StudentServing_System.service.studentinfo.VisaExtensionRequestService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/visa-extension-requests")
@@ -15,11 +19,18 @@ public class VisaExtensionRequestController {
     @Autowired
     private VisaExtensionRequestService visaExtensionRequestService;
 
+    @Deprecated
+    @SupersededBy(value = "/api/visa-extension-requests/page", since = "2026-10-17")
     @GetMapping
     public List<VisaExtensionRequestDto> getAll() {
         return visaExtensionRequestService.getAll();
     }
 
+    @GetMapping("/page")
+    public CursorPage<VisaExtensionRequestDto> getPage(@RequestParam Map<String, String> params) {
+        return visaExtensionRequestService.getPage(KeysetPageRequest.from(params));
+    }
+
     @GetMapping("/student/{studentId}")
     public List<VisaExtensionRequestDto> getByStudentId(@PathVariable String studentId) {
         return visaExtensionRequestService.getByStudentId(studentId);
@@ -0,0 +1,126 @@
+package com.SBS_StudentServing_System.controller.upload;
+
+import com.SBS_StudentServing_System.dto.upload.ResumableUploadDto;
+import com.SBS_StudentServing_System.service.upload.ResumableUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+// tus 1.0 endpoints for chunked uploads. A completed upload is passed by id as "uploadId" to the certificate
+// upload or as "documentUploadId" to the academic-background upload.
+@RestController
+@RequestMapping("/api/uploads/resumable")
+@PreAuthorize("hasRole('STUDENT') or hasRole('ADMIN')")
+public class ResumableUploadController {
+
+    private static final String TUS_RESUMABLE = "Tus-Resumable";
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+    private static final String UPLOAD_LENGTH = "Upload-Length";
+    private static final String UPLOAD_EXPIRES = "Upload-Expires";
+    private static final String OFFSET_CONTENT_TYPE = "application/offset+octet-stream";
+
+    private final ResumableUploadService resumableUploadService;
+
+    public ResumableUploadController(ResumableUploadService resumableUploadService) {
+        this.resumableUploadService = resumableUploadService;
+    }
+
+    @RequestMapping(method = RequestMethod.OPTIONS)
+    public ResponseEntity<Void> options() {
+        return ResponseEntity.noContent()
+                .header(TUS_RESUMABLE, ResumableUploadService.TUS_VERSION)
+                .header("Tus-Version", ResumableUploadService.TUS_VERSION)
+                .header("Tus-Extension", "creation,expiration,termination")
+                .header("Tus-Max-Size", String.valueOf(resumableUploadService.maxSize()))
+                .build();
+    }
+
+    @PostMapping
+    public ResponseEntity<Void> create(@RequestHeader(UPLOAD_LENGTH) long length,
+                                       @RequestHeader(value = "Upload-Metadata", required = false) String metadata,
+                                       Principal principal,
+                                       UriComponentsBuilder uriBuilder) throws IOException {
+        ResumableUploadDto upload = resumableUploadService.create(principal.getName(), length, fileName(metadata));
+        return ResponseEntity.created(uriBuilder.path("/api/uploads/resumable/{id}").build(upload.uploadId()))
+                .headers(headers(upload))
+                .build();
+    }
+
+    @RequestMapping(value = "/{uploadId}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> head(@PathVariable String uploadId, Principal principal) {
+        return resumableUploadService.find(uploadId, principal.getName())
+                .map(upload -> ResponseEntity.ok()
+                        .headers(headers(upload))
+                        .header(UPLOAD_LENGTH, String.valueOf(upload.uploadLength()))
+                        .cacheControl(CacheControl.noStore())
+                        .<Void>build())
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .header(TUS_RESUMABLE, ResumableUploadService.TUS_VERSION)
+                        .build());
+    }
+
+    // The body is read straight from the request; it is never buffered as multipart
+    @PatchMapping("/{uploadId}")
+    public ResponseEntity<Void> append(@PathVariable String uploadId,
+                                       @RequestHeader(UPLOAD_OFFSET) long offset,
+                                       Principal principal,
+                                       HttpServletRequest request) throws IOException {
+        String contentType = request.getContentType();
+        if (contentType == null || !contentType.startsWith(OFFSET_CONTENT_TYPE)) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                    .header(TUS_RESUMABLE, ResumableUploadService.TUS_VERSION)
+                    .build();
+        }
+        ResumableUploadDto upload = resumableUploadService.append(uploadId, principal.getName(), offset,
+                request.getInputStream());
+        return ResponseEntity.noContent().headers(headers(upload)).build();
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Void> terminate(@PathVariable String uploadId, Principal principal) throws IOException {
+        HttpStatus status = resumableUploadService.remove(uploadId, principal.getName())
+                ? HttpStatus.NO_CONTENT : HttpStatus.NOT_FOUND;
+        return ResponseEntity.status(status).header(TUS_RESUMABLE, ResumableUploadService.TUS_VERSION).build();
+    }
+
+    private static HttpHeaders headers(ResumableUploadDto upload) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(TUS_RESUMABLE, ResumableUploadService.TUS_VERSION);
+        headers.set(UPLOAD_OFFSET, String.valueOf(upload.uploadOffset()));
+        headers.set(UPLOAD_EXPIRES, DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                upload.expiresAt().atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC)));
+        return headers;
+    }
+
+    // Upload-Metadata: comma-separated "key base64(value)" pairs; only the file name is used
+    private static String fileName(String metadata) {
+        if (metadata == null) {
+            return null;
+        }
+        for (String pair : metadata.split(",")) {
+            String[] parts = pair.trim().split(" ", 2);
+            if ((parts[0].equals("filename") || parts[0].equals("name")) && parts.length == 2) {
+                try {
+                    String name = new String(Base64.getDecoder().decode(parts[1].trim()), StandardCharsets.UTF_8);
+                    return name.length() > 255 ? name.substring(name.length() - 255) : name;
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Upload-Metadata is not valid base64");
+                }
+            }
+        }
+        return null;
+    }
+}
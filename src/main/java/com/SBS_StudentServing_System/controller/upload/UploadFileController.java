@@ -0,0 +1,74 @@
+package com.SBS_StudentServing_System.controller.upload;
+
+import com.SBS_StudentServing_System.service.common.ImageDerivativeService;
+import com.SBS_StudentServing_System.service.upload.BlobStore;
+import com.SBS_StudentServing_System.service.upload.UploadFileServer;
+import com.SBS_StudentServing_System.service.upload.UploadMetadataService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+// Public upload areas under /uploads: images only. Documents (the blobs/ area holding certificates and
+// academic-background scans, and the legacy certificates/ and academic-backgrounds/ areas) are never served
+// here; they go through the authorized certificate download and academic-background document endpoints. With
+// a remote BlobStore every area answers with a redirect to a presigned URL.
+@RestController
+public class UploadFileController {
+
+    private static final String PREFIX = "/uploads/";
+    // Areas are the first segment of the BlobStore key; document and staging areas are never listed
+    private static final Set<String> AREAS = Set.of(ImageDerivativeService.DERIVED_AREA,
+            UploadMetadataService.PROFILE_IMAGE_AREA, "announcements");
+    // Derivative names never change meaning; everything else is revalidated against its ETag
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePublic();
+
+    private final UploadFileServer uploadFileServer;
+    private final ImageDerivativeService imageDerivativeService;
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    public UploadFileController(UploadFileServer uploadFileServer,
+                                ImageDerivativeService imageDerivativeService) {
+        this.uploadFileServer = uploadFileServer;
+        this.imageDerivativeService = imageDerivativeService;
+    }
+
+    @RequestMapping(value = "/uploads/**", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        int slash = path.indexOf('/', PREFIX.length());
+        String area = slash > 0 ? path.substring(PREFIX.length(), slash) : "";
+        String name = slash > 0 ? path.substring(slash + 1) : "";
+        String key = area + "/" + name;
+        try {
+            BlobStore.checkKey(key);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (!AREAS.contains(area)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        if (area.equals(ImageDerivativeService.DERIVED_AREA)) {
+            // Requested right after upload: wait for the pool rather than answer 404 (returns at once when
+            // nothing is pending)
+            imageDerivativeService.awaitPending(name, Duration.ofSeconds(10));
+            // <hash>-<variant> identifies the bytes exactly, so it serves as a strong ETag
+            int dot = name.lastIndexOf('.');
+            uploadFileServer.serve(key, dot > 0 ? name.substring(0, dot) : name, IMMUTABLE, null,
+                    request, response);
+            return;
+        }
+        uploadFileServer.serve(key, null, REVALIDATE, "inline", request, response);
+    }
+}
@@ -1,19 +1,27 @@
 package com.SBS_StudentServing_System.controller.usefulInfo;
 
+import com.SBS_StudentServing_System.dto.common.CursorPage;
 import com.SBS_StudentServing_System.dto.usefulInfo.AnnouncementDTO;
 import com.SBS_StudentServing_System.model.usefulinfo.Announcement;
+import com.SBS_StudentServing_System.service.common.ImageDerivativeService;
+import com.SBS_StudentServing_System.service.common.ImageDerivativeService.Status;
+import com.SBS_StudentServing_System.service.common.ImageDerivativeService.Submission;
+import com.SBS_StudentServing_System.service.common.ImageDerivativeService.Variant;
+import com.SBS_StudentServing_System.service.usefulInfo.AnnouncementFeed;
 import com.SBS_StudentServing_System.service.usefulInfo.AnnouncementService;
+import com.SBS_StudentServing_System.service.upload.BlobStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
@@ -23,13 +31,27 @@ import java.util.Optional;
 @RestController
 @RequestMapping("/api/announcements")
 public class AnnouncementController {
+    // Public and anonymous: shared caches may keep the feed but must revalidate it against the ETag
+    private static final CacheControl FEED_CACHE_CONTROL = CacheControl.noCache().cachePublic();
+
     @Autowired
     private AnnouncementService announcementService;
 
+    @Autowired
+    private AnnouncementFeed announcementFeed;
+
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+
+    @Autowired
+    private BlobStore blobStore;
+
     @Value("${app.base-url}")
     private String baseUrl;
 
-    private final String UPLOAD_DIR = "uploads/announcements/";
+    private static final String ANNOUNCEMENT_AREA = "announcements/";
+    // How long an upload request waits for its derivatives before answering "processing"
+    private static final Duration UPLOAD_WAIT = Duration.ofSeconds(3);
 
 
     @PostMapping("/upload-image")
@@ -48,23 +70,21 @@ public class AnnouncementController {
                 return ResponseEntity.badRequest().body(Map.of("error", "File must be less than 5MB"));
             }
 
-            Path uploadPath = Paths.get(UPLOAD_DIR);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
+            // Only the metadata-free derivatives are published; the original bytes are never served
+            Submission submission = imageDerivativeService.submit(file, null);
+            Status status = submission.await(UPLOAD_WAIT);
+            if (status == Status.FAILED) {
+                return ResponseEntity.unprocessableEntity().body(Map.of("error", "Image could not be processed"));
             }
 
-            String originalFilename = file.getOriginalFilename();
-            String filename = System.currentTimeMillis() + "_" + originalFilename.replaceAll("[^a-zA-Z0-9.]", "_");
-
-            Path filePath = uploadPath.resolve(filename);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-            Map<String, String> response = new HashMap<>();
-            response.put("filename", filename);
-            response.put("imageUrl", baseUrl + "/uploads/announcements/" + filename);
+            Map<String, String> response = new HashMap<>(imageDerivativeService.urls(submission.set()));
+            response.put("filename", submission.set().filename(Variant.FULL));
+            response.put("status", status == Status.READY ? "ready" : "processing");
 
             return ResponseEntity.ok(response);
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "Upload failed: " + e.getMessage()));
@@ -85,11 +105,8 @@ public class AnnouncementController {
 
             Optional<Announcement> existingAnnouncement = announcementService.getAnnouncementById(id);
             if (existingAnnouncement.isPresent()) {
-                Announcement announcement = existingAnnouncement.get();
-                deleteOldImageFile(announcement.getImageUrl());
-                announcement.setImageUrl(newImageUrl);
-                announcement.setUpdatedAt(LocalDate.now());
-                announcementService.saveAnnouncement(announcement);
+                deleteOldImageFile(existingAnnouncement.get().getImageUrl());
+                announcementService.updateAnnouncementImage(id, newImageUrl);
 
                 return ResponseEntity.ok(Map.of("message", "Image updated successfully", "imageUrl", newImageUrl));
             } else {
@@ -106,8 +123,7 @@ public class AnnouncementController {
         return contentType != null && (
                 contentType.equals("image/jpeg") ||
                         contentType.equals("image/png") ||
-                        contentType.equals("image/gif") ||
-                        contentType.equals("image/webp")
+                        contentType.equals("image/gif")
         );
     }
 
@@ -115,8 +131,7 @@ public class AnnouncementController {
         try {
             if (oldImageUrl != null && oldImageUrl.contains("/uploads/announcements/")) {
                 String filename = oldImageUrl.substring(oldImageUrl.lastIndexOf("/") + 1);
-                Path oldFilePath = Paths.get(UPLOAD_DIR + filename);
-                Files.deleteIfExists(oldFilePath);
+                blobStore.delete(ANNOUNCEMENT_AREA + filename);
             }
         } catch (Exception e) {
             System.err.println("Could not delete old image: " + e.getMessage());
@@ -168,30 +183,34 @@ public class AnnouncementController {
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<Announcement>> getActiveAnnouncements() {
-        try {
-            List<Announcement> announcements = announcementService.getActiveAnnouncementsWithFullImageUrls();
-            if (announcements.isEmpty()) {
-                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
-            }
-            return new ResponseEntity<>(announcements, HttpStatus.OK);
-        } catch (Exception e) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        }
+    public ResponseEntity<byte[]> getActiveAnnouncements(WebRequest request) {
+        return feedResponse(request);
     }
 
     // News endpoint that returns the same data as active announcements
     @GetMapping("/news")
-    public ResponseEntity<List<Announcement>> getNews() {
-        try {
-            List<Announcement> announcements = announcementService.getActiveAnnouncementsWithFullImageUrls();
-            if (announcements.isEmpty()) {
-                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
-            }
-            return new ResponseEntity<>(announcements, HttpStatus.OK);
-        } catch (Exception e) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    public ResponseEntity<byte[]> getNews(WebRequest request) {
+        return feedResponse(request);
+    }
+
+    // Serves the pre-serialized feed as-is; neither Hibernate nor Jackson runs on this path
+    private ResponseEntity<byte[]> feedResponse(WebRequest request) {
+        AnnouncementFeed.Snapshot feed = announcementFeed.current();
+        if (feed.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        if (request.checkNotModified(feed.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(feed.etag())
+                    .cacheControl(FEED_CACHE_CONTROL)
+                    .build();
         }
+        return ResponseEntity.ok()
+                .eTag(feed.etag())
+                .cacheControl(FEED_CACHE_CONTROL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(feed.body().length)
+                .body(feed.body());
     }
 
     @GetMapping("/admin/{adminId}")
@@ -206,9 +225,27 @@ public class AnnouncementController {
         return new ResponseEntity<>(announcements, HttpStatus.OK);
     }
 
-    @GetMapping("/search")
+    // Title substring search in the original shape: a plain list of announcements, unpaged
+    @GetMapping(value = "/search", params = "!q")
     public ResponseEntity<List<Announcement>> searchAnnouncementsByTitle(@RequestParam("title") String title) {
         List<Announcement> announcements = announcementService.searchAnnouncementsByTitleWithFullImageUrls(title);
         return new ResponseEntity<>(announcements, HttpStatus.OK);
     }
-}
\ No newline at end of file
+
+    // Ranked search over title, type and description by word or word prefix, returned as a CursorPage;
+    // selected by the q parameter so title= callers keep the list response above
+    @GetMapping(value = "/search", params = "q")
+    public ResponseEntity<?> searchAnnouncements(
+            @RequestParam("q") String q,
+            @RequestParam(value = "activeOnly", defaultValue = "false") boolean activeOnly,
+            @RequestParam(value = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        try {
+            CursorPage<AnnouncementDTO> page = announcementService.searchAnnouncements(q, activeOnly, date, cursor, size);
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.SBS_StudentServing_System.dto.academic;
+
+// Per-status attendance counts; studyPlanCourseId is null for per-student totals
+public record AttendanceCounts(String studentId,
+                               String studyPlanCourseId,
+                               Long totalDays,
+                               Long presentDays,
+                               Long absentDays,
+                               Long lateDays,
+                               Long excusedDays) {
+}
@@ -0,0 +1,5 @@
+package com.SBS_StudentServing_System.dto.academic;
+
+// Current status of one student's attendance row for a class schedule
+public record AttendanceStatusRow(String studentId, String status) {
+}
@@ -10,6 +10,8 @@ public class AttendanceSummaryDto {
     private Integer presentDays;
     private Integer totalDays;
     private Integer absentDays;
+    private Integer lateDays;
+    private Integer excusedDays;
     private Integer totalAttendancePercentage;
     private String flagLevel;
 }
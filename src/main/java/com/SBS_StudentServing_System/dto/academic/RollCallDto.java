@@ -0,0 +1,18 @@
+package com.SBS_StudentServing_System.dto.academic;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// One class session's attendance; attendanceDate defaults to the schedule's class date
+@Data
+@NoArgsConstructor
+public class RollCallDto {
+
+    private String classScheduleId;
+    private LocalDate attendanceDate;
+    private List<RollCallEntryDto> entries = new ArrayList<>();
+}
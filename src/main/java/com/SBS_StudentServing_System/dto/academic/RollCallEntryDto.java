@@ -0,0 +1,19 @@
+package com.SBS_StudentServing_System.dto.academic;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollCallEntryDto {
+
+    private String studentId;
+    private String status; // 'Present', 'Absent', 'Absent with permission', 'Late'
+    private LocalTime checkInTime;
+    private LocalTime checkOutTime;
+    private String note;
+}
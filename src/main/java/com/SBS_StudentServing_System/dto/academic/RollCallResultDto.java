@@ -0,0 +1,20 @@
+package com.SBS_StudentServing_System.dto.academic;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+public class RollCallResultDto {
+
+    private String classScheduleId;
+    private LocalDate attendanceDate;
+    private int inserted;
+    private int updated;
+    // studentId -> reason, for entries that were not written
+    private Map<String, String> rejected = new LinkedHashMap<>();
+}
@@ -0,0 +1,8 @@
+package com.SBS_StudentServing_System.dto.academic;
+
+// Progress counters for one student as derived from the enrollment and course-result facts
+public record StudentProgressCounts(String studentId,
+                                    Long totalEnrolledCourse,
+                                    Long totalCompletedCourse,
+                                    Long totalCreditsEarned) {
+}
@@ -0,0 +1,7 @@
+package com.SBS_StudentServing_System.dto.academic;
+
+// A stored summary that disagrees with the facts; stored is null when the student has no summary row
+public record StudentProgressDrift(String studentId,
+                                   StudentProgressCounts expected,
+                                   StudentProgressCounts stored) {
+}
@@ -1,10 +1,14 @@
 package com.SBS_StudentServing_System.dto.academic;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class StudyPlanCourseDto {
     private String studyPlanCourseId;
     private String studyPlanId;
@@ -0,0 +1,16 @@
+package com.SBS_StudentServing_System.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// One page of a keyset-paginated list. Pass nextCursor back as ?cursor= to get the following page.
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private int size;
+}
@@ -0,0 +1,10 @@
+package com.SBS_StudentServing_System.dto.export;
+
+public record CourseResultExportRow(Long id,
+                                    String studentId,
+                                    String studyPlanCourseId,
+                                    String courseId,
+                                    String semesterId,
+                                    String gradeName,
+                                    Integer creditsEarned) {
+}
@@ -0,0 +1,16 @@
+package com.SBS_StudentServing_System.dto.export;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record DailyAttendanceExportRow(String studentId,
+                                       String classScheduleId,
+                                       String studyPlanCourseId,
+                                       String courseId,
+                                       String semesterId,
+                                       LocalDate attendanceDate,
+                                       String status,
+                                       LocalTime checkInTime,
+                                       LocalTime checkOutTime,
+                                       String note) {
+}
@@ -0,0 +1,11 @@
+package com.SBS_StudentServing_System.dto.export;
+
+public record StudentEnrollmentExportRow(Long id,
+                                         String studentId,
+                                         String studyPlanCourseId,
+                                         String courseId,
+                                         String semesterId,
+                                         Integer enrollmentStatus,
+                                         String completionStatus,
+                                         Boolean exemptionStatus) {
+}
@@ -0,0 +1,9 @@
+package com.SBS_StudentServing_System.dto.export;
+
+public record TuitionPaymentExportRow(Long id,
+                                      String studentId,
+                                      String scholarshipId,
+                                      Integer paymentStatus,
+                                      Integer paymentMethod,
+                                      Float amountPaid) {
+}
@@ -0,0 +1,66 @@
+package com.SBS_StudentServing_System.dto.student;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Progress of an asynchronous student import. The import thread updates it through the synchronized methods below;
+// readers get a snapshot() taken under the same lock, so status and counters are never seen half-updated
+@Getter
+@Setter
+public class StudentImportJobDto {
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private volatile String jobId;
+    private volatile String fileName;
+    private volatile String status;
+    private volatile int processed;
+    private volatile int imported;
+    private volatile int rejected;
+    private volatile String error;
+    private volatile LocalDateTime createdAt;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    public synchronized void start() {
+        status = RUNNING;
+        startedAt = LocalDateTime.now();
+    }
+
+    public synchronized void addProcessed(int rows) {
+        processed += rows;
+    }
+
+    public synchronized void addImported(int rows) {
+        imported += rows;
+    }
+
+    public synchronized void addRejected(int rows) {
+        rejected += rows;
+    }
+
+    public synchronized void finish(String finalStatus, String failure) {
+        status = finalStatus;
+        error = failure;
+        finishedAt = LocalDateTime.now();
+    }
+
+    public synchronized StudentImportJobDto snapshot() {
+        StudentImportJobDto copy = new StudentImportJobDto();
+        copy.jobId = jobId;
+        copy.fileName = fileName;
+        copy.status = status;
+        copy.processed = processed;
+        copy.imported = imported;
+        copy.rejected = rejected;
+        copy.error = error;
+        copy.createdAt = createdAt;
+        copy.startedAt = startedAt;
+        copy.finishedAt = finishedAt;
+        return copy;
+    }
+}
@@ -0,0 +1,57 @@
+package com.SBS_StudentServing_System.dto.student;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Progress of an asynchronous cohort purge. The purge thread updates it through the synchronized methods below;
+// readers get a snapshot() taken under the same lock, so status and counters are never seen half-updated
+@Getter
+@Setter
+public class StudentPurgeJobDto {
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private volatile String jobId;
+    private volatile String status;
+    private volatile int total;
+    private volatile int processed;
+    private volatile int deleted;
+    private volatile String error;
+    private volatile LocalDateTime createdAt;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    public synchronized void start() {
+        status = RUNNING;
+        startedAt = LocalDateTime.now();
+    }
+
+    public synchronized void addProgress(int processedStudents, int deletedStudents) {
+        processed += processedStudents;
+        deleted += deletedStudents;
+    }
+
+    public synchronized void finish(String finalStatus, String failure) {
+        status = finalStatus;
+        error = failure;
+        finishedAt = LocalDateTime.now();
+    }
+
+    public synchronized StudentPurgeJobDto snapshot() {
+        StudentPurgeJobDto copy = new StudentPurgeJobDto();
+        copy.jobId = jobId;
+        copy.status = status;
+        copy.total = total;
+        copy.processed = processed;
+        copy.deleted = deleted;
+        copy.error = error;
+        copy.createdAt = createdAt;
+        copy.startedAt = startedAt;
+        copy.finishedAt = finishedAt;
+        return copy;
+    }
+}
@@ -0,0 +1,12 @@
+package com.SBS_StudentServing_System.dto.student;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class StudentPurgeRequestDto {
+    private List<String> studentIds;
+}
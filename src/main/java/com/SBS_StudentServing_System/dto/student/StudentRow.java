@@ -0,0 +1,61 @@
+package com.SBS_StudentServing_System.dto.student;
+
+import com.SBS_StudentServing_System.dto.account.LoginAccountDto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Flat projection of a student joined with its login account, city and ward ids, read in one SELECT
+public record StudentRow(String studentId,
+                         String firstName,
+                         String lastName,
+                         LocalDate dateOfBirth,
+                         String phone,
+                         String studentEmail,
+                         String homeAddress,
+                         String wardId,
+                         String cityId,
+                         String streetAddress,
+                         String buildingName,
+                         Integer gender,
+                         String nationality,
+                         String nationalId,
+                         String studyPlanId,
+                         String accountId,
+                         String accountRole,
+                         Integer accountStatus,
+                         LocalDateTime accountCreatedAt,
+                         LocalDateTime accountUpdatedAt,
+                         LocalDateTime accountLastLoginAt) {
+
+    public StudentDto toDto() {
+        StudentDto dto = new StudentDto();
+        dto.setStudentId(studentId);
+        dto.setFirstName(firstName);
+        dto.setLastName(lastName);
+        dto.setDateOfBirth(dateOfBirth);
+        dto.setPhone(phone);
+        dto.setStudentEmail(studentEmail);
+        dto.setHomeAddress(homeAddress);
+        dto.setWardId(wardId);
+        dto.setCityId(cityId);
+        dto.setStreetAddress(streetAddress);
+        dto.setBuildingName(buildingName);
+        dto.setGender(gender);
+        dto.setNationality(nationality);
+        dto.setNationalId(nationalId);
+        dto.setStudyPlanId(studyPlanId);
+
+        if (accountId != null) {
+            LoginAccountDto accountDto = new LoginAccountDto();
+            accountDto.setAccountId(accountId);
+            accountDto.setRole(accountRole);
+            accountDto.setAccountStatus(accountStatus);
+            accountDto.setCreatedAt(accountCreatedAt);
+            accountDto.setUpdatedAt(accountUpdatedAt);
+            accountDto.setLastLoginAt(accountLastLoginAt);
+            dto.setLoginAccount(accountDto);
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,8 @@
+package com.SBS_StudentServing_System.dto.upload;
+
+import java.time.LocalDateTime;
+
+// State of a chunked upload as reported in the Upload-Offset / Upload-Length / Upload-Expires headers
+public record ResumableUploadDto(String uploadId, long uploadOffset, long uploadLength, LocalDateTime expiresAt,
+                                 boolean complete) {
+}
@@ -0,0 +1,6 @@
+package com.SBS_StudentServing_System.dto.upload;
+
+// Cached view of an UploadMetadata row; URLs are relative to /uploads
+public record StoredUploadDto(String storedPath, String contentType, long sizeBytes, String contentHash,
+                              String thumbnailPath, String cardPath) {
+}
@@ -26,5 +26,15 @@ public class AnnouncementDTO {
     private Boolean active;
     private String description;
 
+    // Smaller renditions of imageUrl for lists and cards; equal to imageUrl for images without derivatives
+    private String thumbnailUrl;
+    private String cardUrl;
 
+    // Read-model projection (AnnouncementRepository.findAllReadModelRows); derivative URLs are filled in later
+    public AnnouncementDTO(String announcementId, String adminId, LocalDate startDate, LocalDate endDate,
+                           LocalDate createdAt, LocalDate updatedAt, String announcementType, String title,
+                           String imageUrl, Boolean active, String description) {
+        this(announcementId, adminId, startDate, endDate, createdAt, updatedAt, announcementType, title,
+                imageUrl, active, description, null, null);
+    }
 }
\ No newline at end of file
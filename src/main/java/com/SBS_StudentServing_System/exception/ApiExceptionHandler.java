@@ -1,15 +1,52 @@
 package com.SBS_StudentServing_System.exception;
 
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 
+@Slf4j
 @RestControllerAdvice
 public class ApiExceptionHandler {
 
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<?> handleServiceBusy(ServiceBusyException ex, WebRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(ResumableUploadException.class)
+    public ResponseEntity<?> handleResumableUpload(ResumableUploadException ex, WebRequest request) {
+        return ResponseEntity
+                .status(ex.getStatus())
+                .header("Tus-Resumable", "1.0.0")
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    // Malformed client input (page size, cursor, filter values), stated explicitly rather than left to the fallback
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<?> handleIllegalArgument(IllegalArgumentException ex, WebRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    // A server-side failure, not a bad request; the SQL detail is logged rather than returned
+    @ExceptionHandler(DataAccessException.class)
+    public ResponseEntity<?> handleDataAccess(DataAccessException ex, WebRequest request) {
+        log.error("Database error on {}", request.getDescription(false), ex);
+        return ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse("Database error"));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<?> handleException(Exception ex, WebRequest request) {
         return ResponseEntity
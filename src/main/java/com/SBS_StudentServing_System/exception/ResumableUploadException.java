@@ -0,0 +1,15 @@
+package com.SBS_StudentServing_System.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+// A chunked-upload request the protocol rejects with a specific status (409 offset mismatch, 429 too many, ...)
+@Getter
+public class ResumableUploadException extends RuntimeException {
+    private final HttpStatus status;
+
+    public ResumableUploadException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+}
@@ -0,0 +1,14 @@
+package com.SBS_StudentServing_System.exception;
+
+import lombok.Getter;
+
+// Thrown when a bounded worker pool is saturated; mapped to 503 with Retry-After
+@Getter
+public class ServiceBusyException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -14,6 +14,8 @@ public class AttendanceSummaryMapper {
         dto.setPresentDays(entity.getPresentDays());
         dto.setTotalDays(entity.getTotalDays());
         dto.setAbsentDays(entity.getAbsentDays());
+        dto.setLateDays(entity.getLateDays());
+        dto.setExcusedDays(entity.getExcusedDays());
         dto.setTotalAttendancePercentage(entity.getTotalAttendancePercentage());
         dto.setFlagLevel(entity.getFlagLevel());
         return dto;
@@ -27,6 +29,8 @@ public class AttendanceSummaryMapper {
                 .presentDays(dto.getPresentDays())
                 .totalDays(dto.getTotalDays())
                 .absentDays(dto.getAbsentDays())
+                .lateDays(dto.getLateDays() != null ? dto.getLateDays() : 0)
+                .excusedDays(dto.getExcusedDays() != null ? dto.getExcusedDays() : 0)
                 .totalAttendancePercentage(dto.getTotalAttendancePercentage())
                 .flagLevel(dto.getFlagLevel())
                 .build();
@@ -8,14 +8,18 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "fact_attendanceSummary")
+@Table(name = "fact_attendanceSummary",
+        uniqueConstraints = @UniqueConstraint(name = "uk_attendance_summary_student_course",
+                columnNames = {"student_id", "study_plan_course_id"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class AttendanceSummary {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "fact_attendance_summary_id")
+    @TableGenerator(name = "fact_attendance_summary_id", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "fact_attendance_summary", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -35,6 +39,14 @@ public class AttendanceSummary {
     @Column(name = "absent_days", nullable = false)
     private Integer absentDays = 0;
 
+    @Column(name = "late_days", nullable = false)
+    @Builder.Default
+    private Integer lateDays = 0;
+
+    @Column(name = "excused_days", nullable = false)
+    @Builder.Default
+    private Integer excusedDays = 0; // 'Absent with permission'
+
     @Column(name = "totalAttendance_percentage", nullable = false)
     private Integer totalAttendancePercentage = 0; // 0-100
 
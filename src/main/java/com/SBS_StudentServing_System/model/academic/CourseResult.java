@@ -15,7 +15,9 @@ import lombok.NoArgsConstructor;
 @Builder
 public class CourseResult {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "fact_course_result_id")
+    @TableGenerator(name = "fact_course_result_id", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "fact_course_result", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -15,7 +15,9 @@ import lombok.NoArgsConstructor;
 @Builder
 public class LecturerCourse {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "fact_lecturer_course_id")
+    @TableGenerator(name = "fact_lecturer_course_id", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "fact_lecturer_course", allocationSize = 50)
     private Long id;
 
     @ManyToOne
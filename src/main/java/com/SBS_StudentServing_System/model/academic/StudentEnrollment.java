@@ -15,7 +15,9 @@ import lombok.NoArgsConstructor;
 @Builder
 public class StudentEnrollment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "fact_studentenrollment_id")
+    @TableGenerator(name = "fact_studentenrollment_id", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "fact_studentenrollment", allocationSize = 50)
     private Long id; // Not in schema, but needed for JPA
 
     @ManyToOne
@@ -8,7 +8,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "fact_studentProgressSummary")
+@Table(name = "fact_studentProgressSummary",
+        uniqueConstraints = @UniqueConstraint(name = "uk_progress_summary_student", columnNames = "student_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
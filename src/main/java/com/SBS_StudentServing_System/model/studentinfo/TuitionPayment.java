@@ -15,7 +15,9 @@ import lombok.NoArgsConstructor;
 @Builder
 public class TuitionPayment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "fact_tuitionpayment_id")
+    @TableGenerator(name = "fact_tuitionpayment_id", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "fact_tuitionpayment", allocationSize = 50)
     private Long id; // Assuming you’ll want primary key for JPA
 
     @ManyToOne
@@ -0,0 +1,50 @@
+package com.SBS_StudentServing_System.model.upload;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// A chunked upload in progress (or complete and not yet attached to a certificate/background record)
+@Entity
+@Table(name = "dim_resumable_upload", indexes = {
+        @Index(name = "idx_resumable_upload_account", columnList = "account_id"),
+        @Index(name = "idx_resumable_upload_expires", columnList = "expires_at")})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResumableUpload {
+    @Id
+    @Column(name = "upload_id", length = 36)
+    private String uploadId;
+
+    // Login account that created it; only that account may append to or use it
+    @Column(name = "account_id", length = 50, nullable = false)
+    private String accountId;
+
+    // Original file name from the Upload-Metadata header
+    @Column(name = "file_name", length = 255)
+    private String fileName;
+
+    @Column(name = "upload_length", nullable = false)
+    private Long uploadLength;
+
+    // Bytes received and flushed to the part file
+    @Column(name = "upload_offset", nullable = false)
+    private Long uploadOffset;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Pushed forward by every chunk; expired uploads are deleted with their data
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Set when the last byte arrived and the part file was committed
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,55 @@
+package com.SBS_StudentServing_System.model.upload;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One row per stored upload, written when the file is accepted so readers never have to look on disk
+@Entity
+@Table(name = "dim_upload_metadata",
+        uniqueConstraints = @UniqueConstraint(name = "uk_upload_metadata_owner", columnNames = {"category", "owner_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadMetadata {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // What the file is for, e.g. "profile-image"
+    @Column(name = "category", length = 30, nullable = false)
+    private String category;
+
+    // Id of the row the file belongs to (studentId for profile images)
+    @Column(name = "owner_id", length = 50, nullable = false)
+    private String ownerId;
+
+    // Path under /uploads, e.g. /uploads/derived/<hash>-full.jpg
+    @Column(name = "stored_path", length = 255, nullable = false)
+    private String storedPath;
+
+    @Column(name = "content_type", length = 100, nullable = false)
+    private String contentType;
+
+    // Size of the upload as received
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @Column(name = "content_hash", length = 64, nullable = false)
+    private String contentHash;
+
+    // Derivative file names under /uploads/derived; null for files stored before derivatives existed
+    @Column(name = "thumbnail_name", length = 100)
+    private String thumbnailName;
+
+    @Column(name = "card_name", length = 100)
+    private String cardName;
+
+    @Column(name = "uploaded_at", nullable = false)
+    private LocalDateTime uploadedAt;
+}
@@ -1,5 +1,6 @@
 package com.SBS_StudentServing_System.repository.UsefulInfo;
 
+import com.SBS_StudentServing_System.dto.usefulInfo.AnnouncementDTO;
 import com.SBS_StudentServing_System.model.usefulinfo.Announcement;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -15,6 +16,13 @@ public interface AnnouncementRepository extends JpaRepository<Announcement, Stri
     // Active announcements
     List<Announcement> findByActiveTrue();
 
+    // Rows for the feed and search read models; admin id comes from the foreign key, so Admin is never loaded
+    @Query("SELECT new com.SBS_StudentServing_System.dto.usefulInfo.AnnouncementDTO(" +
+            "a.announcementId, a.admin.adminId, a.startDate, a.endDate, a.createdAt, a.updatedAt, " +
+            "a.announcementType, a.title, a.imageUrl, a.active, a.description) " +
+            "FROM Announcement a")
+    List<AnnouncementDTO> findAllReadModelRows();
+
     // Corrected method to match Admin entity's primary key
     List<Announcement> findByAdmin_AdminId(String adminId);
 
@@ -1,12 +1,58 @@
 package com.SBS_StudentServing_System.repository.academic;
 
+import com.SBS_StudentServing_System.dto.academic.AttendanceCounts;
 import com.SBS_StudentServing_System.model.academic.AttendanceSummary;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AttendanceSummaryRepository extends JpaRepository<AttendanceSummary, Long> {
     List<AttendanceSummary> findByStudentStudentId(String studentId);
-}
\ No newline at end of file
+
+    boolean existsByStudentStudentIdAndStudyPlanCourseStudyPlanCourseId(String studentId, String studyPlanCourseId);
+
+    // Which of the listed students already have a counter row for the course (plain read, takes no lock)
+    @Query("""
+        SELECT a.student.studentId FROM AttendanceSummary a
+        WHERE a.studyPlanCourse.studyPlanCourseId = :studyPlanCourseId AND a.student.studentId IN :studentIds
+        """)
+    List<String> findStudentIds(@Param("studyPlanCourseId") String studyPlanCourseId,
+                                @Param("studentIds") Collection<String> studentIds);
+
+    // Row lock so concurrent attendance writes for the same student/course apply their deltas one after another
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT a FROM AttendanceSummary a
+        WHERE a.student.studentId = :studentId AND a.studyPlanCourse.studyPlanCourseId = :studyPlanCourseId
+        """)
+    Optional<AttendanceSummary> findForUpdate(@Param("studentId") String studentId,
+                                              @Param("studyPlanCourseId") String studyPlanCourseId);
+
+    // Batch variant of findForUpdate for a roll-call: every listed student's counter row for one course, locked together
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT a FROM AttendanceSummary a
+        WHERE a.studyPlanCourse.studyPlanCourseId = :studyPlanCourseId AND a.student.studentId IN :studentIds
+        """)
+    List<AttendanceSummary> findAllForUpdate(@Param("studyPlanCourseId") String studyPlanCourseId,
+                                             @Param("studentIds") Collection<String> studentIds);
+
+    // Dashboard totals summed over the student's per-course counters (served by the (student_id, study_plan_course_id) key)
+    @Query("""
+        SELECT new com.SBS_StudentServing_System.dto.academic.AttendanceCounts(
+            a.student.studentId, CAST(NULL AS String),
+            SUM(a.totalDays), SUM(a.presentDays), SUM(a.absentDays), SUM(a.lateDays), SUM(a.excusedDays))
+        FROM AttendanceSummary a
+        WHERE a.student.studentId = :studentId
+        GROUP BY a.student.studentId
+        """)
+    Optional<AttendanceCounts> sumByStudentId(@Param("studentId") String studentId);
+}
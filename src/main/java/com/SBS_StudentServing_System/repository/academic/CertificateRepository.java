@@ -2,12 +2,18 @@ package com.SBS_StudentServing_System.repository.academic;
 
 import com.SBS_StudentServing_System.model.academic.Certificate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CertificateRepository extends JpaRepository<Certificate, Long> {
     List<Certificate> findByStudentId(String studentId);
     List<Certificate> findByPathway(String pathway);
+    Optional<Certificate> findFirstByFileName(String fileName);
+
+    @Query("SELECT c.filePath FROM Certificate c")
+    List<String> findAllFilePaths();
 }
\ No newline at end of file
@@ -1,12 +1,18 @@
 package com.SBS_StudentServing_System.repository.academic;
 
+import com.SBS_StudentServing_System.dto.academic.StudentProgressCounts;
+import com.SBS_StudentServing_System.dto.export.CourseResultExportRow;
 import com.SBS_StudentServing_System.model.academic.CourseResult;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface CourseResultRepository extends JpaRepository<CourseResult, Long> {
@@ -17,4 +23,26 @@ public interface CourseResultRepository extends JpaRepository<CourseResult, Long
     List<CourseResult> findAllByStudentId(@Param("studentId") String studentId);
     
     List<CourseResult> findByStudentStudentId(String studentId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new com.SBS_StudentServing_System.dto.export.CourseResultExportRow(
+            cr.id, cr.student.studentId, spc.studyPlanCourseId, spc.courseId, spc.semesterId,
+            cr.grade.gradeName, cr.creditsEarned)
+        FROM CourseResult cr
+        JOIN cr.studyPlanCourse spc
+        WHERE (:semesterId IS NULL OR spc.semesterId = :semesterId)
+        """)
+    Stream<CourseResultExportRow> streamForExport(@Param("semesterId") String semesterId);
+
+    @Query("""
+        SELECT new com.SBS_StudentServing_System.dto.academic.StudentProgressCounts(
+            cr.student.studentId, 0L, 0L, SUM(cr.creditsEarned))
+        FROM CourseResult cr
+        GROUP BY cr.student.studentId
+        """)
+    List<StudentProgressCounts> sumCreditsPerStudent();
 }
\ No newline at end of file
@@ -1,15 +1,59 @@
 package com.SBS_StudentServing_System.repository.academic;
 
+import com.SBS_StudentServing_System.dto.academic.AttendanceCounts;
+import com.SBS_StudentServing_System.dto.export.DailyAttendanceExportRow;
 import com.SBS_StudentServing_System.model.academic.DailyAttendance;
 import com.SBS_StudentServing_System.model.academic.DailyAttendanceId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface DailyAttendanceRepository extends JpaRepository<DailyAttendance, DailyAttendanceId> {
 
     // Essential method for your frontend - get student's attendance records
     List<DailyAttendance> findByStudentStudentId(String studentId);
-}
\ No newline at end of file
+
+    // Forward-only result set streamed row by row (MySQL streams when the fetch size is Integer.MIN_VALUE)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new com.SBS_StudentServing_System.dto.export.DailyAttendanceExportRow(
+            da.student.studentId, cs.classScheduleId, spc.studyPlanCourseId, spc.courseId, spc.semesterId,
+            da.attendanceDate, da.status, da.checkInTime, da.checkOutTime, da.note)
+        FROM DailyAttendance da
+        JOIN da.classSchedule cs
+        JOIN cs.studyPlanCourse spc
+        WHERE (:fromDate IS NULL OR da.attendanceDate >= :fromDate)
+          AND (:toDate IS NULL OR da.attendanceDate <= :toDate)
+          AND (:semesterId IS NULL OR spc.semesterId = :semesterId)
+        """)
+    Stream<DailyAttendanceExportRow> streamForExport(@Param("fromDate") LocalDate fromDate,
+                                                     @Param("toDate") LocalDate toDate,
+                                                     @Param("semesterId") String semesterId);
+
+    // Counters rebuilt from the facts, one row per student and study-plan course; used to reconcile AttendanceSummary
+    @Query("""
+        SELECT new com.SBS_StudentServing_System.dto.academic.AttendanceCounts(
+            da.student.studentId, spc.studyPlanCourseId, COUNT(da),
+            SUM(CASE WHEN da.status = 'Present' THEN 1 ELSE 0 END),
+            SUM(CASE WHEN da.status = 'Absent' THEN 1 ELSE 0 END),
+            SUM(CASE WHEN da.status = 'Late' THEN 1 ELSE 0 END),
+            SUM(CASE WHEN da.status = 'Absent with permission' THEN 1 ELSE 0 END))
+        FROM DailyAttendance da
+        JOIN da.classSchedule cs
+        JOIN cs.studyPlanCourse spc
+        GROUP BY da.student.studentId, spc.studyPlanCourseId
+        """)
+    List<AttendanceCounts> countByStudentAndStudyPlanCourse();
+}
@@ -2,6 +2,7 @@ package com.SBS_StudentServing_System.repository.academic;
 
 import com.SBS_StudentServing_System.model.academic.StudentAcademicBackground;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +10,7 @@ import java.util.List;
 @Repository
 public interface StudentAcademicBackgroundRepository extends JpaRepository<StudentAcademicBackground, String> {
     List<StudentAcademicBackground> findByStudentStudentId(String studentId);
+
+    @Query("SELECT b.documentUrl FROM StudentAcademicBackground b WHERE b.documentUrl IS NOT NULL")
+    List<String> findAllDocumentUrls();
 }
\ No newline at end of file
@@ -1,12 +1,61 @@
 package com.SBS_StudentServing_System.repository.academic;
 
+import com.SBS_StudentServing_System.dto.academic.StudentProgressCounts;
+import com.SBS_StudentServing_System.dto.export.StudentEnrollmentExportRow;
 import com.SBS_StudentServing_System.model.academic.StudentEnrollment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface StudentEnrollmentRepository extends JpaRepository<StudentEnrollment, Long> {
     List<StudentEnrollment> findByStudentStudentId(String studentId);
-}
\ No newline at end of file
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new com.SBS_StudentServing_System.dto.export.StudentEnrollmentExportRow(
+            se.id, se.student.studentId, spc.studyPlanCourseId, spc.courseId, spc.semesterId,
+            se.enrollmentStatus, se.completionStatus, se.exemptionStatus)
+        FROM StudentEnrollment se
+        JOIN se.studyPlanCourse spc
+        WHERE (:semesterId IS NULL OR spc.semesterId = :semesterId)
+        """)
+    Stream<StudentEnrollmentExportRow> streamForExport(@Param("semesterId") String semesterId);
+
+    // Enrolled/completed counts per student; credits come from CourseResultRepository.sumCreditsPerStudent
+    @Query("""
+        SELECT new com.SBS_StudentServing_System.dto.academic.StudentProgressCounts(
+            se.student.studentId, COUNT(se),
+            SUM(CASE WHEN se.completionStatus = 'Completed' THEN 1 ELSE 0 END), 0L)
+        FROM StudentEnrollment se
+        GROUP BY se.student.studentId
+        """)
+    List<StudentProgressCounts> countEnrollmentsPerStudent();
+
+    // Which of the given students are enrolled in the study-plan course, in a single IN query
+    @Query("""
+        SELECT se.student.studentId FROM StudentEnrollment se
+        WHERE se.studyPlanCourse.studyPlanCourseId = :studyPlanCourseId AND se.student.studentId IN :studentIds
+        """)
+    Set<String> findEnrolledStudentIds(@Param("studyPlanCourseId") String studyPlanCourseId,
+                                       @Param("studentIds") Collection<String> studentIds);
+
+    // Students whose timetable shows this study-plan course
+    @Query("""
+        SELECT DISTINCT se.student.studentId FROM StudentEnrollment se
+        WHERE se.studyPlanCourse.studyPlanCourseId = :studyPlanCourseId
+        """)
+    Set<String> findStudentIdsByStudyPlanCourseId(@Param("studyPlanCourseId") String studyPlanCourseId);
+}
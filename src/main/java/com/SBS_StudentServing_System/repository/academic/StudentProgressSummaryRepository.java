@@ -1,12 +1,30 @@
 package com.SBS_StudentServing_System.repository.academic;
 
 import com.SBS_StudentServing_System.model.academic.StudentProgressSummary;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface StudentProgressSummaryRepository extends JpaRepository<StudentProgressSummary, Long> {
     List<StudentProgressSummary> findByStudentStudentId(String studentId);
+
+    boolean existsByStudentStudentId(String studentId);
+
+    // One summary per student (uk_progress_summary_student), so this is a single unique-index lookup
+    @Query("SELECT s FROM StudentProgressSummary s WHERE s.student.studentId = :studentId")
+    Optional<StudentProgressSummary> findOneByStudentId(@Param("studentId") String studentId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM StudentProgressSummary s WHERE s.student.studentId = :studentId")
+    Optional<StudentProgressSummary> findForUpdate(@Param("studentId") String studentId);
+
+    @Query("SELECT s.totalCreditsEarned FROM StudentProgressSummary s WHERE s.student.studentId = :studentId")
+    Optional<Integer> findCreditsByStudentId(@Param("studentId") String studentId);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.SBS_StudentServing_System.repository.academic;
 
+import com.SBS_StudentServing_System.dto.academic.StudyPlanCourseDto;
 import com.SBS_StudentServing_System.model.academic.StudyPlanCourse;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -15,4 +16,15 @@ public interface StudyPlanCourseRepository extends JpaRepository<StudyPlanCourse
     @Query("SELECT spc FROM StudyPlanCourse spc JOIN StudentEnrollment e ON spc.studyPlanCourseId = e.studyPlanCourse.studyPlanCourseId WHERE e.student.studentId = :studentId")
     List<StudyPlanCourse> findByStudentId(@Param("studentId") String studentId);
 
+    // Enrolled study plan courses with their course names in one round trip
+    @Query("""
+        SELECT new com.SBS_StudentServing_System.dto.academic.StudyPlanCourseDto(
+            spc.studyPlanCourseId, spc.studyPlanId, spc.courseId, c.courseName, spc.semesterId, spc.assignmentDeadline)
+        FROM StudyPlanCourse spc
+        JOIN StudentEnrollment e ON spc.studyPlanCourseId = e.studyPlanCourse.studyPlanCourseId
+        LEFT JOIN Course c ON c.courseId = spc.courseId
+        WHERE e.student.studentId = :studentId
+        """)
+    List<StudyPlanCourseDto> findDtosByStudentId(@Param("studentId") String studentId);
+
 }
\ No newline at end of file
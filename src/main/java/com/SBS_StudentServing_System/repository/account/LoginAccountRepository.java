@@ -1,7 +1,39 @@
 package com.SBS_StudentServing_System.repository.account;
 
 import com.SBS_StudentServing_System.model.account.LoginAccount;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
 
 public interface LoginAccountRepository extends JpaRepository<LoginAccount, String> {
-}
\ No newline at end of file
+
+    // Resolves the login account behind an email in one round trip; student accounts win over admin accounts
+    @Query(value = """
+        SELECT x.* FROM (
+            SELECT la.*, 0 AS lookup_priority
+            FROM dim_login_account la JOIN dim_student s ON s.account_id = la.account_id
+            WHERE s.student_email = :email
+            UNION ALL
+            SELECT la.*, 1 AS lookup_priority
+            FROM dim_login_account la JOIN dim_admin a ON a.account_id = la.account_id
+            WHERE a.email = :email
+        ) x
+        ORDER BY x.lookup_priority
+        LIMIT 1
+        """, nativeQuery = true)
+    Optional<LoginAccount> findByEmail(@Param("email") String email);
+
+    @Query("SELECT la.accountId FROM LoginAccount la WHERE la.accountId IN :ids")
+    Set<String> findExistingIds(@Param("ids") Collection<String> ids);
+
+    // Row lock that makes per-account check-then-insert sequences run one after another on every node
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT la FROM LoginAccount la WHERE la.accountId = :accountId")
+    Optional<LoginAccount> findForUpdate(@Param("accountId") String accountId);
+}
@@ -1,12 +1,41 @@
 package com.SBS_StudentServing_System.repository.student;
 
+import com.SBS_StudentServing_System.dto.student.StudentRow;
 import com.SBS_StudentServing_System.model.student.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface StudentRepository extends JpaRepository<Student, String> {
     Optional<Student> findByLoginAccount_AccountId(String accountId);
 
     Optional<Student> findByStudentEmail(String studentEmail);
+
+    String STUDENT_ROW_SELECT = """
+        SELECT new com.SBS_StudentServing_System.dto.student.StudentRow(
+            s.studentId, s.firstName, s.lastName, s.dateOfBirth, s.phone, s.studentEmail, s.homeAddress,
+            w.wardId, c.cityId, s.streetAddress, s.buildingName, s.gender, s.nationality, s.nationalId,
+            s.studyPlanId,
+            la.accountId, la.role, la.accountStatus, la.createdAt, la.updatedAt, la.lastLoginAt)
+        FROM Student s
+        LEFT JOIN s.loginAccount la
+        LEFT JOIN s.city c
+        LEFT JOIN s.ward w
+        """;
+
+    // Single joined SELECT; avoids loading entities and their eager loginAccount/city/ward selects
+    @Query(STUDENT_ROW_SELECT + " ORDER BY s.studentId")
+    List<StudentRow> findAllRows();
+
+    @Query(STUDENT_ROW_SELECT + " WHERE s.studentId = :studentId")
+    Optional<StudentRow> findRowById(@Param("studentId") String studentId);
+
+    // Ids out of the given set that are already taken; one IN query per import chunk
+    @Query("SELECT s.studentId FROM Student s WHERE s.studentId IN :ids")
+    Set<String> findExistingIds(@Param("ids") Collection<String> ids);
 }
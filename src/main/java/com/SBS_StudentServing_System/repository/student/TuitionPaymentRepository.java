@@ -1,11 +1,29 @@
 package com.SBS_StudentServing_System.repository.student;
 
+import com.SBS_StudentServing_System.dto.export.TuitionPaymentExportRow;
 import com.SBS_StudentServing_System.model.studentinfo.StudentScholarship;
 import com.SBS_StudentServing_System.model.studentinfo.TuitionPayment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface TuitionPaymentRepository extends JpaRepository<TuitionPayment, Long> {
     List<TuitionPayment> findByStudent_StudentId(String studentId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new com.SBS_StudentServing_System.dto.export.TuitionPaymentExportRow(
+            tp.id, tp.student.studentId, s.scholarshipId, tp.paymentStatus, tp.paymentMethod, tp.amountPaid)
+        FROM TuitionPayment tp
+        LEFT JOIN tp.scholarship s
+        """)
+    Stream<TuitionPaymentExportRow> streamForExport();
 }
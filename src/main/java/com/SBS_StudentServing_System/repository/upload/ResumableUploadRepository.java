@@ -0,0 +1,16 @@
+package com.SBS_StudentServing_System.repository.upload;
+
+import com.SBS_StudentServing_System.model.upload.ResumableUpload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ResumableUploadRepository extends JpaRepository<ResumableUpload, String> {
+
+    long countByAccountIdAndCompletedAtIsNullAndExpiresAtAfter(String accountId, LocalDateTime now);
+
+    List<ResumableUpload> findByExpiresAtBefore(LocalDateTime now);
+}
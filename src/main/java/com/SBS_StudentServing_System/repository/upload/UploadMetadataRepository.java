@@ -0,0 +1,19 @@
+package com.SBS_StudentServing_System.repository.upload;
+
+import com.SBS_StudentServing_System.model.upload.UploadMetadata;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UploadMetadataRepository extends JpaRepository<UploadMetadata, Long> {
+
+    Optional<UploadMetadata> findByCategoryAndOwnerId(String category, String ownerId);
+
+    List<UploadMetadata> findByCategoryAndOwnerIdIn(String category, Collection<String> ownerIds);
+
+    boolean existsByCategoryAndOwnerId(String category, String ownerId);
+}
@@ -10,10 +10,13 @@ import com.SBS_StudentServing_System.model.student.Student;
 import com.SBS_StudentServing_System.repository.academic.*;
 import com.SBS_StudentServing_System.repository.lecturer.LecturerRepository;
 import com.SBS_StudentServing_System.repository.student.StudentRepository;
+import com.SBS_StudentServing_System.service.common.DimensionSnapshotService;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +51,9 @@ public class AcademicService {
     @Autowired public StudentProgressSummaryRepository studentProgressSummaryRepo;
     @Autowired public Transcript_Issue_Repository transcript_Issue_request_Repo;
     @Autowired public LecturerCourseRepository lecturerCourseRepo;
+    @Autowired public DimensionSnapshotService dimensionSnapshotService;
+    @Autowired public StudentProgressSummaryService studentProgressSummaryService;
+    @Autowired public ClassTimelineCache classTimelineCache;
 
     // --- StudentAcademicBackground ---
     public List<StudentAcademicBackground> getAllStudentAcademicBackgrounds() {
@@ -109,22 +115,21 @@ public class AcademicService {
 
     // --- StudyPlan ---
     public List<StudyPlan> getAllStudyPlans() {
-        return studyPlanRepo.findAll();
+        return new ArrayList<>(dimensionSnapshotService.studyPlans());
     }
     
     public List<StudyPlanDto> getAllStudyPlansWithDto() {
-        List<StudyPlan> studyPlans = studyPlanRepo.findAll();
-        return studyPlans.stream().map(StudyPlanMapper::toDto).toList();
+        return dimensionSnapshotService.studyPlans().stream().map(StudyPlanMapper::toDto).toList();
     }
     
     public StudyPlanDto getStudyPlanById(String id) {
-        Optional<StudyPlan> studyPlan = studyPlanRepo.findById(id);
-        return studyPlan.map(StudyPlanMapper::toDto).orElse(null);
+        return dimensionSnapshotService.studyPlan(id).map(StudyPlanMapper::toDto).orElse(null);
     }
     
     public StudyPlanDto createStudyPlan(StudyPlanDto studyPlanDto) {
         StudyPlan studyPlan = StudyPlanMapper.toEntity(studyPlanDto);
         StudyPlan savedStudyPlan = studyPlanRepo.save(studyPlan);
+        dimensionSnapshotService.refresh();
         return StudyPlanMapper.toDto(savedStudyPlan);
     }
     
@@ -134,22 +139,26 @@ public class AcademicService {
             StudyPlan studyPlan = StudyPlanMapper.toEntity(studyPlanDto);
             studyPlan.setStudyPlanId(id); // Ensure the ID remains the same for updates
             StudyPlan updatedStudyPlan = studyPlanRepo.save(studyPlan);
+            dimensionSnapshotService.refresh();
             return StudyPlanMapper.toDto(updatedStudyPlan);
         }
         return null;
     }
     
     public Optional<StudyPlan> getStudyPlan(String id) {
-        return studyPlanRepo.findById(id);
+        return dimensionSnapshotService.studyPlan(id);
     }
     
     public StudyPlan saveStudyPlan(StudyPlan entity) {
-        return studyPlanRepo.save(entity);
+        StudyPlan saved = studyPlanRepo.save(entity);
+        dimensionSnapshotService.refresh();
+        return saved;
     }
     
     public boolean deleteStudyPlan(String id) {
         if (studyPlanRepo.existsById(id)) {
             studyPlanRepo.deleteById(id);
+            dimensionSnapshotService.refresh();
             return true;
         }
         return false;
@@ -157,23 +166,8 @@ public class AcademicService {
 
     // --- StudyPlanCourse ---
     public List<StudyPlanCourseDto> getStudyPlanCoursesByStudent(String studentId) {
-        List<StudyPlanCourse> courses = studyPlanCourseRepo.findByStudentId(studentId);
-        return courses.stream().map(spc -> {
-            StudyPlanCourseDto dto = new StudyPlanCourseDto();
-            dto.setStudyPlanCourseId(spc.getStudyPlanCourseId());
-            
-            // Fetch related entities by their IDs
-            StudyPlan studyPlan = studyPlanRepo.findById(spc.getStudyPlanId()).orElse(null);
-            Course course = courseRepo.findById(spc.getCourseId()).orElse(null);
-            Semester semester = semesterRepo.findById(spc.getSemesterId()).orElse(null);
-            
-            dto.setStudyPlanId(studyPlan != null ? studyPlan.getStudyPlanId() : spc.getStudyPlanId());
-            dto.setCourseId(course != null ? course.getCourseId() : spc.getCourseId());
-            dto.setCourseName(course != null ? course.getCourseName() : null);
-            dto.setSemesterId(semester != null ? semester.getSemesterId() : spc.getSemesterId());
-            dto.setAssignmentDeadline(spc.getAssignmentDeadline());
-            return dto;
-        }).toList();
+        // Course name is resolved in the same joined query instead of per-row findById calls
+        return studyPlanCourseRepo.findDtosByStudentId(studentId);
     }
 
 
@@ -183,25 +177,32 @@ public class AcademicService {
     public Optional<StudyPlanCourse> getStudyPlanCourse(String id) {
         return studyPlanCourseRepo.findById(id);
     }
+    @Transactional
     public StudyPlanCourse saveStudyPlanCourse(StudyPlanCourse entity) {
+        classTimelineCache.evictStudyPlanCourse(entity.getStudyPlanCourseId());
         return studyPlanCourseRepo.save(entity);
     }
+    @Transactional
     public void deleteStudyPlanCourse(String id) {
+        classTimelineCache.evictStudyPlanCourse(id);
         studyPlanCourseRepo.deleteById(id);
     }
 
     // --- Grade ---
     public List<Grade> getAllGrades() {
-        return gradeRepo.findAll();
+        return new ArrayList<>(dimensionSnapshotService.grades());
     }
     public Optional<Grade> getGrade(String id) {
-        return gradeRepo.findById(id);
+        return dimensionSnapshotService.grade(id);
     }
     public Grade saveGrade(Grade entity) {
-        return gradeRepo.save(entity);
+        Grade saved = gradeRepo.save(entity);
+        dimensionSnapshotService.refresh();
+        return saved;
     }
     public void deleteGrade(String id) {
         gradeRepo.deleteById(id);
+        dimensionSnapshotService.refresh();
     }
 
     // --- ClassSchedule ---
@@ -211,64 +212,87 @@ public class AcademicService {
     public Optional<ClassSchedule> getClassSchedule(String id) {
         return classScheduleRepo.findById(id);
     }
+    @Transactional
     public ClassSchedule saveClassSchedule(ClassSchedule entity) {
+        // Students of the course the schedule moves away from, and of the one it now belongs to
+        if (entity.getClassScheduleId() != null) {
+            classScheduleRepo.findById(entity.getClassScheduleId())
+                    .ifPresent(previous -> classTimelineCache.evictStudyPlanCourse(studyPlanCourseId(previous.getStudyPlanCourse())));
+        }
+        classTimelineCache.evictStudyPlanCourse(studyPlanCourseId(entity.getStudyPlanCourse()));
         return classScheduleRepo.save(entity);
     }
+    @Transactional
     public void deleteClassSchedule(String id) {
+        classScheduleRepo.findById(id)
+                .ifPresent(previous -> classTimelineCache.evictStudyPlanCourse(studyPlanCourseId(previous.getStudyPlanCourse())));
         classScheduleRepo.deleteById(id);
     }
 
     // --- Course ---
     public List<CourseDto> getAllCourses() {
-        return courseRepo.findAll().stream()
+        return dimensionSnapshotService.courses().stream()
                 .map(CourseMapper::toDto)
                 .toList();
     }
     public List<ClassTimelineDto> getClassTimelinesByStudentId(String studentId) {
-        return classScheduleRepo.findClassTimelinesByStudentId(studentId);
+        return classTimelineCache.get(studentId);
     }
 
 
     public Integer getTotalCreditsEarnedByStudentId(String studentId) {
-        return courseResultRepo.getTotalCreditsEarnedByStudentId(studentId);
+        // Maintained progress summary first; the SUM only runs for students not yet backfilled
+        return studentProgressSummaryService.getCreditsEarned(studentId)
+                .orElseGet(() -> courseResultRepo.getTotalCreditsEarnedByStudentId(studentId));
     }
 
     public Optional<Course> getCourse(String id) {
-        return courseRepo.findById(id);
+        return dimensionSnapshotService.course(id);
     }
     public Course saveCourse(Course entity) {
-        return courseRepo.save(entity);
+        Course saved = courseRepo.save(entity);
+        dimensionSnapshotService.refresh();
+        classTimelineCache.evictAll();
+        return saved;
     }
     public void deleteCourse(String id) {
         courseRepo.deleteById(id);
+        dimensionSnapshotService.refresh();
+        classTimelineCache.evictAll();
     }
 
     // --- Semester ---
     public List<Semester> getAllSemesters() {
-        return semesterRepo.findAll();
+        return new ArrayList<>(dimensionSnapshotService.semesters());
     }
     public Optional<Semester> getSemester(String id) {
-        return semesterRepo.findById(id);
+        return dimensionSnapshotService.semester(id);
     }
     public Semester saveSemester(Semester entity) {
-        return semesterRepo.save(entity);
+        Semester saved = semesterRepo.save(entity);
+        dimensionSnapshotService.refresh();
+        return saved;
     }
     public void deleteSemester(String id) {
         semesterRepo.deleteById(id);
+        dimensionSnapshotService.refresh();
     }
 
     // --- Department ---
     public List<Department> getAllDepartments() {
-        return departmentRepo.findAll();
+        return new ArrayList<>(dimensionSnapshotService.departments());
     }
     public Optional<Department> getDepartment(String id) {
-        return departmentRepo.findById(id);
+        return dimensionSnapshotService.department(id);
     }
     public Department saveDepartment(Department entity) {
-        return departmentRepo.save(entity);
+        Department saved = departmentRepo.save(entity);
+        dimensionSnapshotService.refresh();
+        return saved;
     }
     public void deleteDepartment(String id) {
         departmentRepo.deleteById(id);
+        dimensionSnapshotService.refresh();
     }
 
     // --- TranscriptRequest ---
@@ -292,11 +316,28 @@ public class AcademicService {
     public Optional<StudentEnrollment> getStudentEnrollment(Long id) {
         return studentEnrollmentRepo.findById(id);
     }
+    @Transactional
     public StudentEnrollment saveStudentEnrollment(StudentEnrollment entity) {
-        return studentEnrollmentRepo.save(entity);
+        StudentEnrollment previous = entity.getId() != null ? studentEnrollmentRepo.findById(entity.getId()).orElse(null) : null;
+        Student previousStudent = previous != null ? previous.getStudent() : null;
+        String previousCompletionStatus = previous != null ? previous.getCompletionStatus() : null;
+
+        StudentEnrollment saved = studentEnrollmentRepo.save(entity);
+        if (previousStudent != null) {
+            studentProgressSummaryService.recordEnrollment(previousStudent, previousCompletionStatus, -1);
+            classTimelineCache.evictStudent(previousStudent.getStudentId());
+        }
+        classTimelineCache.evictStudent(saved.getStudent() != null ? saved.getStudent().getStudentId() : null);
+        studentProgressSummaryService.recordEnrollment(saved.getStudent(), saved.getCompletionStatus(), 1);
+        return saved;
     }
+    @Transactional
     public void deleteStudentEnrollment(Long id) {
-        studentEnrollmentRepo.deleteById(id);
+        studentEnrollmentRepo.findById(id).ifPresent(enrollment -> {
+            studentEnrollmentRepo.delete(enrollment);
+            studentProgressSummaryService.recordEnrollment(enrollment.getStudent(), enrollment.getCompletionStatus(), -1);
+            classTimelineCache.evictStudent(enrollment.getStudent() != null ? enrollment.getStudent().getStudentId() : null);
+        });
     }
 
     // --- AttendanceSummary ---
@@ -334,11 +375,25 @@ public class AcademicService {
     public Optional<CourseResult> getCourseResult(Long id) {
         return courseResultRepo.findById(id);
     }
+    @Transactional
     public CourseResult saveCourseResult(CourseResult entity) {
-        return courseResultRepo.save(entity);
+        CourseResult previous = entity.getId() != null ? courseResultRepo.findById(entity.getId()).orElse(null) : null;
+        Student previousStudent = previous != null ? previous.getStudent() : null;
+        Integer previousCredits = previous != null ? previous.getCreditsEarned() : null;
+
+        CourseResult saved = courseResultRepo.save(entity);
+        if (previousStudent != null) {
+            studentProgressSummaryService.recordCredits(previousStudent, previousCredits, -1);
+        }
+        studentProgressSummaryService.recordCredits(saved.getStudent(), saved.getCreditsEarned(), 1);
+        return saved;
     }
+    @Transactional
     public void deleteCourseResult(Long id) {
-        courseResultRepo.deleteById(id);
+        courseResultRepo.findById(id).ifPresent(courseResult -> {
+            courseResultRepo.delete(courseResult);
+            studentProgressSummaryService.recordCredits(courseResult.getStudent(), courseResult.getCreditsEarned(), -1);
+        });
     }
 
     // --- StudentProgressSummary ---
@@ -376,16 +431,29 @@ public class AcademicService {
     public Optional<LecturerCourse> getLecturerCourse(Long id) {
         return lecturerCourseRepo.findById(id);
     }
+    @Transactional
     public LecturerCourse saveLecturerCourse(LecturerCourse entity) {
+        if (entity.getId() != null) {
+            lecturerCourseRepo.findById(entity.getId())
+                    .ifPresent(previous -> classTimelineCache.evictStudyPlanCourse(studyPlanCourseId(previous.getStudyPlanCourse())));
+        }
+        classTimelineCache.evictStudyPlanCourse(studyPlanCourseId(entity.getStudyPlanCourse()));
         return lecturerCourseRepo.save(entity);
     }
+    @Transactional
     public void deleteLecturerCourse(Long id) {
+        lecturerCourseRepo.findById(id)
+                .ifPresent(previous -> classTimelineCache.evictStudyPlanCourse(studyPlanCourseId(previous.getStudyPlanCourse())));
         lecturerCourseRepo.deleteById(id);
     }
 
     // Add to AcademicService.java
     public List<DailyAttendanceDto> getDailyAttendanceByStudentId(String studentId) {
         List<DailyAttendance> attendanceList = dailyAttendanceRepository.findByStudentStudentId(studentId);
+
+        // Courses are resolved from the in-memory dimension snapshot instead of one lookup per attendance row
+        Map<String, Course> coursesById = dimensionSnapshotService.current().courses();
+
         return attendanceList.stream().map(attendance -> {
             DailyAttendanceDto dto = new DailyAttendanceDto();
             dto.setStudentId(attendance.getStudent().getStudentId());
@@ -394,8 +462,7 @@ public class AcademicService {
             // Get the StudyPlanCourse from the ClassSchedule
             StudyPlanCourse studyPlanCourse = attendance.getClassSchedule().getStudyPlanCourse();
             
-            // Fetch the actual Course entity by courseId
-            Course course = courseRepo.findById(studyPlanCourse.getCourseId()).orElse(null);
+            Course course = coursesById.get(studyPlanCourse.getCourseId());
             
             dto.setCourseId(course != null ? course.getCourseId() : studyPlanCourse.getCourseId());
             dto.setCourseName(course != null ? course.getCourseName() : null);
@@ -409,18 +476,26 @@ public class AcademicService {
     }
 
     public Map<String, Object> getAttendanceSummaryByStudentId(String studentId) {
-        List<DailyAttendance> attendanceList = dailyAttendanceRepository.findByStudentStudentId(studentId);
+        // Counters are maintained by AttendanceCounterService, so this is one aggregate over the student's summary rows
+        AttendanceCounts counts = attendanceSummaryRepo.sumByStudentId(studentId).orElse(null);
 
         Map<String, Object> summary = new HashMap<>();
-        long totalClasses = attendanceList.size();
-        long presentCount = attendanceList.stream().filter(a -> "Present".equals(a.getStatus())).count();
+        long totalClasses = counts != null ? counts.totalDays() : 0;
+        long presentCount = counts != null ? counts.presentDays() : 0;
 
         double attendanceRate = totalClasses > 0 ? (double) presentCount / totalClasses * 100 : 0.0;
 
         summary.put("totalClasses", totalClasses);
         summary.put("presentCount", presentCount);
+        summary.put("absentCount", counts != null ? counts.absentDays() : 0L);
+        summary.put("lateCount", counts != null ? counts.lateDays() : 0L);
+        summary.put("absentWithPermissionCount", counts != null ? counts.excusedDays() : 0L);
         summary.put("attendanceRate", Math.round(attendanceRate * 100.0) / 100.0);
 
         return summary;
     }
+
+    private static String studyPlanCourseId(StudyPlanCourse studyPlanCourse) {
+        return studyPlanCourse != null ? studyPlanCourse.getStudyPlanCourseId() : null;
+    }
 }
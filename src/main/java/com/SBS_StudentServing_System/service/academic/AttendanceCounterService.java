@@ -0,0 +1,293 @@
+package com.SBS_StudentServing_System.service.academic;
+
+import com.SBS_StudentServing_System.dto.academic.AttendanceCounts;
+import com.SBS_StudentServing_System.model.academic.AttendanceSummary;
+import com.SBS_StudentServing_System.model.academic.StudyPlanCourse;
+import com.SBS_StudentServing_System.model.student.Student;
+import com.SBS_StudentServing_System.repository.academic.AttendanceSummaryRepository;
+import com.SBS_StudentServing_System.repository.academic.DailyAttendanceRepository;
+import com.SBS_StudentServing_System.repository.academic.StudyPlanCourseRepository;
+import com.SBS_StudentServing_System.repository.student.StudentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the per student / study-plan course AttendanceSummary counters in step with DailyAttendance writes.
+ * Deltas are applied inside the caller's transaction; {@link #reconcile()} rebuilds every counter from the facts.
+ * A missing counter row is seeded from the facts in the caller's transaction and connection, so students with
+ * attendance recorded before the counters existed are right from their first new write.
+ */
+@Slf4j
+@Service
+public class AttendanceCounterService {
+
+    public static final String PRESENT = "Present";
+    public static final String ABSENT = "Absent";
+    public static final String ABSENT_WITH_PERMISSION = "Absent with permission";
+    public static final String LATE = "Late";
+
+    private final AttendanceSummaryRepository attendanceSummaryRepository;
+    private final DailyAttendanceRepository dailyAttendanceRepository;
+    private final StudentRepository studentRepository;
+    private final StudyPlanCourseRepository studyPlanCourseRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /*
+     * One counter row built from the facts this transaction sees, its own writes included. INSERT IGNORE
+     * rather than ON DUPLICATE KEY: the driver reports found rows, so only IGNORE tells an insert (1) from a
+     * row another writer created first (0). A student without facts still gets a row of zeros.
+     */
+    private static final String SEED_SQL = """
+            INSERT IGNORE INTO fact_attendance_summary
+                (id, student_id, study_plan_course_id, total_days, present_days, absent_days, late_days,
+                 excused_days, total_attendance_percentage)
+            SELECT ?, s.student_id, ?, COUNT(da.student_id),
+                COALESCE(SUM(da.status = 'Present'), 0),
+                COALESCE(SUM(da.status = 'Absent'), 0),
+                COALESCE(SUM(da.status = 'Late'), 0),
+                COALESCE(SUM(da.status = 'Absent with permission'), 0),
+                CASE WHEN COUNT(da.student_id) > 0
+                    THEN ROUND(SUM(da.status = 'Present') * 100 / COUNT(da.student_id)) ELSE 0 END
+            FROM dim_student s
+            LEFT JOIN fact_daily_attendance da ON da.student_id = s.student_id
+                AND da.class_schedule_id IN (
+                    SELECT cs.class_schedule_id FROM dim_class_schedule cs WHERE cs.study_plan_course_id = ?)
+            WHERE s.student_id = ?
+            GROUP BY s.student_id
+            """;
+
+    public AttendanceCounterService(AttendanceSummaryRepository attendanceSummaryRepository,
+                                    DailyAttendanceRepository dailyAttendanceRepository,
+                                    StudentRepository studentRepository,
+                                    StudyPlanCourseRepository studyPlanCourseRepository,
+                                    JdbcTemplate jdbcTemplate) {
+        this.attendanceSummaryRepository = attendanceSummaryRepository;
+        this.dailyAttendanceRepository = dailyAttendanceRepository;
+        this.studentRepository = studentRepository;
+        this.studyPlanCourseRepository = studyPlanCourseRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAdded(Student student, StudyPlanCourse studyPlanCourse, String status) {
+        apply(student, studyPlanCourse, status, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRemoved(Student student, StudyPlanCourse studyPlanCourse, String status) {
+        apply(student, studyPlanCourse, status, -1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChange(Student student, StudyPlanCourse studyPlanCourse, String oldStatus, String newStatus) {
+        if (oldStatus != null && oldStatus.equals(newStatus)) {
+            return;
+        }
+        AttendanceSummary summary = lockOrSeed(student, studyPlanCourse);
+        if (summary == null) {
+            return;
+        }
+        adjust(summary, oldStatus, -1);
+        adjust(summary, newStatus, 1);
+        updatePercentage(summary);
+        attendanceSummaryRepository.save(summary);
+    }
+
+    /**
+     * Locks the counter rows of a roll-call's students for one study-plan course, seeding missing ones first.
+     * Call it before the old statuses are read and the rows written: the seeds then count only the earlier facts,
+     * and a concurrent roll-call for the same students waits here until this one commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<String, AttendanceSummary> lockBatch(StudyPlanCourse studyPlanCourse, Collection<String> studentIds) {
+        String studyPlanCourseId = studyPlanCourse.getStudyPlanCourseId();
+        Set<String> missing = new HashSet<>(studentIds);
+        attendanceSummaryRepository.findStudentIds(studyPlanCourseId, studentIds).forEach(missing::remove);
+        for (String studentId : missing) {
+            seed(studyPlanCourseId, studentId);
+        }
+
+        Map<String, AttendanceSummary> summaries = new HashMap<>();
+        for (AttendanceSummary summary : attendanceSummaryRepository.findAllForUpdate(studyPlanCourseId, studentIds)) {
+            summaries.put(summary.getStudent().getStudentId(), summary);
+        }
+        return summaries;
+    }
+
+    /**
+     * Applies a whole roll-call to the rows {@link #lockBatch} returned and saves them together so Hibernate can
+     * batch the updates. {@code previousStatuses} holds the status each student had before the write (absent
+     * key = new row).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordBatch(Map<String, AttendanceSummary> summaries, Map<String, String> previousStatuses,
+                            Map<String, String> newStatuses) {
+        List<AttendanceSummary> changed = new ArrayList<>();
+        for (Map.Entry<String, String> entry : newStatuses.entrySet()) {
+            String studentId = entry.getKey();
+            String newStatus = entry.getValue();
+            boolean existed = previousStatuses.containsKey(studentId);
+            String oldStatus = previousStatuses.get(studentId);
+            if (existed && newStatus.equals(oldStatus)) {
+                continue;
+            }
+            AttendanceSummary summary = summaries.get(studentId);
+            if (summary == null) {
+                throw new IllegalStateException("No attendance summary for student " + studentId);
+            }
+            if (existed) {
+                adjust(summary, oldStatus, -1);
+            }
+            adjust(summary, newStatus, 1);
+            updatePercentage(summary);
+            changed.add(summary);
+        }
+        attendanceSummaryRepository.saveAll(changed);
+    }
+
+    @Scheduled(cron = "${app.attendance.reconcile-cron:0 30 3 * * *}")
+    @Transactional
+    public int reconcile() {
+        Map<String, AttendanceCounts> factCounts = new HashMap<>();
+        for (AttendanceCounts counts : dailyAttendanceRepository.countByStudentAndStudyPlanCourse()) {
+            factCounts.put(key(counts.studentId(), counts.studyPlanCourseId()), counts);
+        }
+
+        int corrected = 0;
+        List<AttendanceSummary> summaries = attendanceSummaryRepository.findAll();
+        for (AttendanceSummary summary : summaries) {
+            String key = key(summary.getStudent().getStudentId(), summary.getStudyPlanCourse().getStudyPlanCourseId());
+            AttendanceCounts counts = factCounts.remove(key);
+            if (overwrite(summary, counts)) {
+                attendanceSummaryRepository.save(summary);
+                corrected++;
+            }
+        }
+
+        // Facts without a summary row yet
+        for (AttendanceCounts counts : factCounts.values()) {
+            AttendanceSummary summary = new AttendanceSummary();
+            summary.setStudent(studentRepository.getReferenceById(counts.studentId()));
+            summary.setStudyPlanCourse(studyPlanCourseRepository.getReferenceById(counts.studyPlanCourseId()));
+            overwrite(summary, counts);
+            attendanceSummaryRepository.save(summary);
+            corrected++;
+        }
+
+        if (corrected > 0) {
+            log.warn("Attendance counter reconciliation corrected {} summary rows", corrected);
+        }
+        return corrected;
+    }
+
+    private void apply(Student student, StudyPlanCourse studyPlanCourse, String status, int delta) {
+        AttendanceSummary summary = lockOrSeed(student, studyPlanCourse);
+        if (summary == null) {
+            return;
+        }
+        adjust(summary, status, delta);
+        updatePercentage(summary);
+        attendanceSummaryRepository.save(summary);
+    }
+
+    // The locked counter row, or null when it was just seeded and so already includes the caller's write
+    private AttendanceSummary lockOrSeed(Student student, StudyPlanCourse studyPlanCourse) {
+        String studentId = student.getStudentId();
+        String studyPlanCourseId = studyPlanCourse.getStudyPlanCourseId();
+        if (!attendanceSummaryRepository.existsByStudentStudentIdAndStudyPlanCourseStudyPlanCourseId(studentId, studyPlanCourseId)
+                && seed(studyPlanCourseId, studentId)) {
+            return null;
+        }
+        return attendanceSummaryRepository.findForUpdate(studentId, studyPlanCourseId)
+                .orElseThrow(() -> new IllegalStateException("No attendance summary for student " + studentId
+                        + " in study plan course " + studyPlanCourseId));
+    }
+
+    /**
+     * Creates a missing counter row from the facts in the caller's transaction, pending writes flushed first so
+     * the row counts them. Returns false when another writer created the row first; its counts stop short of the
+     * caller's write, so the caller locks it and applies the delta as for any other row. {@link #lockBatch} seeds
+     * before writing and applies every delta either way.
+     */
+    private boolean seed(String studyPlanCourseId, String studentId) {
+        entityManager.flush();
+        return jdbcTemplate.update(SEED_SQL, nextId(), studyPlanCourseId, studyPlanCourseId, studentId) > 0;
+    }
+
+    // Next id from AttendanceSummary's pooled table generator, for the row SEED_SQL inserts
+    private Long nextId() {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator generator = (IdentifierGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(AttendanceSummary.class).getGenerator();
+        return (Long) generator.generate(session, null);
+    }
+
+    private void adjust(AttendanceSummary summary, String status, int delta) {
+        summary.setTotalDays(clamp(summary.getTotalDays() + delta));
+        if (PRESENT.equals(status)) {
+            summary.setPresentDays(clamp(summary.getPresentDays() + delta));
+        } else if (ABSENT.equals(status)) {
+            summary.setAbsentDays(clamp(summary.getAbsentDays() + delta));
+        } else if (LATE.equals(status)) {
+            summary.setLateDays(clamp(summary.getLateDays() + delta));
+        } else if (ABSENT_WITH_PERMISSION.equals(status)) {
+            summary.setExcusedDays(clamp(summary.getExcusedDays() + delta));
+        }
+    }
+
+    // Returns true when any counter differed from the facts
+    private boolean overwrite(AttendanceSummary summary, AttendanceCounts counts) {
+        int total = counts != null ? counts.totalDays().intValue() : 0;
+        int present = counts != null ? counts.presentDays().intValue() : 0;
+        int absent = counts != null ? counts.absentDays().intValue() : 0;
+        int late = counts != null ? counts.lateDays().intValue() : 0;
+        int excused = counts != null ? counts.excusedDays().intValue() : 0;
+
+        boolean changed = summary.getId() == null
+                || summary.getTotalDays() != total
+                || summary.getPresentDays() != present
+                || summary.getAbsentDays() != absent
+                || summary.getLateDays() != late
+                || summary.getExcusedDays() != excused;
+        summary.setTotalDays(total);
+        summary.setPresentDays(present);
+        summary.setAbsentDays(absent);
+        summary.setLateDays(late);
+        summary.setExcusedDays(excused);
+        updatePercentage(summary);
+        return changed;
+    }
+
+    // Same rate the dashboard has always shown: only 'Present' counts as attended
+    private void updatePercentage(AttendanceSummary summary) {
+        int total = summary.getTotalDays();
+        summary.setTotalAttendancePercentage(total > 0 ? Math.round(summary.getPresentDays() * 100f / total) : 0);
+    }
+
+    private static int clamp(int value) {
+        return Math.max(value, 0);
+    }
+
+    private static String key(String studentId, String studyPlanCourseId) {
+        return studentId + '|' + studyPlanCourseId;
+    }
+}
@@ -1,6 +1,7 @@
 package com.SBS_StudentServing_System.service.academic;
 
 import com.SBS_StudentServing_System.dto.academic.AttendanceSummaryDto;
+import com.SBS_StudentServing_System.dto.common.CursorPage;
 import com.SBS_StudentServing_System.mapping.AttendanceSummaryMapper;
 import com.SBS_StudentServing_System.model.academic.AttendanceSummary;
 import com.SBS_StudentServing_System.model.academic.StudyPlanCourse;
@@ -8,6 +9,9 @@ import com.SBS_StudentServing_System.model.student.Student;
 import com.SBS_StudentServing_System.repository.academic.AttendanceSummaryRepository;
 import com.SBS_StudentServing_System.repository.academic.StudyPlanCourseRepository;
 import com.SBS_StudentServing_System.repository.student.StudentRepository;
+import com.SBS_StudentServing_System.service.common.KeysetPageRequest;
+import com.SBS_StudentServing_System.service.common.KeysetPager;
+import com.SBS_StudentServing_System.service.common.KeysetSpec;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -18,6 +22,13 @@ import java.util.stream.Collectors;
 @Service
 public class AttendanceSummaryService {
 
+    private static final KeysetSpec<AttendanceSummary> PAGE_SPEC = KeysetSpec.of(AttendanceSummary.class, "id")
+            .sortable("id", "id")
+            .sortable("attendancePercentage", "totalAttendancePercentage")
+            .filterable("studentId", "student.studentId")
+            .filterable("studyPlanCourseId", "studyPlanCourse.studyPlanCourseId")
+            .filterable("flagLevel", "flagLevel");
+
     @Autowired
     private AttendanceSummaryRepository attendanceSummaryRepository;
     
@@ -27,12 +38,19 @@ public class AttendanceSummaryService {
     @Autowired
     private StudyPlanCourseRepository studyPlanCourseRepository;
 
+    @Autowired
+    private KeysetPager keysetPager;
+
     public List<AttendanceSummaryDto> getAllAttendanceSummaries() {
         return attendanceSummaryRepository.findAll().stream()
                 .map(AttendanceSummaryMapper::toDto)
                 .collect(Collectors.toList());
     }
 
+    public CursorPage<AttendanceSummaryDto> getAttendanceSummaryPage(KeysetPageRequest request) {
+        return keysetPager.page(PAGE_SPEC, request, AttendanceSummaryMapper::toDto);
+    }
+
     public Optional<AttendanceSummaryDto> getAttendanceSummaryById(Long id) {
         return attendanceSummaryRepository.findById(id).map(AttendanceSummaryMapper::toDto);
     }
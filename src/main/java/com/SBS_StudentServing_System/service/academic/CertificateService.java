@@ -5,9 +5,11 @@ import com.SBS_StudentServing_System.repository.academic.CertificateRepository;
 import com.SBS_StudentServing_System.model.student.Student;
 import com.SBS_StudentServing_System.repository.student.StudentRepository;
 import com.SBS_StudentServing_System.model.academic.StudyPlan;
-import com.SBS_StudentServing_System.repository.academic.StudyPlanRepository;
+import com.SBS_StudentServing_System.service.common.DimensionSnapshotService;
+import com.SBS_StudentServing_System.service.upload.ContentBlobStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -23,8 +25,12 @@ public class CertificateService {
     private StudentRepository studentRepository;
 
     @Autowired
-    private StudyPlanRepository studyPlanRepository;
+    private DimensionSnapshotService dimensionSnapshotService;
 
+    @Autowired
+    private ContentBlobStore contentBlobStore;
+
+    @Transactional
     public Certificate saveCertificate(String studentId, String fileName, String filePath, String certificateType, String description) {
         Optional<Student> studentOpt = studentRepository.findById(studentId);
         if (!studentOpt.isPresent()) {
@@ -37,7 +43,7 @@ public class CertificateService {
         String pathway = "Unknown";
 
         if (student.getStudyPlanId() != null) {
-            Optional<StudyPlan> studyPlanOpt = studyPlanRepository.findById(student.getStudyPlanId());
+            Optional<StudyPlan> studyPlanOpt = dimensionSnapshotService.studyPlan(student.getStudyPlanId());
             if (studyPlanOpt.isPresent()) {
                 pathway = studyPlanOpt.get().getPathwayName();
             }
@@ -55,7 +61,9 @@ public class CertificateService {
                 .description(description)
                 .build();
 
-        return certificateRepository.save(certificate);
+        Certificate saved = certificateRepository.save(certificate);
+        contentBlobStore.retain(filePath);
+        return saved;
     }
 
     public List<Certificate> getAllCertificates() {
@@ -74,7 +82,15 @@ public class CertificateService {
         return certificateRepository.findById(id);
     }
 
+    public Optional<Certificate> getCertificateByFileName(String fileName) {
+        return certificateRepository.findFirstByFileName(fileName);
+    }
+
+    @Transactional
     public void deleteCertificate(Long id) {
-        certificateRepository.deleteById(id);
+        certificateRepository.findById(id).ifPresent(certificate -> {
+            certificateRepository.delete(certificate);
+            contentBlobStore.release(certificate.getFilePath());
+        });
     }
 }
\ No newline at end of file
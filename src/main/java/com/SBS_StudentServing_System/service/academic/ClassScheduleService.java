@@ -8,6 +8,7 @@ import com.SBS_StudentServing_System.repository.academic.ClassScheduleRepository
 import com.SBS_StudentServing_System.repository.academic.StudyPlanCourseRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,6 +23,9 @@ public class ClassScheduleService {
     @Autowired
     private StudyPlanCourseRepository studyPlanCourseRepository;
 
+    @Autowired
+    private ClassTimelineCache classTimelineCache;
+
     public List<ClassScheduleDto> getAllClassSchedules() {
         return classScheduleRepository.findAll().stream()
                 .map(ClassScheduleMapper::toDto)
@@ -32,6 +36,7 @@ public class ClassScheduleService {
         return classScheduleRepository.findById(classScheduleId).map(ClassScheduleMapper::toDto);
     }
 
+    @Transactional
     public ClassScheduleDto createClassSchedule(ClassScheduleDto classScheduleDto) {
         // 获取关联的StudyPlanCourse
         StudyPlanCourse studyPlanCourse = studyPlanCourseRepository.findById(classScheduleDto.getStudyPlanCourseId())
@@ -39,24 +44,33 @@ public class ClassScheduleService {
         
         ClassSchedule classSchedule = ClassScheduleMapper.toEntity(classScheduleDto, studyPlanCourse);
         ClassSchedule savedClassSchedule = classScheduleRepository.save(classSchedule);
+        classTimelineCache.evictStudyPlanCourse(studyPlanCourse.getStudyPlanCourseId());
         return ClassScheduleMapper.toDto(savedClassSchedule);
     }
 
+    @Transactional
     public ClassScheduleDto updateClassSchedule(String classScheduleId, ClassScheduleDto classScheduleDto) {
-        if (classScheduleRepository.existsById(classScheduleId)) {
+        Optional<ClassSchedule> existing = classScheduleRepository.findById(classScheduleId);
+        if (existing.isPresent()) {
+            // The schedule may move to another study-plan course; both sets of students see the change
+            classTimelineCache.evictStudyPlanCourse(existing.get().getStudyPlanCourse().getStudyPlanCourseId());
             // 获取关联的StudyPlanCourse
             StudyPlanCourse studyPlanCourse = studyPlanCourseRepository.findById(classScheduleDto.getStudyPlanCourseId())
                     .orElseThrow(() -> new RuntimeException("StudyPlanCourse not found with id: " + classScheduleDto.getStudyPlanCourseId()));
             
             ClassSchedule classSchedule = ClassScheduleMapper.toEntity(classScheduleDto, studyPlanCourse);
             ClassSchedule savedClassSchedule = classScheduleRepository.save(classSchedule);
+            classTimelineCache.evictStudyPlanCourse(studyPlanCourse.getStudyPlanCourseId());
             return ClassScheduleMapper.toDto(savedClassSchedule);
         } else {
             throw new RuntimeException("ClassSchedule not found with id: " + classScheduleId);
         }
     }
 
+    @Transactional
     public void deleteClassSchedule(String classScheduleId) {
+        classScheduleRepository.findById(classScheduleId).ifPresent(classSchedule ->
+                classTimelineCache.evictStudyPlanCourse(classSchedule.getStudyPlanCourse().getStudyPlanCourseId()));
         classScheduleRepository.deleteById(classScheduleId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.SBS_StudentServing_System.service.academic;
+
+import com.SBS_StudentServing_System.dto.academic.ClassTimelineDto;
+import com.SBS_StudentServing_System.repository.academic.ClassScheduleRepository;
+import com.SBS_StudentServing_System.repository.academic.StudentEnrollmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-student timetable read model. A miss runs the timeline join once and keeps the result; writers to
+ * ClassSchedule, LecturerCourse, StudentEnrollment (and the Course/Lecturer/StudyPlanCourse rows it shows)
+ * evict exactly the students they affect. Hits and misses are exported as
+ * {@code cache.gets{cache=classTimeline,result=hit|miss}}.
+ */
+@Component
+public class ClassTimelineCache {
+
+    private static final String CACHE_NAME = "classTimeline";
+
+    private final ClassScheduleRepository classScheduleRepository;
+    private final StudentEnrollmentRepository studentEnrollmentRepository;
+    private final int maxSize;
+    // Safety net for writes made by other nodes, which only evict locally
+    private final long ttlMillis;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped by every eviction; a load that overlapped one is returned but not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public ClassTimelineCache(ClassScheduleRepository classScheduleRepository,
+                              StudentEnrollmentRepository studentEnrollmentRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.timeline-cache.max-size:20000}") int maxSize,
+                              @Value("${app.timeline-cache.ttl-ms:900000}") long ttlMillis) {
+        this.classScheduleRepository = classScheduleRepository;
+        this.studentEnrollmentRepository = studentEnrollmentRepository;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+
+        this.hits = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit")
+                .description("Timeline reads served from memory")
+                .register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss")
+                .description("Timeline reads that ran the timeline query")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        Gauge.builder("cache.size", entries, Map::size).tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    public List<ClassTimelineDto> get(String studentId) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(studentId);
+        if (entry != null && entry.expiresAt() > now) {
+            hits.increment();
+            return entry.timeline();
+        }
+
+        misses.increment();
+        long loadedAt = generation.get();
+        List<ClassTimelineDto> timeline = List.copyOf(classScheduleRepository.findClassTimelinesByStudentId(studentId));
+        if (generation.get() == loadedAt) {
+            if (entries.size() >= maxSize) {
+                evictExpired(now);
+            }
+            entries.put(studentId, new Entry(timeline, now + ttlMillis));
+        }
+        return timeline;
+    }
+
+    public void evictStudent(String studentId) {
+        if (studentId != null) {
+            evictStudents(Set.of(studentId));
+        }
+    }
+
+    /**
+     * Evicts every student enrolled in the study-plan course. Call before the write so the enrollment lookup
+     * sees the rows as they were; the eviction itself is repeated after commit.
+     */
+    public void evictStudyPlanCourse(String studyPlanCourseId) {
+        if (studyPlanCourseId != null) {
+            evictStudents(studentEnrollmentRepository.findStudentIdsByStudyPlanCourseId(studyPlanCourseId));
+        }
+    }
+
+    public void evictStudents(Collection<String> studentIds) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        remove(studentIds);
+        // Evict again after commit so a read that reloaded the old rows mid-transaction is not kept
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(studentIds);
+                }
+            });
+        }
+    }
+
+    // Course and lecturer names are embedded in every timeline that shows them; those edits are rare
+    public void evictAll() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        }
+    }
+
+    private void remove(Collection<String> studentIds) {
+        generation.incrementAndGet();
+        for (String studentId : studentIds) {
+            if (entries.remove(studentId) != null) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        evictions.increment(entries.size());
+        entries.clear();
+    }
+
+    private void evictExpired(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+        Iterator<String> it = entries.keySet().iterator();
+        while (entries.size() >= maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private record Entry(List<ClassTimelineDto> timeline, long expiresAt) {
+    }
+}
@@ -7,11 +7,12 @@ import com.SBS_StudentServing_System.model.academic.Grade;
 import com.SBS_StudentServing_System.model.academic.StudyPlanCourse;
 import com.SBS_StudentServing_System.model.student.Student;
 import com.SBS_StudentServing_System.repository.academic.CourseResultRepository;
-import com.SBS_StudentServing_System.repository.academic.GradeRepository;
 import com.SBS_StudentServing_System.repository.academic.StudyPlanCourseRepository;
 import com.SBS_StudentServing_System.repository.student.StudentRepository;
+import com.SBS_StudentServing_System.service.common.DimensionSnapshotService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -30,7 +31,10 @@ public class CourseResultService {
     private StudyPlanCourseRepository studyPlanCourseRepository;
     
     @Autowired
-    private GradeRepository gradeRepository;
+    private DimensionSnapshotService dimensionSnapshotService;
+
+    @Autowired
+    private StudentProgressSummaryService studentProgressSummaryService;
 
     public List<CourseResultDto> getAllCourseResults() {
         return courseResultRepository.findAll().stream()
@@ -42,6 +46,7 @@ public class CourseResultService {
         return courseResultRepository.findById(id).map(CourseResultMapper::toDto);
     }
 
+    @Transactional
     public CourseResultDto createCourseResult(CourseResultDto courseResultDto) {
         // 获取关联的学生、学习计划课程和成绩
         Student student = studentRepository.findById(courseResultDto.getStudentId())
@@ -50,16 +55,22 @@ public class CourseResultService {
         StudyPlanCourse studyPlanCourse = studyPlanCourseRepository.findById(courseResultDto.getStudyPlanCourseId())
                 .orElseThrow(() -> new RuntimeException("StudyPlanCourse not found with id: " + courseResultDto.getStudyPlanCourseId()));
         
-        Grade grade = gradeRepository.findById(courseResultDto.getGradeName())
+        Grade grade = dimensionSnapshotService.grade(courseResultDto.getGradeName())
                 .orElseThrow(() -> new RuntimeException("Grade not found with name: " + courseResultDto.getGradeName()));
         
         CourseResult courseResult = CourseResultMapper.toEntity(courseResultDto, student, studyPlanCourse, grade);
         CourseResult savedCourseResult = courseResultRepository.save(courseResult);
+        studentProgressSummaryService.recordCredits(student, savedCourseResult.getCreditsEarned(), 1);
         return CourseResultMapper.toDto(savedCourseResult);
     }
 
+    @Transactional
     public CourseResultDto updateCourseResult(Long id, CourseResultDto courseResultDto) {
-        if (courseResultRepository.existsById(id)) {
+        Optional<CourseResult> existing = courseResultRepository.findById(id);
+        if (existing.isPresent()) {
+            Student previousStudent = existing.get().getStudent();
+            Integer previousCredits = existing.get().getCreditsEarned();
+
             // 获取关联的学生、学习计划课程和成绩
             Student student = studentRepository.findById(courseResultDto.getStudentId())
                     .orElseThrow(() -> new RuntimeException("Student not found with id: " + courseResultDto.getStudentId()));
@@ -67,19 +78,25 @@ public class CourseResultService {
             StudyPlanCourse studyPlanCourse = studyPlanCourseRepository.findById(courseResultDto.getStudyPlanCourseId())
                     .orElseThrow(() -> new RuntimeException("StudyPlanCourse not found with id: " + courseResultDto.getStudyPlanCourseId()));
             
-            Grade grade = gradeRepository.findById(courseResultDto.getGradeName())
+            Grade grade = dimensionSnapshotService.grade(courseResultDto.getGradeName())
                     .orElseThrow(() -> new RuntimeException("Grade not found with name: " + courseResultDto.getGradeName()));
             
             CourseResult courseResult = CourseResultMapper.toEntity(courseResultDto, student, studyPlanCourse, grade);
             courseResult.setId(id); // 确保ID正确
             CourseResult savedCourseResult = courseResultRepository.save(courseResult);
+            studentProgressSummaryService.recordCredits(previousStudent, previousCredits, -1);
+            studentProgressSummaryService.recordCredits(student, savedCourseResult.getCreditsEarned(), 1);
             return CourseResultMapper.toDto(savedCourseResult);
         } else {
             throw new RuntimeException("CourseResult not found with id: " + id);
         }
     }
 
+    @Transactional
     public void deleteCourseResult(Long id) {
-        courseResultRepository.deleteById(id);
+        courseResultRepository.findById(id).ifPresent(courseResult -> {
+            courseResultRepository.delete(courseResult);
+            studentProgressSummaryService.recordCredits(courseResult.getStudent(), courseResult.getCreditsEarned(), -1);
+        });
     }
 }
\ No newline at end of file
@@ -1,22 +1,75 @@
 package com.SBS_StudentServing_System.service.academic;
 
+import com.SBS_StudentServing_System.dto.academic.AttendanceStatusRow;
 import com.SBS_StudentServing_System.dto.academic.DailyAttendanceDto;
+import com.SBS_StudentServing_System.dto.academic.RollCallDto;
+import com.SBS_StudentServing_System.dto.academic.RollCallEntryDto;
+import com.SBS_StudentServing_System.dto.academic.RollCallResultDto;
+import com.SBS_StudentServing_System.dto.common.CursorPage;
+import com.SBS_StudentServing_System.model.academic.AttendanceSummary;
 import com.SBS_StudentServing_System.model.academic.ClassSchedule;
 import com.SBS_StudentServing_System.model.academic.DailyAttendance;
 import com.SBS_StudentServing_System.model.academic.DailyAttendanceId;
 import com.SBS_StudentServing_System.model.student.Student;
 import com.SBS_StudentServing_System.repository.academic.ClassScheduleRepository;
 import com.SBS_StudentServing_System.repository.academic.DailyAttendanceRepository;
+import com.SBS_StudentServing_System.repository.academic.StudentEnrollmentRepository;
 import com.SBS_StudentServing_System.repository.student.StudentRepository;
+import com.SBS_StudentServing_System.service.common.KeysetPageRequest;
+import com.SBS_StudentServing_System.service.common.KeysetPager;
+import com.SBS_StudentServing_System.service.common.KeysetSpec;
+import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class DailyAttendanceService {
 
+    private static final KeysetSpec<DailyAttendance> PAGE_SPEC =
+            KeysetSpec.of(DailyAttendance.class, "student.studentId", "classSchedule.classScheduleId")
+                    .sortable("attendanceDate", "attendanceDate")
+                    .sortable("studentId", "student.studentId")
+                    .filterable("studentId", "student.studentId")
+                    .filterable("classScheduleId", "classSchedule.classScheduleId")
+                    .filterable("attendanceDate", "attendanceDate")
+                    .filterable("status", "status");
+
+    private static final Set<String> STATUSES = Set.of(AttendanceCounterService.PRESENT, AttendanceCounterService.ABSENT,
+            AttendanceCounterService.ABSENT_WITH_PERMISSION, AttendanceCounterService.LATE);
+
+    // One multi-row statement per JDBC batch once the driver rewrites batches (rewriteBatchedStatements=true)
+    private static final String UPSERT_SQL = """
+            INSERT INTO fact_daily_attendance
+                (student_id, class_schedule_id, attendance_date, status, check_in_time, check_out_time, note)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                attendance_date = VALUES(attendance_date), status = VALUES(status),
+                check_in_time = VALUES(check_in_time), check_out_time = VALUES(check_out_time), note = VALUES(note)
+            """;
+
+    // Current rows of one class session, read with row locks so they reflect the latest commit, not the snapshot
+    private static final String LOCK_STATUSES_SQL = """
+            SELECT student_id, status FROM fact_daily_attendance
+            WHERE class_schedule_id = ? AND student_id IN (%s)
+            FOR UPDATE
+            """;
+
     @Autowired
     private DailyAttendanceRepository dailyAttendanceRepository;
     
@@ -26,6 +79,18 @@ public class DailyAttendanceService {
     @Autowired
     private ClassScheduleRepository classScheduleRepository;
 
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private AttendanceCounterService attendanceCounterService;
+
+    @Autowired
+    private StudentEnrollmentRepository studentEnrollmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     public List<DailyAttendanceDto> getAllDailyAttendances() {
         return dailyAttendanceRepository.findAll().stream()
                 .map(entity -> {
@@ -42,6 +107,20 @@ public class DailyAttendanceService {
                 .collect(Collectors.toList());
     }
 
+    public CursorPage<DailyAttendanceDto> getDailyAttendancePage(KeysetPageRequest request) {
+        return keysetPager.page(PAGE_SPEC, request, entity -> {
+            DailyAttendanceDto dto = new DailyAttendanceDto();
+            dto.setStudentId(entity.getStudent() != null ? entity.getStudent().getStudentId() : null);
+            dto.setClassScheduleId(entity.getClassSchedule() != null ? entity.getClassSchedule().getClassScheduleId() : null);
+            dto.setAttendanceDate(entity.getAttendanceDate());
+            dto.setStatus(entity.getStatus());
+            dto.setCheckInTime(entity.getCheckInTime());
+            dto.setCheckOutTime(entity.getCheckOutTime());
+            dto.setNote(entity.getNote());
+            return dto;
+        });
+    }
+
     public List<DailyAttendanceDto> getDailyAttendanceByStudentId(String studentId) {
         return dailyAttendanceRepository.findByStudentStudentId(studentId).stream()
                 .map(entity -> {
@@ -58,6 +137,7 @@ public class DailyAttendanceService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public DailyAttendanceDto createDailyAttendance(DailyAttendanceDto dailyAttendanceDto) {
         // 获取关联的学生和课程时间表
         Student student = studentRepository.findById(dailyAttendanceDto.getStudentId())
@@ -66,6 +146,10 @@ public class DailyAttendanceService {
         ClassSchedule classSchedule = classScheduleRepository.findById(dailyAttendanceDto.getClassScheduleId())
                 .orElseThrow(() -> new RuntimeException("ClassSchedule not found with id: " + dailyAttendanceDto.getClassScheduleId()));
         
+        // save() on an existing key overwrites the row, so count it as a status change rather than a new day
+        Optional<DailyAttendance> existing = dailyAttendanceRepository.findById(new DailyAttendanceId(student, classSchedule));
+        String previousStatus = existing.map(DailyAttendance::getStatus).orElse(null);
+
         DailyAttendance dailyAttendance = DailyAttendance.builder()
                 .student(student)
                 .classSchedule(classSchedule)
@@ -77,6 +161,12 @@ public class DailyAttendanceService {
                 .build();
         
         DailyAttendance savedDailyAttendance = dailyAttendanceRepository.save(dailyAttendance);
+        if (existing.isPresent()) {
+            attendanceCounterService.recordStatusChange(student, classSchedule.getStudyPlanCourse(),
+                    previousStatus, savedDailyAttendance.getStatus());
+        } else {
+            attendanceCounterService.recordAdded(student, classSchedule.getStudyPlanCourse(), savedDailyAttendance.getStatus());
+        }
         
         DailyAttendanceDto savedDto = new DailyAttendanceDto();
         savedDto.setStudentId(savedDailyAttendance.getStudent() != null ? savedDailyAttendance.getStudent().getStudentId() : null);
@@ -90,6 +180,7 @@ public class DailyAttendanceService {
         return savedDto;
     }
 
+    @Transactional
     public DailyAttendanceDto updateDailyAttendance(String studentId, String classScheduleId, DailyAttendanceDto dailyAttendanceDto) {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new RuntimeException("Student not found with id: " + studentId));
@@ -98,8 +189,10 @@ public class DailyAttendanceService {
                 .orElseThrow(() -> new RuntimeException("ClassSchedule not found with id: " + classScheduleId));
         
         DailyAttendanceId id = new DailyAttendanceId(student, classSchedule);
+        Optional<DailyAttendance> existing = dailyAttendanceRepository.findById(id);
         
-        if (dailyAttendanceRepository.existsById(id)) {
+        if (existing.isPresent()) {
+            String previousStatus = existing.get().getStatus();
             DailyAttendance dailyAttendance = DailyAttendance.builder()
                     .student(student)
                     .classSchedule(classSchedule)
@@ -111,6 +204,8 @@ public class DailyAttendanceService {
                     .build();
             
             DailyAttendance savedDailyAttendance = dailyAttendanceRepository.save(dailyAttendance);
+            attendanceCounterService.recordStatusChange(student, classSchedule.getStudyPlanCourse(),
+                    previousStatus, savedDailyAttendance.getStatus());
             
             DailyAttendanceDto savedDto = new DailyAttendanceDto();
             savedDto.setStudentId(savedDailyAttendance.getStudent() != null ? savedDailyAttendance.getStudent().getStudentId() : null);
@@ -127,6 +222,7 @@ public class DailyAttendanceService {
         }
     }
 
+    @Transactional
     public void deleteDailyAttendance(String studentId, String classScheduleId) {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new RuntimeException("Student not found with id: " + studentId));
@@ -135,6 +231,104 @@ public class DailyAttendanceService {
                 .orElseThrow(() -> new RuntimeException("ClassSchedule not found with id: " + classScheduleId));
         
         DailyAttendanceId id = new DailyAttendanceId(student, classSchedule);
-        dailyAttendanceRepository.deleteById(id);
+        dailyAttendanceRepository.findById(id).ifPresent(dailyAttendance -> {
+            String status = dailyAttendance.getStatus();
+            dailyAttendanceRepository.delete(dailyAttendance);
+            attendanceCounterService.recordRemoved(student, classSchedule.getStudyPlanCourse(), status);
+        });
+    }
+
+    /**
+     * Records a whole class session in a fixed number of statements: the schedule is loaded once, enrollment
+     * and existing rows are each checked with one IN query, rows are upserted in JDBC batches and the
+     * attendance counters are adjusted in one locked pass. Entries for students who are not enrolled in the
+     * schedule's course, or with a missing or unknown status, are reported back instead of written. The
+     * students' counter rows are locked before their current statuses are read, so concurrent roll-calls for
+     * the same class apply their deltas one after another instead of both counting a new row.
+     */
+    @Transactional
+    public RollCallResultDto recordRollCall(RollCallDto rollCall) {
+        if (rollCall.getClassScheduleId() == null || rollCall.getEntries() == null) {
+            throw new IllegalArgumentException("classScheduleId and entries are required");
+        }
+        ClassSchedule classSchedule = classScheduleRepository.findById(rollCall.getClassScheduleId())
+                .orElseThrow(() -> new EntityNotFoundException("ClassSchedule not found with id: " + rollCall.getClassScheduleId()));
+        LocalDate attendanceDate = rollCall.getAttendanceDate() != null
+                ? rollCall.getAttendanceDate() : classSchedule.getClassDate();
+        if (attendanceDate == null) {
+            throw new IllegalArgumentException("Attendance date is required for class schedule: " + classSchedule.getClassScheduleId());
+        }
+
+        RollCallResultDto result = new RollCallResultDto();
+        result.setClassScheduleId(classSchedule.getClassScheduleId());
+        result.setAttendanceDate(attendanceDate);
+
+        // Last entry wins when a student is listed twice
+        Map<String, RollCallEntryDto> entries = new LinkedHashMap<>();
+        for (RollCallEntryDto entry : rollCall.getEntries()) {
+            if (entry == null || entry.getStudentId() == null || entry.getStudentId().isBlank()) {
+                continue;
+            }
+            if (entry.getStatus() == null) {
+                result.getRejected().put(entry.getStudentId(), "Status is required");
+                continue;
+            }
+            if (!STATUSES.contains(entry.getStatus())) {
+                result.getRejected().put(entry.getStudentId(), "Unknown status: " + entry.getStatus());
+                continue;
+            }
+            entries.put(entry.getStudentId(), entry);
+        }
+        if (entries.isEmpty()) {
+            return result;
+        }
+
+        Set<String> enrolled = studentEnrollmentRepository.findEnrolledStudentIds(
+                classSchedule.getStudyPlanCourse().getStudyPlanCourseId(), entries.keySet());
+        entries.keySet().removeIf(studentId -> {
+            if (enrolled.contains(studentId)) {
+                return false;
+            }
+            result.getRejected().put(studentId, "Not enrolled in " + classSchedule.getStudyPlanCourse().getStudyPlanCourseId());
+            return true;
+        });
+        if (entries.isEmpty()) {
+            return result;
+        }
+
+        Map<String, AttendanceSummary> summaries =
+                attendanceCounterService.lockBatch(classSchedule.getStudyPlanCourse(), entries.keySet());
+        Map<String, String> previousStatuses = new HashMap<>();
+        for (AttendanceStatusRow row : lockStatuses(classSchedule.getClassScheduleId(), entries.keySet())) {
+            previousStatuses.put(row.studentId(), row.status());
+        }
+
+        List<RollCallEntryDto> rows = new ArrayList<>(entries.values());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, rows.size(), (ps, entry) -> {
+            ps.setString(1, entry.getStudentId());
+            ps.setString(2, classSchedule.getClassScheduleId());
+            ps.setDate(3, Date.valueOf(attendanceDate));
+            ps.setString(4, entry.getStatus());
+            ps.setTime(5, entry.getCheckInTime() != null ? Time.valueOf(entry.getCheckInTime()) : null);
+            ps.setTime(6, entry.getCheckOutTime() != null ? Time.valueOf(entry.getCheckOutTime()) : null);
+            ps.setString(7, entry.getNote());
+        });
+
+        Map<String, String> newStatuses = new LinkedHashMap<>();
+        entries.forEach((studentId, entry) -> newStatuses.put(studentId, entry.getStatus()));
+        attendanceCounterService.recordBatch(summaries, previousStatuses, newStatuses);
+
+        result.setUpdated(previousStatuses.size());
+        result.setInserted(entries.size() - previousStatuses.size());
+        return result;
+    }
+
+    private List<AttendanceStatusRow> lockStatuses(String classScheduleId, Collection<String> studentIds) {
+        String sql = LOCK_STATUSES_SQL.formatted(String.join(", ", Collections.nCopies(studentIds.size(), "?")));
+        List<Object> args = new ArrayList<>(studentIds.size() + 1);
+        args.add(classScheduleId);
+        args.addAll(studentIds);
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new AttendanceStatusRow(rs.getString("student_id"),
+                rs.getString("status")), args.toArray());
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import com.SBS_StudentServing_System.dto.academic.GradeDto;
 import com.SBS_StudentServing_System.mapping.GradeMapper;
 import com.SBS_StudentServing_System.model.academic.Grade;
 import com.SBS_StudentServing_System.repository.academic.GradeRepository;
+import com.SBS_StudentServing_System.service.common.DimensionSnapshotService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -17,19 +18,23 @@ public class GradeService {
     @Autowired
     private GradeRepository gradeRepository;
 
+    @Autowired
+    private DimensionSnapshotService dimensionSnapshotService;
+
     public List<GradeDto> getAllGrades() {
-        return gradeRepository.findAll().stream()
+        return dimensionSnapshotService.grades().stream()
                 .map(GradeMapper::toDto)
                 .collect(Collectors.toList());
     }
 
     public Optional<GradeDto> getGradeById(String gradeName) {
-        return gradeRepository.findById(gradeName).map(GradeMapper::toDto);
+        return dimensionSnapshotService.grade(gradeName).map(GradeMapper::toDto);
     }
 
     public GradeDto createGrade(GradeDto gradeDto) {
         Grade grade = GradeMapper.toEntity(gradeDto);
         Grade savedGrade = gradeRepository.save(grade);
+        dimensionSnapshotService.refresh();
         return GradeMapper.toDto(savedGrade);
     }
 
@@ -37,6 +42,7 @@ public class GradeService {
         if (gradeRepository.existsById(gradeName)) {
             Grade grade = GradeMapper.toEntity(gradeDto);
             Grade savedGrade = gradeRepository.save(grade);
+            dimensionSnapshotService.refresh();
             return GradeMapper.toDto(savedGrade);
         } else {
             throw new RuntimeException("Grade not found with id: " + gradeName);
@@ -45,5 +51,6 @@ public class GradeService {
 
     public void deleteGrade(String gradeName) {
         gradeRepository.deleteById(gradeName);
+        dimensionSnapshotService.refresh();
     }
 }
\ No newline at end of file
@@ -6,7 +6,9 @@ import com.SBS_StudentServing_System.model.academic.*;
 import com.SBS_StudentServing_System.model.lecturer.Lecturer;
 import com.SBS_StudentServing_System.repository.academic.*;
 import com.SBS_StudentServing_System.repository.lecturer.LecturerRepository;
+import com.SBS_StudentServing_System.service.common.DimensionSnapshotService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,20 +20,23 @@ public class LecturerCourseService {
     private final LecturerCourseRepository lecturerCourseRepository;
     private final LecturerRepository lecturerRepository;
     private final StudyPlanCourseRepository studyPlanCourseRepository;
-    private final SemesterRepository semesterRepository;
+    private final DimensionSnapshotService dimensionSnapshotService;
     private final ClassScheduleRepository classScheduleRepository;
+    private final ClassTimelineCache classTimelineCache;
 
     public LecturerCourseService(
             LecturerCourseRepository lecturerCourseRepository,
             LecturerRepository lecturerRepository,
             StudyPlanCourseRepository studyPlanCourseRepository,
-            SemesterRepository semesterRepository,
-            ClassScheduleRepository classScheduleRepository) {
+            DimensionSnapshotService dimensionSnapshotService,
+            ClassScheduleRepository classScheduleRepository,
+            ClassTimelineCache classTimelineCache) {
         this.lecturerCourseRepository = lecturerCourseRepository;
         this.lecturerRepository = lecturerRepository;
         this.studyPlanCourseRepository = studyPlanCourseRepository;
-        this.semesterRepository = semesterRepository;
+        this.dimensionSnapshotService = dimensionSnapshotService;
         this.classScheduleRepository = classScheduleRepository;
+        this.classTimelineCache = classTimelineCache;
     }
 
     public List<LecturerCourseDto> getAllLecturerCourses() {
@@ -45,34 +50,46 @@ public class LecturerCourseService {
         return lecturerCourseOpt.map(LecturerCourseMapper::toDto).orElse(null);
     }
 
+    @Transactional
     public LecturerCourseDto createLecturerCourse(LecturerCourseDto dto) {
         LecturerCourse entity = convertToEntity(dto);
         LecturerCourse savedEntity = lecturerCourseRepository.save(entity);
+        classTimelineCache.evictStudyPlanCourse(studyPlanCourseId(savedEntity));
         return LecturerCourseMapper.toDto(savedEntity);
     }
 
+    @Transactional
     public LecturerCourseDto updateLecturerCourse(Long id, LecturerCourseDto dto) {
         Optional<LecturerCourse> lecturerCourseOpt = lecturerCourseRepository.findById(id);
         if (lecturerCourseOpt.isEmpty()) {
             return null;
         }
 
+        // Students of both the old and the new study-plan course see the lecturer/schedule change
+        classTimelineCache.evictStudyPlanCourse(studyPlanCourseId(lecturerCourseOpt.get()));
         LecturerCourse entity = convertToEntity(dto);
         entity.setId(id); // Ensure we're updating the correct entity
         LecturerCourse updatedEntity = lecturerCourseRepository.save(entity);
+        classTimelineCache.evictStudyPlanCourse(studyPlanCourseId(updatedEntity));
         return LecturerCourseMapper.toDto(updatedEntity);
     }
 
+    @Transactional
     public boolean deleteLecturerCourse(Long id) {
         Optional<LecturerCourse> lecturerCourseOpt = lecturerCourseRepository.findById(id);
         if (lecturerCourseOpt.isEmpty()) {
             return false;
         }
 
+        classTimelineCache.evictStudyPlanCourse(studyPlanCourseId(lecturerCourseOpt.get()));
         lecturerCourseRepository.delete(lecturerCourseOpt.get());
         return true;
     }
 
+    private static String studyPlanCourseId(LecturerCourse lecturerCourse) {
+        return lecturerCourse.getStudyPlanCourse() != null ? lecturerCourse.getStudyPlanCourse().getStudyPlanCourseId() : null;
+    }
+
     private LecturerCourse convertToEntity(LecturerCourseDto dto) {
         Lecturer lecturer = null;
         if (dto.getLecturerId() != null && !dto.getLecturerId().isEmpty()) {
@@ -92,7 +109,7 @@ public class LecturerCourseService {
 
         Semester semester = null;
         if (dto.getSemesterId() != null && !dto.getSemesterId().isEmpty()) {
-            Optional<Semester> semesterOpt = semesterRepository.findById(dto.getSemesterId());
+            Optional<Semester> semesterOpt = dimensionSnapshotService.semester(dto.getSemesterId());
             if (semesterOpt.isPresent()) {
                 semester = semesterOpt.get();
             }
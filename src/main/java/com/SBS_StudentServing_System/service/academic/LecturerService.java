@@ -4,8 +4,8 @@ import com.SBS_StudentServing_System.dto.academic.LecturerCreateDto;
 import com.SBS_StudentServing_System.dto.academic.LecturerDto;
 import com.SBS_StudentServing_System.model.academic.Department;
 import com.SBS_StudentServing_System.model.lecturer.Lecturer;
-import com.SBS_StudentServing_System.repository.academic.DepartmentRepository;
 import com.SBS_StudentServing_System.repository.lecturer.LecturerRepository;
+import com.SBS_StudentServing_System.service.common.DimensionSnapshotService;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,11 +16,14 @@ import java.util.stream.Collectors;
 public class LecturerService {
 
     private final LecturerRepository lecturerRepository;
-    private final DepartmentRepository departmentRepository;
+    private final DimensionSnapshotService dimensionSnapshotService;
+    private final ClassTimelineCache classTimelineCache;
 
-    public LecturerService(LecturerRepository lecturerRepository, DepartmentRepository departmentRepository) {
+    public LecturerService(LecturerRepository lecturerRepository, DimensionSnapshotService dimensionSnapshotService,
+                           ClassTimelineCache classTimelineCache) {
         this.lecturerRepository = lecturerRepository;
-        this.departmentRepository = departmentRepository;
+        this.dimensionSnapshotService = dimensionSnapshotService;
+        this.classTimelineCache = classTimelineCache;
     }
 
     public List<LecturerDto> getAllLecturers() {
@@ -36,7 +39,7 @@ public class LecturerService {
 
     public LecturerDto createLecturer(LecturerCreateDto dto) {
         // Check if department exists
-        Optional<Department> departmentOpt = departmentRepository.findById(dto.getDepartmentId());
+        Optional<Department> departmentOpt = dimensionSnapshotService.department(dto.getDepartmentId());
         if (departmentOpt.isEmpty()) {
             throw new RuntimeException("Department not found with ID: " + dto.getDepartmentId());
         }
@@ -70,7 +73,7 @@ public class LecturerService {
 
         // Update department if provided
         if (dto.getDepartmentId() != null && !dto.getDepartmentId().isEmpty()) {
-            Optional<Department> departmentOpt = departmentRepository.findById(dto.getDepartmentId());
+            Optional<Department> departmentOpt = dimensionSnapshotService.department(dto.getDepartmentId());
             if (departmentOpt.isPresent()) {
                 lecturer.setDepartment(departmentOpt.get());
             } else {
@@ -79,6 +82,9 @@ public class LecturerService {
         }
 
         Lecturer updatedLecturer = lecturerRepository.save(lecturer);
+        // Course snapshot entries and class timelines embed the lecturer
+        dimensionSnapshotService.refresh();
+        classTimelineCache.evictAll();
         return toDto(updatedLecturer);
     }
 
@@ -89,6 +95,8 @@ public class LecturerService {
         }
 
         lecturerRepository.delete(lecturerOpt.get());
+        dimensionSnapshotService.refresh();
+        classTimelineCache.evictAll();
         return true;
     }
 
@@ -6,8 +6,10 @@ import com.SBS_StudentServing_System.model.academic.StudentAcademicBackground;
 import com.SBS_StudentServing_System.model.student.Student;
 import com.SBS_StudentServing_System.repository.academic.StudentAcademicBackgroundRepository;
 import com.SBS_StudentServing_System.repository.student.StudentRepository;
+import com.SBS_StudentServing_System.service.upload.ContentBlobStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,6 +24,9 @@ public class StudentAcademicBackgroundService {
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private ContentBlobStore contentBlobStore;
+
     public List<StudentAcademicBackgroundDto> getAllStudentAcademicBackgroundsWithDto() {
   List<StudentAcademicBackground> backgrounds = studentAcademicBackgroundRepository.findAll();
         return backgrounds.stream()
@@ -34,17 +39,20 @@ public class StudentAcademicBackgroundService {
         return background.map(StudentAcademicBackgroundMapper::toDto).orElse(null);
     }
 
+    @Transactional
     public StudentAcademicBackgroundDto createStudentAcademicBackground(StudentAcademicBackgroundDto backgroundDto) {
         // Check if student exists
         Optional<Student> student = studentRepository.findById(backgroundDto.getStudentId());
         if (student.isPresent()) {
             StudentAcademicBackground background = StudentAcademicBackgroundMapper.toEntity(backgroundDto, student.get());
             StudentAcademicBackground savedBackground = studentAcademicBackgroundRepository.save(background);
+            contentBlobStore.retain(savedBackground.getDocumentUrl());
             return StudentAcademicBackgroundMapper.toDto(savedBackground);
         }
         return null;
     }
 
+    @Transactional
     public StudentAcademicBackgroundDto updateStudentAcademicBackground(String id, StudentAcademicBackgroundDto backgroundDto) {
         System.out.println("Update request received for ID: '" + id + "'");
 
@@ -62,9 +70,11 @@ public class StudentAcademicBackgroundService {
             // Ensure studentId is set in DTO for mapping
             backgroundDto.setStudentId(student.getStudentId());
             
+            String previousDocumentUrl = existingBackground.get().getDocumentUrl();
             StudentAcademicBackground background = StudentAcademicBackgroundMapper.toEntity(backgroundDto, student);
             background.setBackgroundId(trimmedId); // Ensure we keep the same ID for updates
             StudentAcademicBackground updatedBackground = studentAcademicBackgroundRepository.save(background);
+            contentBlobStore.replace(previousDocumentUrl, updatedBackground.getDocumentUrl());
             return StudentAcademicBackgroundMapper.toDto(updatedBackground);
         } else {
             System.out.println("No existing background found with trimmed ID: '" + trimmedId + "'");
@@ -79,9 +89,11 @@ public class StudentAcademicBackgroundService {
                 // Ensure studentId is set in DTO for mapping
                 backgroundDto.setStudentId(student.getStudentId());
                 
+                String previousDocumentUrl = existingBackground.get().getDocumentUrl();
                 StudentAcademicBackground background = StudentAcademicBackgroundMapper.toEntity(backgroundDto, student);
                 background.setBackgroundId(id); // Ensure we keep the same ID for updates
                 StudentAcademicBackground updatedBackground = studentAcademicBackgroundRepository.save(background);
+                contentBlobStore.replace(previousDocumentUrl, updatedBackground.getDocumentUrl());
                 return StudentAcademicBackgroundMapper.toDto(updatedBackground);
             } else {
                 System.out.println("No existing background found with original ID: '" + id + "'");
@@ -90,9 +102,12 @@ public class StudentAcademicBackgroundService {
         return null; // Return null if the background doesn't exist instead of creating a new one
     }
 
-public boolean deleteStudentAcademicBackground(String id) {
-        if (studentAcademicBackgroundRepository.existsById(id)) {
-            studentAcademicBackgroundRepository.deleteById(id);
+    @Transactional
+    public boolean deleteStudentAcademicBackground(String id) {
+        Optional<StudentAcademicBackground> background = studentAcademicBackgroundRepository.findById(id);
+        if (background.isPresent()) {
+            studentAcademicBackgroundRepository.delete(background.get());
+            contentBlobStore.release(background.get().getDocumentUrl());
             return true;
         }
         return false;
@@ -10,6 +10,7 @@ import com.SBS_StudentServing_System.repository.academic.StudyPlanCourseReposito
 import com.SBS_StudentServing_System.repository.student.StudentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -27,6 +28,12 @@ public class StudentEnrollmentService {
     @Autowired
     private StudyPlanCourseRepository studyPlanCourseRepository;
 
+    @Autowired
+    private StudentProgressSummaryService studentProgressSummaryService;
+
+    @Autowired
+    private ClassTimelineCache classTimelineCache;
+
     public List<StudentEnrollmentDto> getAllStudentEnrollments() {
         return studentEnrollmentRepository.findAll().stream()
                 .map(StudentEnrollmentMapper::toDto)
@@ -37,6 +44,7 @@ public class StudentEnrollmentService {
         return studentEnrollmentRepository.findById(id).map(StudentEnrollmentMapper::toDto);
     }
 
+    @Transactional
     public StudentEnrollmentDto createStudentEnrollment(StudentEnrollmentDto studentEnrollmentDto) {
         // 获取关联的学生和学习计划课程
         Student student = studentRepository.findById(studentEnrollmentDto.getStudentId())
@@ -47,11 +55,18 @@ public class StudentEnrollmentService {
         
         StudentEnrollment studentEnrollment = StudentEnrollmentMapper.toEntity(studentEnrollmentDto, student, studyPlanCourse);
         StudentEnrollment savedStudentEnrollment = studentEnrollmentRepository.save(studentEnrollment);
+        studentProgressSummaryService.recordEnrollment(student, savedStudentEnrollment.getCompletionStatus(), 1);
+        classTimelineCache.evictStudent(student.getStudentId());
         return StudentEnrollmentMapper.toDto(savedStudentEnrollment);
     }
 
+    @Transactional
     public StudentEnrollmentDto updateStudentEnrollment(Long id, StudentEnrollmentDto studentEnrollmentDto) {
-        if (studentEnrollmentRepository.existsById(id)) {
+        Optional<StudentEnrollment> existing = studentEnrollmentRepository.findById(id);
+        if (existing.isPresent()) {
+            Student previousStudent = existing.get().getStudent();
+            String previousCompletionStatus = existing.get().getCompletionStatus();
+
             // 获取关联的学生和学习计划课程
             Student student = studentRepository.findById(studentEnrollmentDto.getStudentId())
                     .orElseThrow(() -> new RuntimeException("Student not found with id: " + studentEnrollmentDto.getStudentId()));
@@ -62,13 +77,23 @@ public class StudentEnrollmentService {
             StudentEnrollment studentEnrollment = StudentEnrollmentMapper.toEntity(studentEnrollmentDto, student, studyPlanCourse);
             studentEnrollment.setId(id); // 确保ID正确
             StudentEnrollment savedStudentEnrollment = studentEnrollmentRepository.save(studentEnrollment);
+            studentProgressSummaryService.recordEnrollment(previousStudent, previousCompletionStatus, -1);
+            studentProgressSummaryService.recordEnrollment(student, savedStudentEnrollment.getCompletionStatus(), 1);
+            classTimelineCache.evictStudent(previousStudent.getStudentId());
+            classTimelineCache.evictStudent(student.getStudentId());
             return StudentEnrollmentMapper.toDto(savedStudentEnrollment);
         } else {
             throw new RuntimeException("StudentEnrollment not found with id: " + id);
         }
     }
 
+    @Transactional
     public void deleteStudentEnrollment(Long id) {
-        studentEnrollmentRepository.deleteById(id);
+        studentEnrollmentRepository.findById(id).ifPresent(studentEnrollment -> {
+            studentEnrollmentRepository.delete(studentEnrollment);
+            studentProgressSummaryService.recordEnrollment(studentEnrollment.getStudent(),
+                    studentEnrollment.getCompletionStatus(), -1);
+            classTimelineCache.evictStudent(studentEnrollment.getStudent().getStudentId());
+        });
     }
 }
\ No newline at end of file
@@ -1,25 +1,75 @@
 package com.SBS_StudentServing_System.service.academic;
 
+import com.SBS_StudentServing_System.dto.academic.StudentProgressCounts;
+import com.SBS_StudentServing_System.dto.academic.StudentProgressDrift;
 import com.SBS_StudentServing_System.dto.academic.StudentProgressSummaryDto;
 import com.SBS_StudentServing_System.mapping.StudentProgressSummaryMapper;
 import com.SBS_StudentServing_System.model.academic.StudentProgressSummary;
 import com.SBS_StudentServing_System.model.student.Student;
+import com.SBS_StudentServing_System.repository.academic.CourseResultRepository;
+import com.SBS_StudentServing_System.repository.academic.StudentEnrollmentRepository;
 import com.SBS_StudentServing_System.repository.academic.StudentProgressSummaryRepository;
 import com.SBS_StudentServing_System.repository.student.StudentRepository;
 import jakarta.persistence.EntityNotFoundException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class StudentProgressSummaryService {
+    public static final String COMPLETED = "Completed";
+
     private final StudentProgressSummaryRepository studentProgressSummaryRepository;
     private final StudentRepository studentRepository;
+    private final StudentEnrollmentRepository studentEnrollmentRepository;
+    private final CourseResultRepository courseResultRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /*
+     * One summary row built from the enrollment and result facts this transaction sees, its own writes included.
+     * INSERT IGNORE rather than ON DUPLICATE KEY: the driver reports found rows, so only IGNORE tells an insert
+     * (1) from a row another writer created first (0).
+     */
+    private static final String SEED_SQL = """
+            INSERT IGNORE INTO fact_student_progress_summary
+                (student_id, study_plan_id, total_enrolled_course, total_completed_course, total_credits_earned)
+            SELECT s.student_id, COALESCE(s.study_plan_id, ''),
+                (SELECT COUNT(*) FROM fact_studentenrollment se WHERE se.student_id = s.student_id),
+                (SELECT COUNT(*) FROM fact_studentenrollment se
+                    WHERE se.student_id = s.student_id AND se.completion_status = 'Completed'),
+                (SELECT COALESCE(SUM(cr.credits_earned), 0) FROM fact_course_result cr WHERE cr.student_id = s.student_id)
+            FROM dim_student s
+            WHERE s.student_id = ?
+            """;
+
+    public StudentProgressSummaryService(StudentProgressSummaryRepository studentProgressSummaryRepository,
+                                         StudentRepository studentRepository,
+                                         StudentEnrollmentRepository studentEnrollmentRepository,
+                                         CourseResultRepository courseResultRepository,
+                                         JdbcTemplate jdbcTemplate) {
+        this.studentProgressSummaryRepository = studentProgressSummaryRepository;
+        this.studentRepository = studentRepository;
+        this.studentEnrollmentRepository = studentEnrollmentRepository;
+        this.courseResultRepository = courseResultRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
 
     public List<StudentProgressSummaryDto> getAllStudentProgressSummaries() {
         List<StudentProgressSummary> summaries = studentProgressSummaryRepository.findAll();
@@ -112,4 +162,170 @@ public class StudentProgressSummaryService {
                 .orElseThrow(() -> new EntityNotFoundException("StudentProgressSummary not found with id: " + id));
         studentProgressSummaryRepository.delete(studentProgressSummary);
     }
-}
\ No newline at end of file
+
+    public Optional<StudentProgressSummaryDto> getByStudentId(String studentId) {
+        return studentProgressSummaryRepository.findOneByStudentId(studentId).map(this::convertToDtoSafely);
+    }
+
+    public Optional<Integer> getCreditsEarned(String studentId) {
+        return studentProgressSummaryRepository.findCreditsByStudentId(studentId);
+    }
+
+    // --- Incremental maintenance, called inside the transaction that writes the fact row ---
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordEnrollment(Student student, String completionStatus, int delta) {
+        StudentProgressSummary summary = lockOrSeed(student);
+        if (summary == null) {
+            return;
+        }
+        summary.setTotalEnrolledCourse(Math.max(summary.getTotalEnrolledCourse() + delta, 0));
+        if (COMPLETED.equals(completionStatus)) {
+            summary.setTotalCompletedCourse(Math.max(summary.getTotalCompletedCourse() + delta, 0));
+        }
+        studentProgressSummaryRepository.save(summary);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCredits(Student student, Integer creditsEarned, int sign) {
+        if (creditsEarned == null || creditsEarned == 0) {
+            return;
+        }
+        StudentProgressSummary summary = lockOrSeed(student);
+        if (summary == null) {
+            return;
+        }
+        summary.setTotalCreditsEarned(Math.max(summary.getTotalCreditsEarned() + sign * creditsEarned, 0));
+        studentProgressSummaryRepository.save(summary);
+    }
+
+    // The locked summary row, or null when it was just seeded and so already includes the caller's write
+    private StudentProgressSummary lockOrSeed(Student student) {
+        String studentId = student.getStudentId();
+        if (!studentProgressSummaryRepository.existsByStudentStudentId(studentId) && seed(studentId)) {
+            return null;
+        }
+        return studentProgressSummaryRepository.findForUpdate(studentId)
+                .orElseThrow(() -> new IllegalStateException("No progress summary for student " + studentId));
+    }
+
+    /**
+     * Creates a missing summary row from the enrollment and result facts in the caller's transaction, pending
+     * writes flushed first so the row counts them; the SUM fallback it replaces is never undercut by a row
+     * starting at 0. Returns false when another writer created the row first; its counts stop short of the
+     * caller's write, so the caller locks it and applies the delta as for any other row.
+     */
+    private boolean seed(String studentId) {
+        entityManager.flush();
+        return jdbcTemplate.update(SEED_SQL, studentId) > 0;
+    }
+
+    // --- Backfill and consistency checks ---
+
+    /**
+     * Recomputes every student's summary from the enrollment and course-result facts in two grouped queries.
+     * Duplicate summary rows left over from manual CRUD are removed so the unique key on student_id can be applied.
+     */
+    @Transactional
+    public int rebuildAll() {
+        Map<String, StudentProgressCounts> expected = expectedCounts();
+        Map<String, StudentProgressSummary> byStudent = new HashMap<>();
+        int written = 0;
+
+        for (StudentProgressSummary summary : studentProgressSummaryRepository.findAll()) {
+            String studentId = summary.getStudent().getStudentId();
+            if (byStudent.putIfAbsent(studentId, summary) != null) {
+                studentProgressSummaryRepository.delete(summary);
+                written++;
+                continue;
+            }
+            if (!matches(summary, expected.get(studentId))) {
+                overwrite(summary, expected.get(studentId));
+                written++;
+            }
+        }
+
+        for (StudentProgressCounts counts : expected.values()) {
+            if (byStudent.containsKey(counts.studentId())) {
+                continue;
+            }
+            Student student = studentRepository.getReferenceById(counts.studentId());
+            StudentProgressSummary summary = new StudentProgressSummary();
+            summary.setStudent(student);
+            summary.setStudyPlanId(student.getStudyPlanId() != null ? student.getStudyPlanId() : "");
+            overwrite(summary, counts);
+            studentProgressSummaryRepository.save(summary);
+            written++;
+        }
+
+        log.info("Rebuilt student progress summaries, {} rows written", written);
+        return written;
+    }
+
+    @Transactional(readOnly = true)
+    public List<StudentProgressDrift> findDrift() {
+        Map<String, StudentProgressCounts> expected = expectedCounts();
+        List<StudentProgressDrift> drift = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+
+        for (StudentProgressSummary summary : studentProgressSummaryRepository.findAll()) {
+            String studentId = summary.getStudent().getStudentId();
+            StudentProgressCounts counts = expected.get(studentId);
+            if (!seen.add(studentId) || !matches(summary, counts)) {
+                drift.add(new StudentProgressDrift(studentId, counts, toCounts(summary)));
+            }
+        }
+        for (StudentProgressCounts counts : expected.values()) {
+            if (!seen.contains(counts.studentId())) {
+                drift.add(new StudentProgressDrift(counts.studentId(), counts, null));
+            }
+        }
+        return drift;
+    }
+
+    @Scheduled(cron = "${app.progress.drift-check-cron:0 0 4 * * *}")
+    public void reportDrift() {
+        List<StudentProgressDrift> drift = findDrift();
+        if (!drift.isEmpty()) {
+            log.warn("Student progress summaries drifted from facts for {} students, e.g. {}", drift.size(), drift.get(0));
+        }
+    }
+
+    private Map<String, StudentProgressCounts> expectedCounts() {
+        Map<String, StudentProgressCounts> expected = new HashMap<>();
+        for (StudentProgressCounts counts : studentEnrollmentRepository.countEnrollmentsPerStudent()) {
+            expected.put(counts.studentId(), counts);
+        }
+        for (StudentProgressCounts credits : courseResultRepository.sumCreditsPerStudent()) {
+            StudentProgressCounts enrollments = expected.get(credits.studentId());
+            expected.put(credits.studentId(), new StudentProgressCounts(credits.studentId(),
+                    enrollments != null ? enrollments.totalEnrolledCourse() : 0L,
+                    enrollments != null ? enrollments.totalCompletedCourse() : 0L,
+                    credits.totalCreditsEarned()));
+        }
+        return expected;
+    }
+
+    private static boolean matches(StudentProgressSummary summary, StudentProgressCounts counts) {
+        StudentProgressCounts stored = toCounts(summary);
+        long enrolled = counts != null ? counts.totalEnrolledCourse() : 0L;
+        long completed = counts != null ? counts.totalCompletedCourse() : 0L;
+        long credits = counts != null ? counts.totalCreditsEarned() : 0L;
+        return stored.totalEnrolledCourse() == enrolled
+                && stored.totalCompletedCourse() == completed
+                && stored.totalCreditsEarned() == credits;
+    }
+
+    private static void overwrite(StudentProgressSummary summary, StudentProgressCounts counts) {
+        summary.setTotalEnrolledCourse(counts != null ? counts.totalEnrolledCourse().intValue() : 0);
+        summary.setTotalCompletedCourse(counts != null ? counts.totalCompletedCourse().intValue() : 0);
+        summary.setTotalCreditsEarned(counts != null ? counts.totalCreditsEarned().intValue() : 0);
+    }
+
+    private static StudentProgressCounts toCounts(StudentProgressSummary summary) {
+        return new StudentProgressCounts(summary.getStudent().getStudentId(),
+                (long) summary.getTotalEnrolledCourse(),
+                (long) summary.getTotalCompletedCourse(),
+                (long) summary.getTotalCreditsEarned());
+    }
+}
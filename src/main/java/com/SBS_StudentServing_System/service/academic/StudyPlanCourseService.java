@@ -16,6 +16,9 @@ public class StudyPlanCourseService {
     @Autowired
     private StudyPlanCourseRepository studyPlanCourseRepository;
 
+    @Autowired
+    private ClassTimelineCache classTimelineCache;
+
     public List<StudyPlanCourseDto> getAllStudyPlanCourses() {
         return studyPlanCourseRepository.findAll().stream()
                 .map(this::toDto)
@@ -45,6 +48,7 @@ public class StudyPlanCourseService {
             studyPlanCourse.setAssignmentDeadline(dto.getAssignmentDeadline());
             
             StudyPlanCourse saved = studyPlanCourseRepository.save(studyPlanCourse);
+            classTimelineCache.evictStudyPlanCourse(id);
             return toDto(saved);
         }
         return null;
@@ -52,6 +56,7 @@ public class StudyPlanCourseService {
 
     public boolean deleteStudyPlanCourse(String id) {
         if (studyPlanCourseRepository.existsById(id)) {
+            classTimelineCache.evictStudyPlanCourse(id);
             studyPlanCourseRepository.deleteById(id);
             return true;
         }
@@ -1,21 +1,32 @@
 package com.SBS_StudentServing_System.service.academic;
 
+import com.SBS_StudentServing_System.dto.common.CursorPage;
 import com.SBS_StudentServing_System.model.academic.TranscriptIssueRequest;
 import com.SBS_StudentServing_System.model.academic.TranscriptRequest;
 import com.SBS_StudentServing_System.model.student.Student;
 import com.SBS_StudentServing_System.repository.academic.TranscriptRequestRepository;
 import com.SBS_StudentServing_System.repository.academic.Transcript_Issue_Repository;
 import com.SBS_StudentServing_System.repository.student.StudentRepository;
+import com.SBS_StudentServing_System.service.common.KeysetPageRequest;
+import com.SBS_StudentServing_System.service.common.KeysetPager;
+import com.SBS_StudentServing_System.service.common.KeysetSpec;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Service
 public class TranscriptRequestService {
 
+    private static final KeysetSpec<TranscriptIssueRequest> PAGE_SPEC = KeysetSpec.of(TranscriptIssueRequest.class, "id")
+            .sortable("id", "id")
+            .sortable("issuedDate", "issuedDate")
+            .filterable("studentId", "student.studentId")
+            .filterable("requestStatus", "requestStatus");
+
     @Autowired
     private TranscriptRequestRepository transcriptRequestRepository;
 
@@ -25,6 +36,9 @@ public class TranscriptRequestService {
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private KeysetPager keysetPager;
+
     public TranscriptIssueRequest createTranscriptRequest(String studentId, Integer transcriptType, String optionalMessage) {
         // Create transcript request
         TranscriptRequest transcriptRequest = TranscriptRequest.builder()
@@ -54,6 +68,10 @@ public class TranscriptRequestService {
         return transcriptIssueRepository.findAll();
     }
 
+    public CursorPage<TranscriptIssueRequest> getTranscriptRequestPage(KeysetPageRequest request) {
+        return keysetPager.page(PAGE_SPEC, request, Function.identity());
+    }
+
     public TranscriptIssueRequest updateTranscriptRequestStatus(Long requestId, String status, String adminId) {
         TranscriptIssueRequest request = transcriptIssueRepository.findById(requestId)
                 .orElseThrow(() -> new RuntimeException("Transcript request not found with ID: " + requestId));
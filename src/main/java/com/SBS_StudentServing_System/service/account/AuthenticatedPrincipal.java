@@ -0,0 +1,9 @@
+package com.SBS_StudentServing_System.service.account;
+
+// Role resolved for an account, with the id of the owning student or admin row.
+// role is null when the account belongs to neither.
+public record AuthenticatedPrincipal(String accountId, String role, String ownerId) {
+
+    public static final String ROLE_STUDENT = "ROLE_STUDENT";
+    public static final String ROLE_ADMIN = "ROLE_ADMIN";
+}
@@ -1,10 +1,5 @@
 package com.SBS_StudentServing_System.service.account;
 
-import com.SBS_StudentServing_System.model.account.LoginAccount;
-import com.SBS_StudentServing_System.model.student.Student;
-import com.SBS_StudentServing_System.model.admin.Admin;
-import com.SBS_StudentServing_System.repository.student.StudentRepository;
-import com.SBS_StudentServing_System.repository.admin.AdminRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -28,8 +23,7 @@ import java.util.List;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final StudentRepository studentRepository;
-    private final AdminRepository adminRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -49,28 +43,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             token = authHeader.substring(7);
-            if (jwtUtil.validateToken(token)) {
-                accountId = jwtUtil.extractAccountId(token);
-                String role = jwtUtil.extractRole(token);
+            JwtClaims claims = jwtUtil.verifyToken(token);
+            if (claims != null) {
+                accountId = claims.accountId();
+                String role = claims.role();
                 
                 log.info("Token validated for account ID: {} with role: {}", accountId, role);
 
                 if (SecurityContextHolder.getContext().getAuthentication() == null) {
-                    // Check if it's a student or admin account
-                    Student student = studentRepository.findByLoginAccount_AccountId(accountId).orElse(null);
-                    Admin admin = adminRepository.findByLoginAccount_AccountId(accountId);
-                    
-                    log.info("Found student: {}, admin: {}", student != null, admin != null);
-                    
+                    // Resolve student/admin role from the principal cache (no queries on a warm path)
+                    AuthenticatedPrincipal principal = principalCache.resolve(accountId);
+
                     List<SimpleGrantedAuthority> authorities = new ArrayList<>();
-                    
-                    if (student != null) {
-                        authorities.add(new SimpleGrantedAuthority("ROLE_STUDENT"));
-                        log.info("Setting ROLE_STUDENT for account: {}", accountId);
-                    } else if (admin != null) {
-                        authorities.add(new SimpleGrantedAuthority("ROLE_ADMIN"));
-                        log.info("Setting ROLE_ADMIN for account: {}", accountId);
+                    if (principal.role() != null) {
+                        authorities.add(new SimpleGrantedAuthority(principal.role()));
                     }
+                    log.debug("Resolved {} for account: {}", principal.role(), accountId);
 
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(
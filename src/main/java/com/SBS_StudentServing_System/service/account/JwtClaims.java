@@ -0,0 +1,7 @@
+package com.SBS_StudentServing_System.service.account;
+
+import java.util.Date;
+
+// Result of a single verified parse of a JWT
+public record JwtClaims(String accountId, String role, Date expiration) {
+}
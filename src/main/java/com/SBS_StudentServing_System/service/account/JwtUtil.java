@@ -2,10 +2,11 @@ package com.SBS_StudentServing_System.service.account;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
+import javax.crypto.SecretKey;
 import java.util.Date;
 
 @Component
@@ -16,8 +17,20 @@ public class JwtUtil {
     @Value("${jwt.expiration:86400000}")
     private long EXPIRATION;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET.getBytes());
+    private final VerifiedTokenCache tokenCache;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    public JwtUtil(VerifiedTokenCache tokenCache) {
+        this.tokenCache = tokenCache;
+    }
+
+    @PostConstruct
+    void init() {
+        // Key and parser are immutable and thread-safe, build them once
+        signingKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+        parser = Jwts.parser().verifyWith(signingKey).build();
     }
 
     public String generateToken(String accountId, String role) {
@@ -26,34 +39,50 @@ public class JwtUtil {
                 .claim("role", role)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    // Verifies the signature once and returns the claims, or null when the token is invalid.
+    // Recently verified tokens are served from the cache without any crypto.
+    public JwtClaims verifyToken(String token) {
+        JwtClaims cached = tokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        JwtClaims claims = parseToken(token);
+        if (claims != null) {
+            tokenCache.put(token, claims);
+        }
+        return claims;
+    }
+
+    public JwtClaims parseToken(String token) {
+        try {
+            Claims body = parser.parseSignedClaims(token).getPayload();
+            return new JwtClaims(body.getSubject(), body.get("role", String.class), body.getExpiration());
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     public String extractAccountId(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        JwtClaims claims = verifyToken(token);
+        if (claims == null) {
+            throw new JwtException("Invalid token");
+        }
+        return claims.accountId();
     }
 
     public String extractRole(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .get("role", String.class);
+        JwtClaims claims = verifyToken(token);
+        if (claims == null) {
+            throw new JwtException("Invalid token");
+        }
+        return claims.role();
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser().setSigningKey(getSigningKey()).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException e) {
-            return false;
-        }
+        return verifyToken(token) != null;
     }
 }
@@ -0,0 +1,114 @@
+package com.SBS_StudentServing_System.service.account;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Coalesces last-login timestamps per account and writes them to dim_login_account in periodic JDBC batches
+@Component
+@Slf4j
+public class LastLoginWriteBehindBuffer {
+
+    private static final String UPDATE_SQL =
+            "UPDATE dim_login_account SET last_login_at = ?, updated_at = ? WHERE account_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxBufferSize;
+
+    private final Map<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+
+    private final Counter recordedCounter;
+    private final Counter coalescedCounter;
+    private final Counter writtenCounter;
+
+    public LastLoginWriteBehindBuffer(JdbcTemplate jdbcTemplate,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${auth.last-login.max-buffer-size:5000}") int maxBufferSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxBufferSize = maxBufferSize;
+
+        this.recordedCounter = Counter.builder("auth.last-login.recorded").register(meterRegistry);
+        this.coalescedCounter = Counter.builder("auth.last-login.coalesced")
+                .description("Last-login updates merged into an already pending row")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("auth.last-login.written")
+                .description("Rows written by batch flushes")
+                .register(meterRegistry);
+        Gauge.builder("auth.last-login.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    public void record(String accountId, LocalDateTime loginAt) {
+        recordedCounter.increment();
+        // compute() runs atomically per key, so "was already pending" is decided under the same lock as the write
+        boolean[] coalesced = new boolean[1];
+        pending.compute(accountId, (id, previous) -> {
+            if (previous == null) {
+                return loginAt;
+            }
+            coalesced[0] = true;
+            return previous.isAfter(loginAt) ? previous : loginAt;
+        });
+        if (coalesced[0]) {
+            coalescedCounter.increment();
+        }
+        if (pending.size() >= maxBufferSize) {
+            flush();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.last-login.flush-interval-ms:5000}")
+    public void flush() {
+        synchronized (flushLock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<String> accountIds = new ArrayList<>(pending.keySet());
+            List<Object[]> batch = new ArrayList<>(accountIds.size());
+            Map<String, LocalDateTime> drained = new HashMap<>();
+            for (String accountId : accountIds) {
+                LocalDateTime loginAt = pending.remove(accountId);
+                if (loginAt != null) {
+                    drained.put(accountId, loginAt);
+                    Timestamp ts = Timestamp.valueOf(loginAt);
+                    batch.add(new Object[]{ts, ts, accountId});
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            try {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+                writtenCounter.increment(batch.size());
+            } catch (RuntimeException e) {
+                // Put the timestamps back so the next flush retries them; newer logins win
+                drained.forEach((id, at) -> pending.merge(id, at, (a, b) -> a.isAfter(b) ? a : b));
+                log.warn("Failed to flush {} last-login updates, will retry: {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+
+    public LocalDateTime pendingLastLogin(String accountId) {
+        return pending.get(accountId);
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+}
@@ -19,13 +19,19 @@ public class LoginAccountService {
     private final StudentRepository studentRepository;
     private final LoginAccountRepository accountRepository;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final LastLoginWriteBehindBuffer lastLoginBuffer;
 
     public LoginAccountService(StudentRepository studentRepository, 
                               LoginAccountRepository accountRepository,
-                              BCryptPasswordEncoder passwordEncoder) {
+                              BCryptPasswordEncoder passwordEncoder,
+                              PrincipalCache principalCache,
+                              LastLoginWriteBehindBuffer lastLoginBuffer) {
         this.studentRepository = studentRepository;
         this.accountRepository = accountRepository;
         this.passwordEncoder = passwordEncoder;
+        this.principalCache = principalCache;
+        this.lastLoginBuffer = lastLoginBuffer;
     }
 
     public LoginAccountDto getAccount(String accountId){
@@ -44,20 +50,28 @@ public class LoginAccountService {
         account.setCreatedAt(LocalDateTime.now());
         account.setPassword(passwordEncoder.encode("defaultPassword")); // In a real application, this should be properly hashed
         accountRepository.save(account);
+        principalCache.evict(account.getAccountId());
         return toDto(account);
     }
 
-    @Transactional
     public LoginAccountDto updateLastLogin(String accountId) {
-        Optional<Student> studentOpt = studentRepository.findByLoginAccount_AccountId(accountId);
-        if (studentOpt.isPresent()) {
-            LoginAccount acc = studentOpt.get().getLoginAccount();
-            acc.setLastLoginAt(LocalDateTime.now());
-            acc.setUpdatedAt(LocalDateTime.now());
-            accountRepository.save(acc);
-            return toDto(acc);
+        // Only student accounts track last login; the role comes from the principal cache, not a join
+        AuthenticatedPrincipal principal = principalCache.resolve(accountId);
+        if (!AuthenticatedPrincipal.ROLE_STUDENT.equals(principal.role())) {
+            return null;
         }
-        return null;
+        Optional<LoginAccount> accountOpt = accountRepository.findById(accountId);
+        if (accountOpt.isEmpty()) {
+            return null;
+        }
+
+        // The row write is coalesced and batched by the write-behind buffer
+        LocalDateTime now = LocalDateTime.now();
+        lastLoginBuffer.record(accountId, now);
+
+        LoginAccountDto dto = toDto(accountOpt.get());
+        dto.setUpdatedAt(now);
+        return dto;
     }
     
     @Transactional
@@ -69,6 +83,7 @@ public class LoginAccountService {
             acc.setAccountStatus(updatedAccount.getAccountStatus());
             acc.setUpdatedAt(LocalDateTime.now());
             accountRepository.save(acc);
+            principalCache.evict(accountId);
             return toDto(acc);
         }
         return null;
@@ -124,6 +139,11 @@ public class LoginAccountService {
         dto.setCreatedAt(acc.getCreatedAt());
         dto.setUpdatedAt(acc.getUpdatedAt());
         dto.setLastLoginAt(acc.getLastLoginAt());
+        // A login still waiting in the write-behind buffer is newer than the stored value
+        LocalDateTime pendingLogin = lastLoginBuffer.pendingLastLogin(acc.getAccountId());
+        if (pendingLogin != null) {
+            dto.setLastLoginAt(pendingLogin);
+        }
         // Removed profile image URL
         // dto.setProfileImageUrl(acc.getProfileImageUrl());
         return dto;
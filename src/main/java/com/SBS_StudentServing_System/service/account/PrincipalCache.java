@@ -0,0 +1,94 @@
+package com.SBS_StudentServing_System.service.account;
+
+import com.SBS_StudentServing_System.model.admin.Admin;
+import com.SBS_StudentServing_System.model.student.Student;
+import com.SBS_StudentServing_System.repository.admin.AdminRepository;
+import com.SBS_StudentServing_System.repository.student.StudentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class PrincipalCache {
+
+    @Value("${auth.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${auth.principal-cache.ttl-ms:600000}")
+    private long ttlMillis;
+
+    private final StudentRepository studentRepository;
+    private final AdminRepository adminRepository;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public PrincipalCache(StudentRepository studentRepository, AdminRepository adminRepository) {
+        this.studentRepository = studentRepository;
+        this.adminRepository = adminRepository;
+    }
+
+    public AuthenticatedPrincipal resolve(String accountId) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(accountId);
+        if (entry != null && entry.expiresAt() > now) {
+            return entry.principal();
+        }
+
+        AuthenticatedPrincipal principal = load(accountId);
+        if (entries.size() >= maxSize) {
+            evictExpired(now);
+        }
+        entries.put(accountId, new Entry(principal, now + ttlMillis));
+        return principal;
+    }
+
+    public void evict(String accountId) {
+        if (accountId == null) {
+            return;
+        }
+        entries.remove(accountId);
+        // Evict again after commit so a request that reloaded the old row mid-transaction is not kept
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.remove(accountId);
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private AuthenticatedPrincipal load(String accountId) {
+        // Students are far more common than admins, so only fall back to the admin lookup on a miss
+        Student student = studentRepository.findByLoginAccount_AccountId(accountId).orElse(null);
+        if (student != null) {
+            return new AuthenticatedPrincipal(accountId, AuthenticatedPrincipal.ROLE_STUDENT, student.getStudentId());
+        }
+        Admin admin = adminRepository.findByLoginAccount_AccountId(accountId);
+        if (admin != null) {
+            return new AuthenticatedPrincipal(accountId, AuthenticatedPrincipal.ROLE_ADMIN, admin.getAdminId());
+        }
+        return new AuthenticatedPrincipal(accountId, null, null);
+    }
+
+    private void evictExpired(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+        Iterator<String> it = entries.keySet().iterator();
+        while (entries.size() >= maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private record Entry(AuthenticatedPrincipal principal, long expiresAt) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.SBS_StudentServing_System.service.account;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class VerifiedTokenCache {
+
+    @Value("${jwt.cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${jwt.cache.ttl-ms:300000}")
+    private long ttlMillis;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public JwtClaims get(String token) {
+        String key = digest(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.claims();
+    }
+
+    public void put(String token, JwtClaims claims) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttlMillis;
+        // Never keep a token around longer than the token itself is valid
+        if (claims.expiration() != null) {
+            expiresAt = Math.min(expiresAt, claims.expiration().getTime());
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(digest(token), new Entry(claims, expiresAt));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+        // Still full: drop arbitrary entries, they are simply re-verified on next use
+        Iterator<String> it = entries.keySet().iterator();
+        while (entries.size() >= maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] hash = md.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(JwtClaims claims, long expiresAt) {
+    }
+}
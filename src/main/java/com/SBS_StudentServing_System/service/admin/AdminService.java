@@ -2,6 +2,7 @@ package com.SBS_StudentServing_System.service.admin;
 
 import com.SBS_StudentServing_System.model.admin.Admin;
 import com.SBS_StudentServing_System.repository.admin.AdminRepository;
+import com.SBS_StudentServing_System.service.account.PrincipalCache;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -10,9 +11,11 @@ import java.util.Optional;
 @Service
 public class AdminService {
     private final AdminRepository adminRepository;
+    private final PrincipalCache principalCache;
 
-    public AdminService(AdminRepository adminRepository) {
+    public AdminService(AdminRepository adminRepository, PrincipalCache principalCache) {
         this.adminRepository = adminRepository;
+        this.principalCache = principalCache;
     }
 
     public Optional<Admin> getAdminByAccountId(String accountId) {
@@ -20,7 +23,11 @@ public class AdminService {
     }
 
     public Admin createAdmin(Admin admin) {
-        return adminRepository.save(admin);
+        Admin saved = adminRepository.save(admin);
+        if (saved.getLoginAccount() != null) {
+            principalCache.evict(saved.getLoginAccount().getAccountId());
+        }
+        return saved;
     }
     
     public List<Admin> getAllAdmins() {
@@ -0,0 +1,51 @@
+package com.SBS_StudentServing_System.service.common;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Conditional GET for catalog lists served from the dimension snapshot. The ETag is derived from the per-table
+ * checksums the snapshot was loaded at, so a matching If-None-Match (or If-Modified-Since) is answered with 304
+ * before any list is built, and the body is always built from the same snapshot the validators describe.
+ */
+@Component
+public class CatalogResponses {
+
+    private final DimensionSnapshotService dimensionSnapshotService;
+    private final CacheControl cacheControl;
+
+    public CatalogResponses(DimensionSnapshotService dimensionSnapshotService,
+                            @Value("${app.catalog.cache.max-age-seconds:0}") long maxAgeSeconds) {
+        this.dimensionSnapshotService = dimensionSnapshotService;
+        // 0 = shared caches may store but must revalidate every time (auth still runs on each revalidation);
+        // a positive max-age lets browsers and the proxy reuse a response without asking
+        this.cacheControl = maxAgeSeconds > 0
+                ? CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic().mustRevalidate()
+                : CacheControl.noCache().cachePublic();
+    }
+
+    public <T> ResponseEntity<T> respond(WebRequest request, Function<DimensionSnapshot, T> body, String... tables) {
+        DimensionSnapshot snapshot = dimensionSnapshotService.current();
+        String etag = snapshot.etag(tables);
+        long lastModified = snapshot.lastModified(tables);
+
+        if (request.checkNotModified(etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(lastModified)
+                .cacheControl(cacheControl)
+                .body(body.apply(snapshot));
+    }
+}
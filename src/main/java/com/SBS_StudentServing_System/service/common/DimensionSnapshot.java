@@ -0,0 +1,49 @@
+package com.SBS_StudentServing_System.service.common;
+
+import com.SBS_StudentServing_System.model.academic.Course;
+import com.SBS_StudentServing_System.model.academic.Department;
+import com.SBS_StudentServing_System.model.academic.Grade;
+import com.SBS_StudentServing_System.model.academic.Semester;
+import com.SBS_StudentServing_System.model.academic.StudyPlan;
+import com.SBS_StudentServing_System.model.student.related.City;
+import com.SBS_StudentServing_System.model.student.related.Ward;
+
+import java.util.Map;
+
+/**
+ * Immutable copy of the dimension tables. A new instance is built on every reload and swapped in as a whole,
+ * so readers always see one consistent version of all maps.
+ * {@code tableChecksums} / {@code tableChangedAt} are keyed by physical table name and describe the data this
+ * instance holds, so an ETag taken from a snapshot always matches a body built from the same snapshot.
+ */
+public record DimensionSnapshot(
+        Long version,
+        Map<String, Long> tableChecksums,
+        Map<String, Long> tableChangedAt,
+        Map<String, Course> courses,
+        Map<String, Semester> semesters,
+        Map<String, StudyPlan> studyPlans,
+        Map<String, Grade> grades,
+        Map<String, Department> departments,
+        Map<String, City> cities,
+        Map<String, Ward> wards
+) {
+
+    // Strong validator for a response built from the given tables
+    public String etag(String... tables) {
+        long hash = 17;
+        for (String table : tables) {
+            hash = 31 * hash + tableChecksums.getOrDefault(table, 0L);
+        }
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+
+    // When this node first loaded the current contents of the given tables (epoch millis)
+    public long lastModified(String... tables) {
+        long lastModified = 0;
+        for (String table : tables) {
+            lastModified = Math.max(lastModified, tableChangedAt.getOrDefault(table, 0L));
+        }
+        return lastModified;
+    }
+}
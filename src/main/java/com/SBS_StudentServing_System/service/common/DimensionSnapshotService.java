@@ -0,0 +1,243 @@
+package com.SBS_StudentServing_System.service.common;
+
+import com.SBS_StudentServing_System.model.academic.Course;
+import com.SBS_StudentServing_System.model.academic.Department;
+import com.SBS_StudentServing_System.model.academic.Grade;
+import com.SBS_StudentServing_System.model.academic.Semester;
+import com.SBS_StudentServing_System.model.academic.StudyPlan;
+import com.SBS_StudentServing_System.model.student.related.City;
+import com.SBS_StudentServing_System.model.student.related.Ward;
+import com.SBS_StudentServing_System.repository.academic.CourseRepository;
+import com.SBS_StudentServing_System.repository.academic.DepartmentRepository;
+import com.SBS_StudentServing_System.repository.academic.GradeRepository;
+import com.SBS_StudentServing_System.repository.academic.SemesterRepository;
+import com.SBS_StudentServing_System.repository.academic.StudyPlanRepository;
+import com.SBS_StudentServing_System.repository.student.CityRepository;
+import com.SBS_StudentServing_System.repository.student.WardRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * In-process replica of the small, read-mostly dimension tables (course, semester, study plan, grade,
+ * department, city, ward). Writers call {@link #refresh()}; other nodes pick up changes through the periodic
+ * version check.
+ */
+@Slf4j
+@Service
+public class DimensionSnapshotService {
+
+    // Physical table names, as reported by CHECKSUM TABLE and used for per-table ETags
+    public static final String COURSE_TABLE = "dim_course";
+    public static final String LECTURER_TABLE = "dim_lecturer";
+    public static final String SEMESTER_TABLE = "dim_semester";
+    public static final String STUDY_PLAN_TABLE = "dim_studyplan";
+    public static final String GRADE_TABLE = "dim_grade";
+    public static final String DEPARTMENT_TABLE = "dim_department";
+    public static final String CITY_TABLE = "subdim_city";
+    public static final String WARD_TABLE = "subdim_ward";
+
+    private static final List<String> TABLES = List.of(COURSE_TABLE, LECTURER_TABLE, SEMESTER_TABLE, STUDY_PLAN_TABLE,
+            GRADE_TABLE, DEPARTMENT_TABLE, CITY_TABLE, WARD_TABLE);
+    private static final String VERSION_SQL = "CHECKSUM TABLE " + String.join(", ", TABLES);
+
+    private final CourseRepository courseRepository;
+    private final SemesterRepository semesterRepository;
+    private final StudyPlanRepository studyPlanRepository;
+    private final GradeRepository gradeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final CityRepository cityRepository;
+    private final WardRepository wardRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate loadTransaction;
+
+    private final AtomicReference<DimensionSnapshot> snapshot = new AtomicReference<>();
+
+    public DimensionSnapshotService(CourseRepository courseRepository, SemesterRepository semesterRepository,
+                                    StudyPlanRepository studyPlanRepository, GradeRepository gradeRepository,
+                                    DepartmentRepository departmentRepository, CityRepository cityRepository,
+                                    WardRepository wardRepository, JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager) {
+        this.courseRepository = courseRepository;
+        this.semesterRepository = semesterRepository;
+        this.studyPlanRepository = studyPlanRepository;
+        this.gradeRepository = gradeRepository;
+        this.departmentRepository = departmentRepository;
+        this.cityRepository = cityRepository;
+        this.wardRepository = wardRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        // Load in a separate read-only transaction so snapshot entities never belong to a request's persistence context
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    public DimensionSnapshot current() {
+        DimensionSnapshot current = snapshot.get();
+        return current != null ? current : reload();
+    }
+
+    /**
+     * Rebuilds the snapshot once the caller's transaction commits (or immediately when there is none),
+     * so readers never see rows that are later rolled back.
+     */
+    public void refresh() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        } else {
+            reload();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.dimensions.version-check-ms:60000}",
+            initialDelayString = "${app.dimensions.version-check-ms:60000}")
+    public void checkVersion() {
+        DimensionSnapshot current = snapshot.get();
+        try {
+            Long version = combine(readChecksums());
+            if (current == null || version == null || !version.equals(current.version())) {
+                reload();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Dimension version check failed, keeping current snapshot", e);
+        }
+    }
+
+    public synchronized DimensionSnapshot reload() {
+        // Read the version first: a write that lands during the load changes it again and triggers another reload
+        Map<String, Long> checksums = readChecksums();
+        Map<String, Long> changedAt = changedAt(snapshot.get(), checksums);
+        DimensionSnapshot loaded = loadTransaction.execute(status -> new DimensionSnapshot(
+                combine(checksums),
+                checksums,
+                changedAt,
+                index(courseRepository.findAll(), Course::getCourseId),
+                index(semesterRepository.findAll(), Semester::getSemesterId),
+                index(studyPlanRepository.findAll(), StudyPlan::getStudyPlanId),
+                index(gradeRepository.findAll(), Grade::getGradeName),
+                index(departmentRepository.findAll(), Department::getDepartmentId),
+                index(cityRepository.findAll(), City::getCityId),
+                index(wardRepository.findAll(), Ward::getWardId)
+        ));
+        snapshot.set(loaded);
+        return loaded;
+    }
+
+    // --- Lookups ---
+    public Collection<Course> courses() {
+        return current().courses().values();
+    }
+    public Optional<Course> course(String id) {
+        return lookup(current().courses(), id);
+    }
+
+    public Collection<Semester> semesters() {
+        return current().semesters().values();
+    }
+    public Optional<Semester> semester(String id) {
+        return lookup(current().semesters(), id);
+    }
+
+    public Collection<StudyPlan> studyPlans() {
+        return current().studyPlans().values();
+    }
+    public Optional<StudyPlan> studyPlan(String id) {
+        return lookup(current().studyPlans(), id);
+    }
+
+    public Collection<Grade> grades() {
+        return current().grades().values();
+    }
+    public Optional<Grade> grade(String id) {
+        return lookup(current().grades(), id);
+    }
+
+    public Collection<Department> departments() {
+        return current().departments().values();
+    }
+    public Optional<Department> department(String id) {
+        return lookup(current().departments(), id);
+    }
+
+    public Collection<City> cities() {
+        return current().cities().values();
+    }
+    public Optional<City> city(String id) {
+        return lookup(current().cities(), id);
+    }
+
+    public Collection<Ward> wards() {
+        return current().wards().values();
+    }
+    public Optional<Ward> ward(String id) {
+        return lookup(current().wards(), id);
+    }
+
+    private Map<String, Long> readChecksums() {
+        Map<String, Long> checksums = new LinkedHashMap<>();
+        jdbcTemplate.query(VERSION_SQL, rs -> {
+            // "Table" comes back schema-qualified (SBS_DB.dim_course)
+            String table = rs.getString("Table");
+            checksums.put(table.substring(table.lastIndexOf('.') + 1).toLowerCase(), rs.getLong("Checksum"));
+        });
+        return Collections.unmodifiableMap(checksums);
+    }
+
+    private static Long combine(Map<String, Long> checksums) {
+        long version = 1;
+        for (Long checksum : checksums.values()) {
+            version = 31 * version + checksum;
+        }
+        return version;
+    }
+
+    // A table keeps its change time for as long as its checksum stays the same
+    private static Map<String, Long> changedAt(DimensionSnapshot previous, Map<String, Long> checksums) {
+        long now = System.currentTimeMillis();
+        Map<String, Long> changedAt = new LinkedHashMap<>();
+        checksums.forEach((table, checksum) -> {
+            boolean unchanged = previous != null && checksum.equals(previous.tableChecksums().get(table));
+            changedAt.put(table, unchanged ? previous.tableChangedAt().get(table) : now);
+        });
+        return Collections.unmodifiableMap(changedAt);
+    }
+
+    private static <T> Optional<T> lookup(Map<String, T> map, String id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(map.get(id));
+    }
+
+    private static <T> Map<String, T> index(List<T> rows, Function<T, String> idOf) {
+        Map<String, T> map = new LinkedHashMap<>();
+        for (T row : rows) {
+            map.put(idOf.apply(row), row);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+}
@@ -0,0 +1,121 @@
+package com.SBS_StudentServing_System.service.common;
+
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+// Derivatives are re-encoded without metadata, so the EXIF orientation phones rely on has to be baked into
+// the pixels first. Only the JPEG APP1 segment is read; everything else in the file is skipped.
+final class ExifOrientation {
+
+    private static final int ORIENTATION_TAG = 0x0112;
+    private static final int MAX_APP1 = 64 * 1024;
+
+    private ExifOrientation() {
+    }
+
+    // 1 (as stored) when the file is not a JPEG or carries no orientation
+    static int read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        try {
+            if (data.readUnsignedShort() != 0xFFD8) {
+                return 1;
+            }
+            while (true) {
+                int marker = data.readUnsignedByte();
+                if (marker != 0xFF) {
+                    return 1;
+                }
+                int type = data.readUnsignedByte();
+                while (type == 0xFF) {
+                    type = data.readUnsignedByte();
+                }
+                // Start of scan or end of image: no EXIF before the pixel data
+                if (type == 0xDA || type == 0xD9) {
+                    return 1;
+                }
+                int length = data.readUnsignedShort() - 2;
+                if (length < 0) {
+                    return 1;
+                }
+                if (type == 0xE1 && length >= 14 && length <= MAX_APP1) {
+                    byte[] segment = new byte[length];
+                    data.readFully(segment);
+                    int orientation = fromApp1(segment);
+                    if (orientation != 0) {
+                        return orientation;
+                    }
+                } else {
+                    data.skipNBytes(length);
+                }
+            }
+        } catch (EOFException e) {
+            return 1;
+        }
+    }
+
+    // 0 when the segment is not EXIF (XMP also lives in APP1) or has no orientation entry
+    private static int fromApp1(byte[] segment) {
+        if (!new String(segment, 0, 6, StandardCharsets.ISO_8859_1).equals("Exif\0\0")) {
+            return 0;
+        }
+        ByteBuffer tiff = ByteBuffer.wrap(segment, 6, segment.length - 6).slice();
+        if (tiff.get(0) == 'I' && tiff.get(1) == 'I') {
+            tiff.order(ByteOrder.LITTLE_ENDIAN);
+        } else if (tiff.get(0) != 'M' || tiff.get(1) != 'M') {
+            return 0;
+        }
+        int ifd = tiff.getInt(4);
+        if (ifd < 8 || ifd + 2 > tiff.limit()) {
+            return 0;
+        }
+        int entries = tiff.getShort(ifd) & 0xFFFF;
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > tiff.limit()) {
+                return 0;
+            }
+            if ((tiff.getShort(entry) & 0xFFFF) == ORIENTATION_TAG) {
+                int value = tiff.getShort(entry + 8) & 0xFFFF;
+                return value >= 1 && value <= 8 ? value : 0;
+            }
+        }
+        return 0;
+    }
+
+    static BufferedImage apply(BufferedImage image, int orientation) {
+        if (orientation <= 1 || orientation > 8) {
+            return image;
+        }
+        int w = image.getWidth();
+        int h = image.getHeight();
+        boolean swap = orientation >= 5;
+        // AffineTransform(m00, m10, m01, m11, m02, m12): x' = m00*x + m01*y + m02, y' = m10*x + m11*y + m12
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);   // mirrored
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);  // rotated 180
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);   // flipped vertically
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);    // transposed
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);   // rotated 90 clockwise
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);  // transversed
+            default -> new AffineTransform(0, -1, 1, 0, 0, w);  // 8: rotated 90 counter-clockwise
+        };
+
+        BufferedImage rotated = new BufferedImage(swap ? h : w, swap ? w : h, image.getType() == 0
+                ? BufferedImage.TYPE_INT_ARGB : image.getType());
+        Graphics2D g = rotated.createGraphics();
+        try {
+            g.drawImage(image, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return rotated;
+    }
+}
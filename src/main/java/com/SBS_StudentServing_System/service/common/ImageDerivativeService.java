@@ -0,0 +1,446 @@
+package com.SBS_StudentServing_System.service.common;
+
+import com.SBS_StudentServing_System.service.upload.BlobStore;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Turns an uploaded image into thumbnail, card and full-size derivatives on a background pool. The upload is
+ * copied and hashed on the request thread, its header is checked (format, pixel count, alpha), and the URLs
+ * are returned straight away; decoding, resizing and re-encoding happen on the pool. Re-encoding keeps only
+ * pixels, so EXIF/GPS and other metadata never reach the public copies.
+ * <p>
+ * Derivative names are derived from the SHA-256 of the original bytes ({@code <hash>-thumb.jpg}), so the same
+ * upload always maps to the same files and they can be cached as immutable. They are written to the
+ * {@link BlobStore} under {@code derived/}. A request for a derivative that is still being produced on this node
+ * waits for it through {@link #awaitPending(String, Duration)}.
+ */
+@Slf4j
+@Service
+public class ImageDerivativeService {
+
+    // Request path the derivatives are served under (see UploadFileController)
+    public static final String DERIVED_PATH = "/uploads/derived/";
+    public static final String DERIVED_AREA = "derived";
+
+    // Bump when sizes or encoding change, so new derivatives get new names instead of stale cached copies
+    private static final String PIPELINE_VERSION = "1";
+    private static final float JPEG_QUALITY = 0.85f;
+
+    public enum Variant {
+        THUMBNAIL("thumb", 160),
+        CARD("card", 480),
+        FULL("full", 1600);
+
+        private final String suffix;
+        private final int maxEdge;
+
+        Variant(String suffix, int maxEdge) {
+            this.suffix = suffix;
+            this.maxEdge = maxEdge;
+        }
+    }
+
+    private final BlobStore blobStore;
+    private final Path stagingDir;
+    private final String urlPrefix;
+    private final long maxPixels;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService retryScheduler;
+
+    // Hash -> job, while its derivatives are being written
+    private final Map<String, CompletableFuture<Void>> pending = new ConcurrentHashMap<>();
+
+    public ImageDerivativeService(BlobStore blobStore,
+                                  @Value("${app.uploads.staging-dir:uploads/tmp/}") String stagingDir,
+                                  @Value("${app.base-url}") String baseUrl,
+                                  @Value("${app.images.max-pixels:40000000}") long maxPixels,
+                                  @Value("${app.images.worker-threads:0}") int workerThreads,
+                                  @Value("${app.images.max-attempts:3}") int maxAttempts,
+                                  @Value("${app.images.retry-delay-ms:2000}") long retryDelayMillis) {
+        this.blobStore = blobStore;
+        this.stagingDir = Paths.get(stagingDir);
+        this.urlPrefix = baseUrl + DERIVED_PATH;
+        this.maxPixels = maxPixels;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryDelay = Duration.ofMillis(retryDelayMillis);
+        int poolSize = workerThreads > 0 ? workerThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(poolSize, r -> {
+            Thread t = new Thread(r, "image-derivatives-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "image-derivatives-retry");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Accepts an upload and queues its derivatives. {@code onComplete} runs on the pool once all of them are
+     * stored (callers record the upload there, so nothing points at a derivative that does not exist). Throws
+     * {@link IllegalArgumentException} when the file is not a readable image or is too large to decode safely.
+     */
+    public Submission submit(MultipartFile file, Consumer<DerivativeSet> onComplete) throws IOException {
+        Files.createDirectories(stagingDir);
+        // Kept out of the served areas; only finished derivatives are placed there
+        Path source = Files.createTempFile(stagingDir, "image-upload-", ".tmp");
+        try {
+            String hash = copyAndHash(file, source);
+            boolean alpha = probe(source);
+            DerivativeSet set = new DerivativeSet(hash, alpha ? "png" : "jpg");
+
+            // The source is kept through every attempt and only deleted once the job has finally succeeded or failed
+            CompletableFuture<DerivativeSet> completion = start(source, set)
+                    .whenComplete((ignored, error) -> deleteQuietly(source))
+                    .thenApply(ignored -> {
+                        if (onComplete != null) {
+                            try {
+                                onComplete.accept(set);
+                            } catch (RuntimeException e) {
+                                log.warn("Recording image {} failed", set.hash(), e);
+                                throw e;
+                            }
+                        }
+                        return set;
+                    });
+            return new Submission(set, completion);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(source);
+            throw e;
+        }
+    }
+
+    // Re-uploads of the same bytes join the running job instead of decoding twice
+    private CompletableFuture<Void> start(Path source, DerivativeSet set) {
+        CompletableFuture<Void> job = new CompletableFuture<>();
+        CompletableFuture<Void> running = pending.putIfAbsent(set.hash(), job);
+        if (running != null) {
+            return running;
+        }
+        executor.execute(() -> run(source, set, job, 1));
+        return job;
+    }
+
+    // Failed attempts (usually a storage error) are retried with a growing delay before the job is given up
+    private void run(Path source, DerivativeSet set, CompletableFuture<Void> job, int attempt) {
+        try {
+            writeDerivatives(source, set);
+            pending.remove(set.hash(), job);
+            job.complete(null);
+        } catch (Throwable e) {
+            if (attempt < maxAttempts && !executor.isShutdown()) {
+                log.warn("Image derivatives for {} failed (attempt {} of {}), retrying: {}",
+                        set.hash(), attempt, maxAttempts, e.getMessage());
+                retryScheduler.schedule(() -> executor.execute(() -> run(source, set, job, attempt + 1)),
+                        retryDelay.toMillis() * attempt, TimeUnit.MILLISECONDS);
+                return;
+            }
+            log.warn("Image derivatives failed for {}", set.hash(), e);
+            pending.remove(set.hash(), job);
+            job.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Blocks until the derivative named {@code filename} has been written, if its job is still running.
+     * Returns false when there is no such job or it did not finish in time.
+     */
+    public boolean awaitPending(String filename, Duration timeout) {
+        int dash = filename.indexOf('-');
+        CompletableFuture<Void> job = dash > 0 ? pending.get(filename.substring(0, dash)) : null;
+        if (job == null) {
+            return false;
+        }
+        try {
+            job.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    public static String key(DerivativeSet set, Variant variant) {
+        return DERIVED_AREA + "/" + set.filename(variant);
+    }
+
+    public String url(DerivativeSet set, Variant variant) {
+        return urlPrefix + set.filename(variant);
+    }
+
+    // Same as url() without the host, for storing
+    public static String relativePath(DerivativeSet set, Variant variant) {
+        return DERIVED_PATH + set.filename(variant);
+    }
+
+    // imageUrl, thumbnailUrl and cardUrl as returned to clients
+    public Map<String, String> urls(DerivativeSet set) {
+        Map<String, String> urls = new LinkedHashMap<>();
+        urls.put("imageUrl", url(set, Variant.FULL));
+        urls.put("thumbnailUrl", url(set, Variant.THUMBNAIL));
+        urls.put("cardUrl", url(set, Variant.CARD));
+        return urls;
+    }
+
+    /**
+     * Thumbnail or card URL for a stored full-size URL. Images uploaded before the pipeline have no
+     * derivatives, so the original URL is returned for them.
+     */
+    public static String variantUrl(String imageUrl, Variant variant) {
+        String full = "-" + Variant.FULL.suffix + ".";
+        if (imageUrl == null || !imageUrl.contains(DERIVED_PATH) || !imageUrl.contains(full)) {
+            return imageUrl;
+        }
+        int at = imageUrl.lastIndexOf(full);
+        return imageUrl.substring(0, at) + "-" + variant.suffix + "." + imageUrl.substring(at + full.length());
+    }
+
+    private static String copyAndHash(MultipartFile file, Path target) throws IOException {
+        MessageDigest digest = sha256();
+        digest.update(PIPELINE_VERSION.getBytes(StandardCharsets.US_ASCII));
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest);
+             OutputStream out = Files.newOutputStream(target)) {
+            in.transferTo(out);
+        }
+        // 128 bits is plenty for naming and keeps URLs short
+        return HexFormat.of().formatHex(digest.digest(), 0, 16);
+    }
+
+    // Reads only the header: rejects unreadable files and decompression bombs before any pixel is decoded
+    private boolean probe(Path source) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("File is not a readable image");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels <= 0 || pixels > maxPixels) {
+                    throw new IllegalArgumentException("Image dimensions are too large");
+                }
+                Iterator<ImageTypeSpecifier> types = reader.getImageTypes(0);
+                return types.hasNext() && types.next().getColorModel().hasAlpha();
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void writeDerivatives(Path source, DerivativeSet set) {
+        try {
+            boolean done = true;
+            for (Variant variant : Variant.values()) {
+                done &= blobStore.exists(key(set, variant));
+            }
+            if (done) {
+                return;
+            }
+
+            BufferedImage decoded = ImageIO.read(source.toFile());
+            if (decoded == null) {
+                throw new IOException("Image could not be decoded");
+            }
+            int orientation;
+            try (InputStream in = Files.newInputStream(source)) {
+                orientation = ExifOrientation.read(in);
+            }
+            BufferedImage image = ExifOrientation.apply(normalize(decoded, set.alpha()), orientation);
+
+            for (Variant variant : Variant.values()) {
+                BufferedImage resized = resize(image, variant.maxEdge);
+                blobStore.put(key(set, variant), encode(resized, set.extension()), set.contentType());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write image derivatives: " + e.getMessage(), e);
+        }
+    }
+
+    // Indexed, grayscale and CMYK-converted images are drawn onto plain RGB/ARGB so every later step is uniform
+    private static BufferedImage normalize(BufferedImage image, boolean alpha) {
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        if (image.getType() == type) {
+            return image;
+        }
+        BufferedImage converted = new BufferedImage(image.getWidth(), image.getHeight(), type);
+        Graphics2D g = converted.createGraphics();
+        try {
+            if (!alpha) {
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, image.getWidth(), image.getHeight());
+            }
+            g.drawImage(image, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return converted;
+    }
+
+    // Halves in steps before the final draw: a single bilinear step from a large photo aliases badly
+    private static BufferedImage resize(BufferedImage image, int maxEdge) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (Math.max(width, height) <= maxEdge) {
+            return image;
+        }
+        double scale = (double) maxEdge / Math.max(width, height);
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = image;
+        while (current.getWidth() / 2 >= targetWidth && current.getHeight() / 2 >= targetHeight) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        return current.getWidth() == targetWidth && current.getHeight() == targetHeight
+                ? current : draw(current, targetWidth, targetHeight);
+    }
+
+    private static BufferedImage draw(BufferedImage image, int width, int height) {
+        BufferedImage scaled = new BufferedImage(width, height, image.getType());
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    private static byte[] encode(BufferedImage image, String extension) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        if (extension.equals("png")) {
+            ImageIO.write(image, "png", bytes);
+            return bytes.toByteArray();
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (MemoryCacheImageOutputStream out = new MemoryCacheImageOutputStream(bytes)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(out);
+            // No metadata is passed, so only the default JFIF header is written
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", path, e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    public enum Status {PENDING, READY, FAILED}
+
+    /**
+     * A queued upload. {@code completion} finishes once the derivatives are stored and the caller's
+     * {@code onComplete} has run, and fails when they could not be produced after every attempt.
+     */
+    public record Submission(DerivativeSet set, CompletableFuture<DerivativeSet> completion) {
+
+        // Lets the upload request report a failure that happens quickly; PENDING when the pool is still busy
+        public Status await(Duration timeout) {
+            try {
+                completion.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+                return Status.READY;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Status.PENDING;
+            } catch (TimeoutException e) {
+                return Status.PENDING;
+            } catch (ExecutionException e) {
+                return Status.FAILED;
+            }
+        }
+    }
+
+    /**
+     * Names of one upload's derivatives. All variants share the extension: PNG when the source has
+     * transparency, JPEG otherwise.
+     */
+    public record DerivativeSet(String hash, String extension) {
+
+        public boolean alpha() {
+            return extension.equals("png");
+        }
+
+        public String contentType() {
+            return alpha() ? "image/png" : "image/jpeg";
+        }
+
+        public String filename(Variant variant) {
+            return hash + "-" + variant.suffix + "." + extension;
+        }
+    }
+}
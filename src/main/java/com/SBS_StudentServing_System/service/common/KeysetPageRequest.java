@@ -0,0 +1,30 @@
+package com.SBS_StudentServing_System.service.common;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Paging parameters taken from the query string; everything that is not cursor/size/sort is treated as a filter
+public record KeysetPageRequest(String cursor, Integer size, String sort, Map<String, String> filters) {
+
+    public static KeysetPageRequest from(Map<String, String> params) {
+        Map<String, String> filters = new HashMap<>(params);
+        String cursor = filters.remove("cursor");
+        String size = filters.remove("size");
+        String sort = filters.remove("sort");
+        filters.values().removeIf(v -> v == null || v.isBlank());
+        return new KeysetPageRequest(
+                cursor == null || cursor.isBlank() ? null : cursor,
+                size == null || size.isBlank() ? null : parseSize(size),
+                sort == null || sort.isBlank() ? null : sort,
+                filters);
+    }
+
+    // Client input: a bad value is a 400, never a NumberFormatException surfacing as a server error
+    private static Integer parseSize(String size) {
+        try {
+            return Integer.valueOf(size.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page size: " + size);
+        }
+    }
+}
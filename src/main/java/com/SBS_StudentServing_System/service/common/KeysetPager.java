@@ -0,0 +1,209 @@
+package com.SBS_StudentServing_System.service.common;
+
+import com.SBS_StudentServing_System.dto.common.CursorPage;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.function.Function;
+
+// Cursor (keyset) pagination shared by the list endpoints. Pages are ordered by the requested sort field
+// followed by the entity's unique key, and the cursor carries the last row's key values so the next page
+// is a bounded index range scan instead of an OFFSET.
+@Component
+public class KeysetPager {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.pagination.default-size:50}")
+    private int defaultSize;
+
+    @Value("${app.pagination.max-size:200}")
+    private int maxSize;
+
+    public KeysetPager(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public <E, D> CursorPage<D> page(KeysetSpec<E> spec, KeysetPageRequest request, Function<E, D> mapper) {
+        int size = request.size() == null ? defaultSize : Math.max(1, Math.min(request.size(), maxSize));
+        String sort = request.sort() == null ? spec.getDefaultSort() : request.sort();
+        boolean desc = sort.startsWith("-");
+        String sortName = desc ? sort.substring(1) : sort;
+        String sortPath = spec.sortPath(sortName);
+        if (sortPath == null) {
+            throw new IllegalArgumentException("Unsupported sort field: " + sortName);
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(spec.getEntityClass());
+
+        // Sort column first, then the unique key as tie-breaker (skipped if the sort already is the key)
+        List<Path<?>> keys = new ArrayList<>();
+        if (!spec.getIdPaths().equals(List.of(sortPath))) {
+            keys.add(path(root, sortPath));
+        }
+        for (String idPath : spec.getIdPaths()) {
+            keys.add(path(root, idPath));
+        }
+
+        List<Predicate> predicates = new ArrayList<>();
+        for (Map.Entry<String, String> filter : request.filters().entrySet()) {
+            String filterPath = spec.filterPath(filter.getKey());
+            if (filterPath == null) {
+                throw new IllegalArgumentException("Unsupported filter field: " + filter.getKey());
+            }
+            Path<?> p = path(root, filterPath);
+            predicates.add(cb.equal(p, convert(filter.getValue(), p.getJavaType())));
+        }
+        if (request.cursor() != null) {
+            List<Class<?>> keyTypes = new ArrayList<>(keys.size());
+            for (Path<?> key : keys) {
+                keyTypes.add(key.getJavaType());
+            }
+            List<Object> last = decodeCursor(request.cursor(), sort, keyTypes);
+            predicates.add(after(cb, keys, last, 0, desc));
+        }
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root);
+        selections.addAll(keys);
+        List<Order> orders = new ArrayList<>();
+        for (Path<?> key : keys) {
+            orders.add(desc ? cb.desc(key) : cb.asc(key));
+        }
+        query.multiselect(selections)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(orders);
+
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+        List<D> items = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            @SuppressWarnings("unchecked")
+            E entity = (E) row.get(0);
+            items.add(mapper.apply(entity));
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            Tuple lastRow = rows.get(rows.size() - 1);
+            List<String> values = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                Object v = lastRow.get(i + 1);
+                values.add(v == null ? null : v.toString());
+            }
+            nextCursor = encodeCursor(sort, values);
+        }
+        return new CursorPage<>(items, nextCursor, hasMore, size);
+    }
+
+    // (k0, k1, ...) strictly after (v0, v1, ...) in the page order. MySQL sorts NULL first ascending
+    // and last descending, which is mirrored here for nullable sort columns.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate after(CriteriaBuilder cb, List<Path<?>> keys, List<Object> values, int i, boolean desc) {
+        Expression key = keys.get(i);
+        Comparable value = (Comparable) values.get(i);
+
+        Predicate beyond;
+        Predicate same;
+        if (value == null) {
+            beyond = desc ? cb.disjunction() : cb.isNotNull(key);
+            same = cb.isNull(key);
+        } else {
+            beyond = desc
+                    ? cb.or(cb.lessThan(key, value), cb.isNull(key))
+                    : cb.greaterThan(key, value);
+            same = cb.equal(key, value);
+        }
+        if (i == keys.size() - 1) {
+            return beyond;
+        }
+        return cb.or(beyond, cb.and(same, after(cb, keys, values, i + 1, desc)));
+    }
+
+    private static Path<?> path(Root<?> root, String dotted) {
+        Path<?> p = root;
+        for (String part : dotted.split("\\.")) {
+            p = p.get(part);
+        }
+        return p;
+    }
+
+    String encodeCursor(String sort, List<String> values) {
+        try {
+            Map<String, Object> cursor = new LinkedHashMap<>();
+            cursor.put("sort", sort);
+            cursor.put("keys", values);
+            byte[] json = objectMapper.writeValueAsBytes(cursor);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not encode cursor", e);
+        }
+    }
+
+    // Cursors come back from clients: anything that does not decode to this sort's keys is a 400
+    List<Object> decodeCursor(String cursor, String sort, List<Class<?>> keyTypes) {
+        Map<String, Object> decoded;
+        try {
+            String json = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            decoded = objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (decoded == null) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        Object keyValues = decoded.get("keys");
+        if (!sort.equals(decoded.get("sort")) || !(keyValues instanceof List<?> raw) || raw.size() != keyTypes.size()) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        List<Object> values = new ArrayList<>(raw.size());
+        for (int i = 0; i < raw.size(); i++) {
+            Object v = raw.get(i);
+            values.add(v == null ? null : convert(v.toString(), keyTypes.get(i)));
+        }
+        return values;
+    }
+
+    static Object convert(String raw, Class<?> type) {
+        try {
+            if (type == String.class) return raw;
+            if (type == Integer.class || type == int.class) return Integer.valueOf(raw);
+            if (type == Long.class || type == long.class) return Long.valueOf(raw);
+            if (type == Float.class || type == float.class) return Float.valueOf(raw);
+            if (type == Double.class || type == double.class) return Double.valueOf(raw);
+            if (type == BigDecimal.class) return new BigDecimal(raw);
+            if (type == Boolean.class || type == boolean.class) return Boolean.valueOf(raw);
+            if (type == LocalDate.class) return LocalDate.parse(raw);
+            if (type == LocalDateTime.class) return LocalDateTime.parse(raw);
+            if (type == LocalTime.class) return LocalTime.parse(raw);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid value '" + raw + "' for " + type.getSimpleName());
+        }
+        throw new IllegalArgumentException("Unsupported key type: " + type.getSimpleName());
+    }
+}
@@ -0,0 +1,62 @@
+package com.SBS_StudentServing_System.service.common;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Describes how an entity may be paged: its unique key columns and the whitelisted sort and filter fields.
+// Field values are attribute paths relative to the entity, e.g. "student.studentId".
+public class KeysetSpec<E> {
+    private final Class<E> entityClass;
+    private final List<String> idPaths;
+    private final Map<String, String> sortFields = new LinkedHashMap<>();
+    private final Map<String, String> filterFields = new LinkedHashMap<>();
+    private String defaultSort;
+
+    private KeysetSpec(Class<E> entityClass, List<String> idPaths) {
+        this.entityClass = entityClass;
+        this.idPaths = idPaths;
+    }
+
+    public static <E> KeysetSpec<E> of(Class<E> entityClass, String... idPaths) {
+        return new KeysetSpec<>(entityClass, List.of(idPaths));
+    }
+
+    public KeysetSpec<E> sortable(String name, String path) {
+        sortFields.put(name, path);
+        if (defaultSort == null) {
+            defaultSort = name;
+        }
+        return this;
+    }
+
+    public KeysetSpec<E> filterable(String name, String path) {
+        filterFields.put(name, path);
+        return this;
+    }
+
+    public KeysetSpec<E> defaultSort(String sort) {
+        this.defaultSort = sort;
+        return this;
+    }
+
+    public Class<E> getEntityClass() {
+        return entityClass;
+    }
+
+    public List<String> getIdPaths() {
+        return idPaths;
+    }
+
+    public String getDefaultSort() {
+        return defaultSort;
+    }
+
+    public String sortPath(String name) {
+        return sortFields.get(name);
+    }
+
+    public String filterPath(String name) {
+        return filterFields.get(name);
+    }
+}
@@ -0,0 +1,128 @@
+package com.SBS_StudentServing_System.service.export;
+
+import com.SBS_StudentServing_System.dto.export.CourseResultExportRow;
+import com.SBS_StudentServing_System.dto.export.DailyAttendanceExportRow;
+import com.SBS_StudentServing_System.dto.export.StudentEnrollmentExportRow;
+import com.SBS_StudentServing_System.dto.export.TuitionPaymentExportRow;
+import com.SBS_StudentServing_System.repository.academic.CourseResultRepository;
+import com.SBS_StudentServing_System.repository.academic.DailyAttendanceRepository;
+import com.SBS_StudentServing_System.repository.academic.StudentEnrollmentRepository;
+import com.SBS_StudentServing_System.repository.student.TuitionPaymentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Streams fact tables straight from a forward-only result set to the response, one row at a time,
+// so heap use does not depend on table size.
+@Service
+@RequiredArgsConstructor
+public class FactExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final DailyAttendanceRepository dailyAttendanceRepository;
+    private final CourseResultRepository courseResultRepository;
+    private final StudentEnrollmentRepository studentEnrollmentRepository;
+    private final TuitionPaymentRepository tuitionPaymentRepository;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public long exportDailyAttendance(LocalDate fromDate, LocalDate toDate, String semesterId,
+                                      ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<DailyAttendanceExportRow> rows = dailyAttendanceRepository.streamForExport(fromDate, toDate, semesterId)) {
+            return write(rows, DailyAttendanceExportRow.class, format, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportCourseResults(String semesterId, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<CourseResultExportRow> rows = courseResultRepository.streamForExport(semesterId)) {
+            return write(rows, CourseResultExportRow.class, format, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportStudentEnrollments(String semesterId, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<StudentEnrollmentExportRow> rows = studentEnrollmentRepository.streamForExport(semesterId)) {
+            return write(rows, StudentEnrollmentExportRow.class, format, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportTuitionPayments(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<TuitionPaymentExportRow> rows = tuitionPaymentRepository.streamForExport()) {
+            return write(rows, TuitionPaymentExportRow.class, format, out);
+        }
+    }
+
+    private <T extends Record> long write(Stream<T> rows, Class<T> type, ExportFormat format, OutputStream out)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        RecordComponent[] columns = type.getRecordComponents();
+
+        if (format == ExportFormat.CSV) {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) writer.write(',');
+                writer.write(columns[i].getName());
+            }
+            writer.write('\n');
+        }
+
+        long count = 0;
+        Iterator<T> it = rows.iterator();
+        while (it.hasNext()) {
+            T row = it.next();
+            if (format == ExportFormat.CSV) {
+                writeCsvRow(writer, row, columns);
+            } else {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+            if (++count % FLUSH_EVERY_ROWS == 0) {
+                writer.flush();
+                // Rows are projections, but clear anyway so nothing can accumulate in the session
+                entityManager.clear();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeCsvRow(Writer writer, Record row, RecordComponent[] columns) throws IOException {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) writer.write(',');
+            Object value;
+            try {
+                value = columns[i].getAccessor().invoke(row);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot read column " + columns[i].getName(), e);
+            }
+            if (value != null) {
+                writer.write(csvEscape(value.toString()));
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static String csvEscape(String value) {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,105 @@
+package com.SBS_StudentServing_System.service.student;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// RFC 4180 reader: quoted fields may contain commas, doubled quotes and line breaks
+final class CsvRowReader implements ImportRowReader {
+
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private int pushback = NONE;
+    private int line = 1;
+    private int rowNumber;
+    private boolean started;
+
+    CsvRowReader(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    @Override
+    public String[] next() throws IOException {
+        if (!started) {
+            started = true;
+            int first = read();
+            if (first != '\uFEFF') {
+                pushback = first;
+            }
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        rowNumber = line;
+
+        int c;
+        while ((c = read()) != -1) {
+            any = true;
+            if (quoted) {
+                if (c == '"') {
+                    int n = read();
+                    if (n == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        pushback = n;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int n = read();
+                    if (n != '\n') {
+                        pushback = n;
+                    }
+                }
+                line++;
+                break;
+            } else {
+                field.append((char) c);
+            }
+        }
+
+        if (!any) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    @Override
+    public int rowNumber() {
+        return rowNumber;
+    }
+
+    private int read() throws IOException {
+        if (pushback != NONE) {
+            int c = pushback;
+            pushback = NONE;
+            return c;
+        }
+        return reader.read();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,14 @@
+package com.SBS_StudentServing_System.service.student;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// Forward-only source of spreadsheet rows; implementations never hold more than the current row
+interface ImportRowReader extends Closeable {
+
+    // Next row's cell values, or null at end of input
+    String[] next() throws IOException;
+
+    // 1-based row (CSV: line) number of the row last returned by next()
+    int rowNumber();
+}
@@ -0,0 +1,589 @@
+package com.SBS_StudentServing_System.service.student;
+
+import com.SBS_StudentServing_System.dto.student.StudentCreateDto;
+import com.SBS_StudentServing_System.dto.student.StudentImportJobDto;
+import com.SBS_StudentServing_System.repository.account.LoginAccountRepository;
+import com.SBS_StudentServing_System.repository.student.CityRepository;
+import com.SBS_StudentServing_System.repository.student.StudentRepository;
+import com.SBS_StudentServing_System.repository.student.WardRepository;
+import com.SBS_StudentServing_System.service.account.PrincipalCache;
+import com.SBS_StudentServing_System.service.common.DimensionSnapshotService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk student onboarding from CSV or XLSX. The upload is parsed row by row on a background thread and written
+ * in chunks: initial passwords are hashed in parallel, City/Ward are resolved through a per-job cache, and
+ * accounts and students go in as JDBC batches in one transaction per chunk. Rejected rows are written to a
+ * CSV error report that can be downloaded once the job finishes.
+ */
+@Slf4j
+@Service
+public class StudentImportService {
+
+    private static final String DEFAULT_PASSWORD = "defaultPassword";
+    private static final String DEFAULT_ROLE = "STUDENT";
+    private static final int DEFAULT_ACCOUNT_STATUS = 1;
+    // Excel stores dates as days since 1899-12-30
+    private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 30);
+    private static final LocalDate MIN_DATE_OF_BIRTH = LocalDate.of(1900, 1, 1);
+
+    private static final String INSERT_CITY_SQL = "INSERT IGNORE INTO subdim_city (city_id, city_name) VALUES (?, ?)";
+    private static final String INSERT_WARD_SQL = "INSERT IGNORE INTO subdim_ward (ward_id, ward_name) VALUES (?, ?)";
+    private static final String INSERT_ACCOUNT_SQL = """
+            INSERT INTO dim_login_account (account_id, role, account_status, created_at, updated_at, password)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+    private static final String INSERT_STUDENT_SQL = """
+            INSERT INTO dim_student (student_id, account_id, first_name, last_name, date_of_birth, phone,
+                student_email, home_address, ward_id, city_id, street_address, building_name, gender,
+                nationality, national_id, study_plan_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final StudentRepository studentRepository;
+    private final LoginAccountRepository accountRepository;
+    private final CityRepository cityRepository;
+    private final WardRepository wardRepository;
+    private final DimensionSnapshotService dimensionSnapshotService;
+    private final PrincipalCache principalCache;
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+    private final long jobRetentionMillis;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "student-import");
+        t.setDaemon(true);
+        return t;
+    });
+    // Separate from the login hashing pool so an import never delays sign-ins queued there
+    private final ExecutorService hashExecutor;
+    private final Map<String, StudentImportJobDto> jobs = new ConcurrentHashMap<>();
+    private final Map<String, Path> errorReports = new ConcurrentHashMap<>();
+
+    public StudentImportService(StudentRepository studentRepository,
+                                LoginAccountRepository accountRepository,
+                                CityRepository cityRepository,
+                                WardRepository wardRepository,
+                                DimensionSnapshotService dimensionSnapshotService,
+                                PrincipalCache principalCache,
+                                BCryptPasswordEncoder passwordEncoder,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.student-import.chunk-size:500}") int chunkSize,
+                                @Value("${app.student-import.hash-threads:0}") int hashThreads,
+                                @Value("${app.student-import.job-retention-ms:86400000}") long jobRetentionMillis) {
+        this.studentRepository = studentRepository;
+        this.accountRepository = accountRepository;
+        this.cityRepository = cityRepository;
+        this.wardRepository = wardRepository;
+        this.dimensionSnapshotService = dimensionSnapshotService;
+        this.principalCache = principalCache;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.jobRetentionMillis = jobRetentionMillis;
+
+        int poolSize = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.hashExecutor = Executors.newFixedThreadPool(poolSize, r -> {
+            Thread t = new Thread(r, "student-import-hash-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Copies the upload to a temp file (the multipart part is gone once the request ends) and queues the job.
+     * Files ending in .xlsx are read as workbooks, everything else as UTF-8 CSV with a header row.
+     */
+    public StudentImportJobDto startImport(MultipartFile file) {
+        evictFinishedJobs();
+        String fileName = file.getOriginalFilename() != null ? file.getOriginalFilename() : "upload.csv";
+        boolean xlsx = fileName.toLowerCase(Locale.ROOT).endsWith(".xlsx");
+
+        Path upload;
+        try {
+            upload = Files.createTempFile("student-import-", xlsx ? ".xlsx" : ".csv");
+            file.transferTo(upload);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not store import file: " + e.getMessage(), e);
+        }
+
+        StudentImportJobDto job = new StudentImportJobDto();
+        job.setJobId(UUID.randomUUID().toString());
+        job.setFileName(fileName);
+        job.setStatus(StudentImportJobDto.QUEUED);
+        job.setCreatedAt(LocalDateTime.now());
+        jobs.put(job.getJobId(), job);
+
+        StudentImportJobDto queued = job.snapshot();
+        executor.submit(() -> runImport(job, upload, xlsx));
+        return queued;
+    }
+
+    // A copy taken under the job's lock, so counters and status are from the same moment
+    public StudentImportJobDto getJob(String jobId) {
+        StudentImportJobDto job = jobs.get(jobId);
+        return job != null ? job.snapshot() : null;
+    }
+
+    // Null until the job has finished
+    public Path getErrorReport(String jobId) {
+        StudentImportJobDto job = jobs.get(jobId);
+        if (job == null || job.getFinishedAt() == null) {
+            return null;
+        }
+        return errorReports.get(jobId);
+    }
+
+    private void runImport(StudentImportJobDto job, Path upload, boolean xlsx) {
+        job.start();
+        ImportContext context = new ImportContext();
+        String outcome = StudentImportJobDto.FAILED;
+        String failure = null;
+        try {
+            Path report = Files.createTempFile("student-import-errors-", ".csv");
+            errorReports.put(job.getJobId(), report);
+
+            try (ImportRowReader reader = open(upload, xlsx);
+                 Writer errors = Files.newBufferedWriter(report, StandardCharsets.UTF_8)) {
+                errors.write("row,studentId,error\n");
+
+                String[] header = reader.next();
+                if (header == null) {
+                    throw new IllegalArgumentException("File is empty");
+                }
+                Map<Integer, String> columns = mapHeader(header);
+
+                List<ImportRow> chunk = new ArrayList<>(chunkSize);
+                String[] values;
+                while ((values = reader.next()) != null) {
+                    if (isBlank(values)) {
+                        continue;
+                    }
+                    job.addProcessed(1);
+                    try {
+                        chunk.add(new ImportRow(reader.rowNumber(), toDto(columns, values, xlsx)));
+                    } catch (IllegalArgumentException e) {
+                        reject(job, errors, reader.rowNumber(), value(columns, values, "studentId"), e.getMessage());
+                    }
+                    if (chunk.size() >= chunkSize) {
+                        writeChunk(job, chunk, context, errors);
+                        chunk.clear();
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    writeChunk(job, chunk, context, errors);
+                }
+            }
+            outcome = StudentImportJobDto.COMPLETED;
+        } catch (IOException | RuntimeException e) {
+            log.error("Student import job {} failed after {} rows", job.getJobId(), job.getProcessed(), e);
+            failure = e.getMessage();
+        } finally {
+            if (context.dimensionsAdded) {
+                dimensionSnapshotService.refresh();
+            }
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException e) {
+                log.warn("Could not delete import upload {}", upload, e);
+            }
+            // Status and finish time are published together, once the upload and dimensions are settled
+            job.finish(outcome, failure);
+        }
+    }
+
+    private void writeChunk(StudentImportJobDto job, List<ImportRow> chunk, ImportContext context, Writer errors)
+            throws IOException {
+        // Ids already in the database, one IN query each for the whole chunk
+        Set<String> studentIds = new HashSet<>();
+        Set<String> accountIds = new HashSet<>();
+        for (ImportRow row : chunk) {
+            studentIds.add(row.dto().getStudentId());
+            accountIds.add(row.dto().getAccountId());
+        }
+        Set<String> existingStudents = studentRepository.findExistingIds(studentIds);
+        Set<String> existingAccounts = accountRepository.findExistingIds(accountIds);
+
+        List<ImportRow> accepted = new ArrayList<>(chunk.size());
+        Map<String, String> newCities = new LinkedHashMap<>();
+        Map<String, String> newWards = new LinkedHashMap<>();
+        for (ImportRow row : chunk) {
+            StudentCreateDto dto = row.dto();
+            String problem = null;
+            if (existingStudents.contains(dto.getStudentId()) || context.studentIds.contains(dto.getStudentId())) {
+                problem = "Student id already exists: " + dto.getStudentId();
+            } else if (existingAccounts.contains(dto.getAccountId()) || context.accountIds.contains(dto.getAccountId())) {
+                problem = "Account id already exists: " + dto.getAccountId();
+            } else if (!resolveCity(dto, context, newCities)) {
+                problem = "Unknown city " + dto.getCityId() + " and no cityName given";
+            } else if (!resolveWard(dto, context, newWards)) {
+                problem = "Unknown ward " + dto.getWardId() + " and no wardName given";
+            }
+            if (problem != null) {
+                reject(job, errors, row.rowNumber(), dto.getStudentId(), problem);
+            } else {
+                context.studentIds.add(dto.getStudentId());
+                context.accountIds.add(dto.getAccountId());
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        // BCrypt is the bulk of the per-row cost; spread it over every core
+        List<CompletableFuture<String>> hashes = new ArrayList<>(accepted.size());
+        for (ImportRow row : accepted) {
+            String raw = row.dto().getPassword() != null && !row.dto().getPassword().isEmpty()
+                    ? row.dto().getPassword() : DEFAULT_PASSWORD;
+            hashes.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(raw), hashExecutor));
+        }
+        List<String> hashed = new ArrayList<>(accepted.size());
+        for (CompletableFuture<String> hash : hashes) {
+            hashed.add(hash.join());
+        }
+
+        // Dimensions commit on their own; INSERT IGNORE tolerates another writer creating the same id
+        if (!newCities.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_CITY_SQL, new ArrayList<>(newCities.entrySet()), newCities.size(),
+                    (ps, city) -> {
+                        ps.setString(1, city.getKey());
+                        ps.setString(2, city.getValue());
+                    });
+            context.dimensionsAdded = true;
+        }
+        if (!newWards.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_WARD_SQL, new ArrayList<>(newWards.entrySet()), newWards.size(),
+                    (ps, ward) -> {
+                        ps.setString(1, ward.getKey());
+                        ps.setString(2, ward.getValue());
+                    });
+            context.dimensionsAdded = true;
+        }
+
+        try {
+            chunkTransaction.executeWithoutResult(status -> insertChunk(accepted, hashed));
+        } catch (RuntimeException e) {
+            // The chunk rolled back as a whole; report every row so the file can be fixed and re-run
+            log.warn("Student import job {} chunk ending at row {} failed", job.getJobId(),
+                    accepted.get(accepted.size() - 1).rowNumber(), e);
+            for (ImportRow row : accepted) {
+                context.studentIds.remove(row.dto().getStudentId());
+                context.accountIds.remove(row.dto().getAccountId());
+                reject(job, errors, row.rowNumber(), row.dto().getStudentId(), "Chunk failed: " + e.getMessage());
+            }
+            return;
+        }
+
+        job.addImported(accepted.size());
+        for (ImportRow row : accepted) {
+            principalCache.evict(row.dto().getAccountId());
+        }
+    }
+
+    private void insertChunk(List<ImportRow> rows, List<String> hashed) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Integer> indexes = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            indexes.add(i);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_ACCOUNT_SQL, indexes, rows.size(), (ps, i) -> {
+            StudentCreateDto dto = rows.get(i).dto();
+            ps.setString(1, dto.getAccountId());
+            ps.setString(2, dto.getAccountRole() != null && !dto.getAccountRole().isBlank() ? dto.getAccountRole() : DEFAULT_ROLE);
+            ps.setInt(3, dto.getAccountStatus() != null ? dto.getAccountStatus() : DEFAULT_ACCOUNT_STATUS);
+            ps.setTimestamp(4, now);
+            ps.setTimestamp(5, now);
+            ps.setString(6, hashed.get(i));
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_STUDENT_SQL, indexes, rows.size(), (ps, i) -> {
+            StudentCreateDto dto = rows.get(i).dto();
+            ps.setString(1, dto.getStudentId());
+            ps.setString(2, dto.getAccountId());
+            ps.setString(3, dto.getFirstName());
+            ps.setString(4, dto.getLastName());
+            if (dto.getDateOfBirth() != null) {
+                ps.setDate(5, Date.valueOf(dto.getDateOfBirth()));
+            } else {
+                ps.setNull(5, Types.DATE);
+            }
+            ps.setString(6, dto.getPhone());
+            ps.setString(7, dto.getStudentEmail());
+            ps.setString(8, dto.getHomeAddress());
+            ps.setString(9, emptyToNull(dto.getWardId()));
+            ps.setString(10, dto.getCityId());
+            ps.setString(11, dto.getStreetAddress());
+            ps.setString(12, dto.getBuildingName());
+            if (dto.getGender() != null) {
+                ps.setInt(13, dto.getGender());
+            } else {
+                ps.setNull(13, Types.INTEGER);
+            }
+            ps.setString(14, dto.getNationality());
+            ps.setString(15, dto.getNationalId());
+            ps.setString(16, dto.getStudyPlanId());
+        });
+    }
+
+    // City is mandatory on dim_student; known ids are cached for the rest of the job
+    private boolean resolveCity(StudentCreateDto dto, ImportContext context, Map<String, String> newCities) {
+        String cityId = dto.getCityId();
+        Boolean known = context.cities.computeIfAbsent(cityId,
+                id -> dimensionSnapshotService.city(id).isPresent() || cityRepository.existsById(id));
+        if (known) {
+            return true;
+        }
+        if (dto.getCityName() == null || dto.getCityName().isBlank()) {
+            return false;
+        }
+        newCities.put(cityId, dto.getCityName());
+        context.cities.put(cityId, true);
+        return true;
+    }
+
+    private boolean resolveWard(StudentCreateDto dto, ImportContext context, Map<String, String> newWards) {
+        String wardId = emptyToNull(dto.getWardId());
+        if (wardId == null) {
+            return true;
+        }
+        Boolean known = context.wards.computeIfAbsent(wardId,
+                id -> dimensionSnapshotService.ward(id).isPresent() || wardRepository.existsById(id));
+        if (known) {
+            return true;
+        }
+        if (dto.getWardName() == null || dto.getWardName().isBlank()) {
+            return false;
+        }
+        newWards.put(wardId, dto.getWardName());
+        context.wards.put(wardId, true);
+        return true;
+    }
+
+    private ImportRowReader open(Path upload, boolean xlsx) throws IOException {
+        if (xlsx) {
+            return new XlsxRowReader(upload);
+        }
+        InputStream in = Files.newInputStream(upload);
+        return new CsvRowReader(in);
+    }
+
+    // Header cells are matched to StudentCreateDto properties ignoring case, spaces and underscores
+    private static Map<Integer, String> mapHeader(String[] header) {
+        Map<String, String> known = new HashMap<>();
+        for (String property : List.of("studentId", "accountId", "firstName", "lastName", "dateOfBirth", "phone",
+                "studentEmail", "homeAddress", "wardId", "wardName", "cityId", "cityName", "streetAddress",
+                "buildingName", "gender", "nationality", "nationalId", "studyPlanId", "password",
+                "accountRole", "accountStatus")) {
+            known.put(normalize(property), property);
+        }
+
+        Map<Integer, String> columns = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            String property = header[i] != null ? known.get(normalize(header[i])) : null;
+            if (property != null) {
+                columns.put(i, property);
+            }
+        }
+        for (String required : List.of("studentId", "accountId", "cityId")) {
+            if (!columns.containsValue(required)) {
+                throw new IllegalArgumentException("Missing required column: " + required);
+            }
+        }
+        return columns;
+    }
+
+    private static StudentCreateDto toDto(Map<Integer, String> columns, String[] values, boolean xlsx) {
+        StudentCreateDto dto = new StudentCreateDto();
+        for (Map.Entry<Integer, String> column : columns.entrySet()) {
+            String value = column.getKey() < values.length ? emptyToNull(values[column.getKey()]) : null;
+            if (value == null) {
+                continue;
+            }
+            switch (column.getValue()) {
+                case "studentId" -> dto.setStudentId(value);
+                case "accountId" -> dto.setAccountId(value);
+                case "firstName" -> dto.setFirstName(value);
+                case "lastName" -> dto.setLastName(value);
+                case "dateOfBirth" -> dto.setDateOfBirth(parseDate(value, xlsx));
+                case "phone" -> dto.setPhone(value);
+                case "studentEmail" -> dto.setStudentEmail(value);
+                case "homeAddress" -> dto.setHomeAddress(value);
+                case "wardId" -> dto.setWardId(value);
+                case "wardName" -> dto.setWardName(value);
+                case "cityId" -> dto.setCityId(value);
+                case "cityName" -> dto.setCityName(value);
+                case "streetAddress" -> dto.setStreetAddress(value);
+                case "buildingName" -> dto.setBuildingName(value);
+                case "gender" -> dto.setGender(parseInteger("gender", value));
+                case "nationality" -> dto.setNationality(value);
+                case "nationalId" -> dto.setNationalId(value);
+                case "studyPlanId" -> dto.setStudyPlanId(value);
+                case "password" -> dto.setPassword(value);
+                case "accountRole" -> dto.setAccountRole(value);
+                case "accountStatus" -> dto.setAccountStatus(parseInteger("accountStatus", value));
+                default -> {
+                }
+            }
+        }
+        if (dto.getStudentId() == null) {
+            throw new IllegalArgumentException("studentId is required");
+        }
+        if (dto.getAccountId() == null) {
+            throw new IllegalArgumentException("accountId is required");
+        }
+        if (dto.getCityId() == null) {
+            throw new IllegalArgumentException("cityId is required");
+        }
+        return dto;
+    }
+
+    /**
+     * ISO dates, or on the workbook path Excel serial day numbers from date-formatted cells. A CSV value such as
+     * 19990101 is not a serial number and is rejected. Dates outside {@link #MIN_DATE_OF_BIRTH} to today are
+     * rejected too, so the row fails on its own instead of failing its whole chunk in the database.
+     */
+    static LocalDate parseDate(String value, boolean serialDays) {
+        LocalDate date;
+        try {
+            date = serialDays && value.chars().allMatch(Character::isDigit)
+                    ? EXCEL_EPOCH.plusDays(Long.parseLong(value))
+                    : LocalDate.parse(value);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid dateOfBirth (expected yyyy-MM-dd): " + value);
+        }
+        if (date.isBefore(MIN_DATE_OF_BIRTH) || date.isAfter(LocalDate.now())) {
+            throw new IllegalArgumentException("dateOfBirth out of range: " + value);
+        }
+        return date;
+    }
+
+    private static Integer parseInteger(String column, String value) {
+        try {
+            return new BigDecimal(value).intValueExact();
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static String value(Map<Integer, String> columns, String[] values, String property) {
+        for (Map.Entry<Integer, String> column : columns.entrySet()) {
+            if (column.getValue().equals(property) && column.getKey() < values.length) {
+                return values[column.getKey()];
+            }
+        }
+        return null;
+    }
+
+    private static void reject(StudentImportJobDto job, Writer errors, int rowNumber, String studentId, String message)
+            throws IOException {
+        job.addRejected(1);
+        errors.write(rowNumber + "," + csvEscape(studentId) + "," + csvEscape(message) + "\n");
+    }
+
+    private static String csvEscape(String value) {
+        if (value == null) {
+            return "";
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+    private static boolean isBlank(String[] values) {
+        for (String value : values) {
+            if (value != null && !value.isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static String normalize(String header) {
+        return header.replace("_", "").replace(" ", "").trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(jobRetentionMillis * 1_000_000);
+        Iterator<StudentImportJobDto> it = jobs.values().iterator();
+        while (it.hasNext()) {
+            StudentImportJobDto job = it.next();
+            if (job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff)) {
+                it.remove();
+                Path report = errorReports.remove(job.getJobId());
+                if (report != null) {
+                    try {
+                        Files.deleteIfExists(report);
+                    } catch (IOException e) {
+                        log.warn("Could not delete import error report {}", report, e);
+                    }
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        hashExecutor.shutdownNow();
+    }
+
+    private record ImportRow(int rowNumber, StudentCreateDto dto) {
+    }
+
+    // Per-job caches: dimension ids already resolved and ids already claimed by earlier rows of the file
+    private static final class ImportContext {
+        private final Map<String, Boolean> cities = new HashMap<>();
+        private final Map<String, Boolean> wards = new HashMap<>();
+        private final Set<String> studentIds = new HashSet<>();
+        private final Set<String> accountIds = new HashSet<>();
+        private boolean dimensionsAdded;
+    }
+}
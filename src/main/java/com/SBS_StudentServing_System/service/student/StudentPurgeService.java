@@ -0,0 +1,199 @@
+package com.SBS_StudentServing_System.service.student;
+
+import com.SBS_StudentServing_System.dto.student.StudentPurgeJobDto;
+import com.SBS_StudentServing_System.service.academic.ClassTimelineCache;
+import com.SBS_StudentServing_System.service.account.PrincipalCache;
+import com.SBS_StudentServing_System.service.upload.ContentBlobStore;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Removes students together with everything that references them using set-based JPQL deletes
+ * ({@code DELETE ... WHERE student IN (...)}) instead of loading and deleting rows one by one.
+ * Cohort purges run on a background thread and commit one chunk of students at a time. Blob references held
+ * by the deleted academic backgrounds and certificates are released in the same transaction, and certificate
+ * rows (which carry the student's name and email) are deleted with the rest.
+ */
+@Slf4j
+@Service
+public class StudentPurgeService {
+
+    // Children before parents: visa extensions reference passports, tuition payments reference scholarships
+    private static final List<String> DEPENDENT_ENTITIES = List.of(
+            "VisaExtensionRequest",
+            "VisaPassport",
+            "TuitionPayment",
+            "StudentScholarship",
+            "HealthInsurance",
+            "TranscriptIssueRequest",
+            "DailyAttendance",
+            "AttendanceSummary",
+            "CourseResult",
+            "StudentEnrollment",
+            "StudentProgressSummary",
+            "StudentEnglishPlacementTest",
+            "StudentAcademicBackground"
+    );
+
+    // Rows that store a blob key or document URL in a column the blob store counts references from
+    private static final String DOCUMENT_URLS_QUERY =
+            "SELECT e.documentUrl FROM StudentAcademicBackground e WHERE e.student.studentId IN :ids AND e.documentUrl IS NOT NULL";
+    private static final String CERTIFICATE_PATHS_QUERY =
+            "SELECT c.filePath FROM Certificate c WHERE c.studentId IN :ids AND c.filePath IS NOT NULL";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ContentBlobStore contentBlobStore;
+    private final PrincipalCache principalCache;
+    private final ClassTimelineCache classTimelineCache;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+    private final long jobRetentionMillis;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "student-purge");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Map<String, StudentPurgeJobDto> jobs = new ConcurrentHashMap<>();
+
+    public StudentPurgeService(ContentBlobStore contentBlobStore,
+                               PrincipalCache principalCache,
+                               ClassTimelineCache classTimelineCache,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.student-purge.chunk-size:50}") int chunkSize,
+                               @Value("${app.student-purge.job-retention-ms:86400000}") long jobRetentionMillis) {
+        this.contentBlobStore = contentBlobStore;
+        this.principalCache = principalCache;
+        this.classTimelineCache = classTimelineCache;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.jobRetentionMillis = jobRetentionMillis;
+    }
+
+    /**
+     * Deletes the given students, their login accounts and all dependent rows inside the caller's transaction.
+     * Returns the number of students removed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int purgeStudents(Collection<String> studentIds) {
+        if (studentIds.isEmpty()) {
+            return 0;
+        }
+
+        List<String> accountIds = entityManager.createQuery(
+                        "SELECT s.loginAccount.accountId FROM Student s WHERE s.studentId IN :ids AND s.loginAccount IS NOT NULL",
+                        String.class)
+                .setParameter("ids", studentIds)
+                .getResultList();
+
+        // One release per referencing row, as the single-row deletes in the owning services do
+        List<String> blobPaths = new ArrayList<>();
+        blobPaths.addAll(entityManager.createQuery(DOCUMENT_URLS_QUERY, String.class)
+                .setParameter("ids", studentIds)
+                .getResultList());
+        blobPaths.addAll(entityManager.createQuery(CERTIFICATE_PATHS_QUERY, String.class)
+                .setParameter("ids", studentIds)
+                .getResultList());
+
+        // Certificates hold the student id as a plain column rather than an association
+        entityManager.createQuery("DELETE FROM Certificate c WHERE c.studentId IN :ids")
+                .setParameter("ids", studentIds)
+                .executeUpdate();
+        for (String entity : DEPENDENT_ENTITIES) {
+            entityManager.createQuery("DELETE FROM " + entity + " e WHERE e.student.studentId IN :ids")
+                    .setParameter("ids", studentIds)
+                    .executeUpdate();
+        }
+        int deleted = entityManager.createQuery("DELETE FROM Student s WHERE s.studentId IN :ids")
+                .setParameter("ids", studentIds)
+                .executeUpdate();
+        if (!accountIds.isEmpty()) {
+            entityManager.createQuery("DELETE FROM LoginAccount la WHERE la.accountId IN :ids")
+                    .setParameter("ids", accountIds)
+                    .executeUpdate();
+        }
+        blobPaths.forEach(contentBlobStore::release);
+
+        // Bulk statements bypass the persistence context; drop anything it still holds for these rows
+        entityManager.clear();
+        accountIds.forEach(principalCache::evict);
+        classTimelineCache.evictStudents(List.copyOf(studentIds));
+        return deleted;
+    }
+
+    public StudentPurgeJobDto startCohortPurge(Collection<String> studentIds) {
+        evictFinishedJobs();
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(studentIds));
+
+        StudentPurgeJobDto job = new StudentPurgeJobDto();
+        job.setJobId(UUID.randomUUID().toString());
+        job.setStatus(StudentPurgeJobDto.QUEUED);
+        job.setTotal(ids.size());
+        job.setCreatedAt(LocalDateTime.now());
+        jobs.put(job.getJobId(), job);
+
+        StudentPurgeJobDto queued = job.snapshot();
+        executor.submit(() -> runCohortPurge(job, ids));
+        return queued;
+    }
+
+    // A copy taken under the job's lock, so counters and status are from the same moment
+    public StudentPurgeJobDto getJob(String jobId) {
+        StudentPurgeJobDto job = jobs.get(jobId);
+        return job != null ? job.snapshot() : null;
+    }
+
+    private void runCohortPurge(StudentPurgeJobDto job, List<String> ids) {
+        job.start();
+        try {
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<String> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                // Each chunk commits on its own, so a failure only rolls back the current chunk
+                Integer deleted = chunkTransaction.execute(status -> purgeStudents(chunk));
+                job.addProgress(chunk.size(), deleted != null ? deleted : 0);
+            }
+            job.finish(StudentPurgeJobDto.COMPLETED, null);
+        } catch (RuntimeException e) {
+            log.error("Student purge job {} failed after {} of {} students", job.getJobId(), job.getProcessed(), job.getTotal(), e);
+            job.finish(StudentPurgeJobDto.FAILED, e.getMessage());
+        }
+    }
+
+    private void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(jobRetentionMillis * 1_000_000);
+        Iterator<StudentPurgeJobDto> it = jobs.values().iterator();
+        while (it.hasNext()) {
+            StudentPurgeJobDto job = it.next();
+            if (job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff)) {
+                it.remove();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -2,6 +2,7 @@ package com.SBS_StudentServing_System.service.student;
 
 import com.SBS_StudentServing_System.dto.student.StudentCreateDto;
 import com.SBS_StudentServing_System.dto.student.StudentDto;
+import com.SBS_StudentServing_System.dto.student.StudentRow;
 import com.SBS_StudentServing_System.dto.account.LoginAccountDto;
 import com.SBS_StudentServing_System.model.student.Student;
 import com.SBS_StudentServing_System.model.account.LoginAccount;
@@ -11,19 +12,12 @@ import com.SBS_StudentServing_System.repository.student.StudentRepository;
 import com.SBS_StudentServing_System.repository.account.LoginAccountRepository;
 import com.SBS_StudentServing_System.repository.student.CityRepository;
 import com.SBS_StudentServing_System.repository.student.WardRepository;
-import com.SBS_StudentServing_System.repository.academic.StudentEnrollmentRepository;
-import com.SBS_StudentServing_System.repository.academic.AttendanceSummaryRepository;
-import com.SBS_StudentServing_System.repository.academic.CourseResultRepository;
-import com.SBS_StudentServing_System.repository.academic.DailyAttendanceRepository;
-import com.SBS_StudentServing_System.repository.academic.StudentAcademicBackgroundRepository;
-import com.SBS_StudentServing_System.repository.academic.StudentEnglishPlacementTestRepository;
-import com.SBS_StudentServing_System.repository.academic.StudentProgressSummaryRepository;
-import com.SBS_StudentServing_System.repository.academic.Transcript_Issue_Repository;
-import com.SBS_StudentServing_System.repository.student.StudentScholarshipRepository;
-import com.SBS_StudentServing_System.repository.student.VisaPassportRepository;
-import com.SBS_StudentServing_System.repository.student.VisaExtensionRequestRepository;
-import com.SBS_StudentServing_System.repository.student.TuitionPaymentRepository;
-import com.SBS_StudentServing_System.repository.student.HealthInsuranceRepository;
+import com.SBS_StudentServing_System.service.account.PrincipalCache;
+import com.SBS_StudentServing_System.service.common.KeysetPageRequest;
+import com.SBS_StudentServing_System.service.common.KeysetPager;
+import com.SBS_StudentServing_System.service.common.KeysetSpec;
+import com.SBS_StudentServing_System.service.common.DimensionSnapshotService;
+import com.SBS_StudentServing_System.dto.common.CursorPage;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -36,72 +30,57 @@ import java.util.stream.Collectors;
 @Service
 public class StudentService {
 
+    private static final KeysetSpec<Student> PAGE_SPEC = KeysetSpec.of(Student.class, "studentId")
+            .sortable("studentId", "studentId")
+            .sortable("lastName", "lastName")
+            .sortable("firstName", "firstName")
+            .filterable("studyPlanId", "studyPlanId")
+            .filterable("nationality", "nationality")
+            .filterable("gender", "gender")
+            .filterable("cityId", "city.cityId")
+            .filterable("wardId", "ward.wardId");
+
     private final StudentRepository studentRepository;
     private final LoginAccountRepository accountRepository;
     private final CityRepository cityRepository;
     private final WardRepository wardRepository;
     private final BCryptPasswordEncoder passwordEncoder;
     
-// Academic repositoriesfor deleting related data
-    private final StudentEnrollmentRepository studentEnrollmentRepository;
-    private final AttendanceSummaryRepository attendanceSummaryRepository;
-    private final CourseResultRepository courseResultRepository;
-    private final DailyAttendanceRepository dailyAttendanceRepository;
-    private final StudentAcademicBackgroundRepository studentAcademicBackgroundRepository;
-private final StudentEnglishPlacementTestRepository studentEnglishPlacementTestRepository;
-    private final StudentProgressSummaryRepository studentProgressSummaryRepository;
-    private final Transcript_Issue_Repository transcriptIssueRequestRepository;
-    private final StudentScholarshipRepository studentScholarshipRepository;
-    private final VisaPassportRepository visaPassportRepository;
-    private final VisaExtensionRequestRepository visaExtensionRequestRepository;
-    private final TuitionPaymentRepository tuitionPaymentRepository;
-    private final HealthInsuranceRepository healthInsuranceRepository;
+    private final PrincipalCache principalCache;
+    private final KeysetPager keysetPager;
+    private final DimensionSnapshotService dimensionSnapshotService;
+    private final StudentPurgeService studentPurgeService;
 
     public StudentService(StudentRepository studentRepository, LoginAccountRepository accountRepository, 
                          CityRepository cityRepository, WardRepository wardRepository, 
                          BCryptPasswordEncoder passwordEncoder,
-                         StudentEnrollmentRepository studentEnrollmentRepository,
-                         AttendanceSummaryRepository attendanceSummaryRepository,
-                         CourseResultRepository courseResultRepository,
-                         DailyAttendanceRepository dailyAttendanceRepository,
-                         StudentAcademicBackgroundRepository studentAcademicBackgroundRepository,
-                         StudentEnglishPlacementTestRepository studentEnglishPlacementTestRepository,
-                        StudentProgressSummaryRepository studentProgressSummaryRepository,
-                         Transcript_Issue_Repository transcriptIssueRequestRepository,
-                         StudentScholarshipRepository studentScholarshipRepository,
-                         VisaPassportRepository visaPassportRepository,
-                         VisaExtensionRequestRepository visaExtensionRequestRepository,
-                         TuitionPaymentRepository tuitionPaymentRepository,
-                         HealthInsuranceRepository healthInsuranceRepository) {
+                         PrincipalCache principalCache,
+                         KeysetPager keysetPager,
+                         DimensionSnapshotService dimensionSnapshotService,
+                         StudentPurgeService studentPurgeService) {
         this.studentRepository = studentRepository;
         this.accountRepository = accountRepository;
         this.cityRepository = cityRepository;
         this.wardRepository = wardRepository;
         this.passwordEncoder = passwordEncoder;
-        this.studentEnrollmentRepository = studentEnrollmentRepository;
-        this.attendanceSummaryRepository = attendanceSummaryRepository;
-        this.courseResultRepository = courseResultRepository;
-        this.dailyAttendanceRepository = dailyAttendanceRepository;
-        this.studentAcademicBackgroundRepository = studentAcademicBackgroundRepository;
-        this.studentEnglishPlacementTestRepository = studentEnglishPlacementTestRepository;
-        this.studentProgressSummaryRepository = studentProgressSummaryRepository;
-        this.transcriptIssueRequestRepository = transcriptIssueRequestRepository;
-        this.studentScholarshipRepository = studentScholarshipRepository;
-        this.visaPassportRepository = visaPassportRepository;
-        this.visaExtensionRequestRepository = visaExtensionRequestRepository;
-        this.tuitionPaymentRepository = tuitionPaymentRepository;
-        this.healthInsuranceRepository = healthInsuranceRepository;
+        this.principalCache = principalCache;
+        this.keysetPager = keysetPager;
+        this.dimensionSnapshotService = dimensionSnapshotService;
+        this.studentPurgeService = studentPurgeService;
     }
 
    public List<StudentDto> getAllStudents() {
-        return studentRepository.findAll().stream()
-                .map(this::toDto)
+        return studentRepository.findAllRows().stream()
+                .map(StudentRow::toDto)
                 .collect(Collectors.toList());
     }
 
+    public CursorPage<StudentDto> getStudentPage(KeysetPageRequest request) {
+        return keysetPager.page(PAGE_SPEC, request, this::toDto);
+    }
+
    public StudentDto getStudent(String studentId) {
-        Optional<Student> studentOpt= studentRepository.findById(studentId);
-        return studentOpt.map(this::toDto).orElse(null);
+        return studentRepository.findRowById(studentId).map(StudentRow::toDto).orElse(null);
     }
 
     @Transactional
@@ -109,7 +88,7 @@ private final StudentEnglishPlacementTestRepository studentEnglishPlacementTestR
         // Create or get city
         City city =null;
 if (dto.getCityId() != null && !dto.getCityId().isEmpty()) {
-            Optional<City> cityOpt = cityRepository.findById(dto.getCityId());
+            Optional<City> cityOpt = findCity(dto.getCityId());
             if (cityOpt.isPresent()) {
                 city = cityOpt.get();
             } else if (dto.getCityName() != null&& !dto.getCityName().isEmpty()) {
@@ -118,13 +97,14 @@ city = new City();
                 city.setCityId(dto.getCityId());
 city.setCityName(dto.getCityName());
                 city = cityRepository.save(city);
+                dimensionSnapshotService.refresh();
             }
         }
 
         // Create or get ward
         Ward ward = null;
 if (dto.getWardId() != null && !dto.getWardId().isEmpty()) {
-            Optional<Ward> wardOpt =wardRepository.findById(dto.getWardId());
+            Optional<Ward> wardOpt =findWard(dto.getWardId());
             if (wardOpt.isPresent()) {
                 ward = wardOpt.get();
             } else if (dto.getWardName()!= null && !dto.getWardName().isEmpty()) {
@@ -133,6 +113,7 @@ if (dto.getWardId() != null && !dto.getWardId().isEmpty()) {
                 ward.setWardId(dto.getWardId());
                 ward.setWardName(dto.getWardName());
                 ward = wardRepository.save(ward);
+                dimensionSnapshotService.refresh();
             }
         }
 
@@ -172,6 +153,7 @@ student.setCity(city);
       student.setWard(ward);
 
         Student savedStudent = studentRepository.save(student);
+        principalCache.evict(savedAccount.getAccountId());
         return toDto(savedStudent);
     }
 
@@ -186,7 +168,7 @@ student.setCity(city);
 
         // Update cityif needed
         if (dto.getCityId() != null && !dto.getCityId().isEmpty()) {
-            Optional<City> cityOpt = cityRepository.findById(dto.getCityId());
+            Optional<City> cityOpt = findCity(dto.getCityId());
             City city;
             if(cityOpt.isPresent()) {
                 city = cityOpt.get();
@@ -196,6 +178,7 @@ student.setCity(city);
                 city.setCityId(dto.getCityId());
                 city.setCityName(dto.getCityName());
                 city= cityRepository.save(city);
+                dimensionSnapshotService.refresh();
             }else {
                 city = null;
             }
@@ -204,7 +187,7 @@ student.setCity(city);
 
         // Update ward if needed
         if (dto.getWardId() != null && !dto.getWardId().isEmpty()) {
-            Optional<Ward> wardOpt=wardRepository.findById(dto.getWardId());
+            Optional<Ward> wardOpt=findWard(dto.getWardId());
             Ward ward;
             if (wardOpt.isPresent()) {
                 ward = wardOpt.get();
@@ -214,6 +197,7 @@ student.setCity(city);
                ward.setWardId(dto.getWardId());
 ward.setWardName(dto.getWardName());
                 ward = wardRepository.save(ward);
+                dimensionSnapshotService.refresh();
             }else {
                 ward = null;
             }
@@ -246,6 +230,7 @@ ward.setWardName(dto.getWardName());
             }
             
             accountRepository.save(account);
+            principalCache.evict(account.getAccountId());
         }
 
         Student updatedStudent = studentRepository.save(student);
@@ -254,95 +239,13 @@ ward.setWardName(dto.getWardName());
 
     @Transactional
     public boolean deleteStudent(String studentId) {
-        Optional<Student> studentOpt = studentRepository.findById(studentId);
-       if (studentOpt.isEmpty()) {
+        if (!studentRepository.existsById(studentId)) {
             return false;
         }
 
-        // Delete all related academic records first
-        // Note: We're not deleting City and Ward entities as they can be shared among students
-        deleteRelatedAcademicData(studentId);
-
-        // Delete student scholarship records
-        studentScholarshipRepository.deleteAll(
-            studentScholarshipRepository.findByStudent_StudentId(studentId)
-        );
-
-        Student student = studentOpt.get();
-        LoginAccount account = student.getLoginAccount();
-
-        // Delete student first
-       studentRepository.delete(student);
-
-        // Then delete the account
-        if (account != null) {
-            accountRepository.delete(account);
-        }
-
-        return true;
-    }
-
-    @Transactional
-    private void deleteRelatedAcademicData(String studentId) {
-        // Delete student enrollments
-        studentEnrollmentRepository.deleteAll(
-            studentEnrollmentRepository.findByStudentStudentId(studentId)
-        );
-        
-        // Delete attendance summaries
-        attendanceSummaryRepository.deleteAll(
-            attendanceSummaryRepository.findByStudentStudentId(studentId)
-        );
-        
-        // Delete course results
-        courseResultRepository.deleteAll(
-            courseResultRepository.findByStudentStudentId(studentId)
-        );
-        
-        // Delete daily attendance records
-        dailyAttendanceRepository.deleteAll(
-            dailyAttendanceRepository.findByStudentStudentId(studentId)
-        );
-        
-        // Delete student academic backgrounds
-        studentAcademicBackgroundRepository.deleteAll(
-            studentAcademicBackgroundRepository.findByStudentStudentId(studentId)
-        );
-        
-        // Delete English placement tests
-        studentEnglishPlacementTestRepository.deleteAll(
-            studentEnglishPlacementTestRepository.findByStudentStudentId(studentId)
-        );
-        
-        // Delete student progress summaries
-        studentProgressSummaryRepository.deleteAll(
-            studentProgressSummaryRepository.findByStudentStudentId(studentId)
-        );
-        
-        // Delete transcript issue requests
-        transcriptIssueRequestRepository.deleteAll(
-            transcriptIssueRequestRepository.findByStudentStudentId(studentId)
-        );
-        
-        // Delete student visa passports
-        visaPassportRepository.deleteAll(
-            visaPassportRepository.findByStudent_StudentId(studentId)
-        );
-        
-        // Delete student visa extension requests
-        visaExtensionRequestRepository.deleteAll(
-            visaExtensionRequestRepository.findByStudent_StudentId(studentId)
-        );
-        
-        // Delete student tuition payments
-        tuitionPaymentRepository.deleteAll(
-            tuitionPaymentRepository.findByStudent_StudentId(studentId)
-        );
-        
-        // Delete student health insurance records
-        healthInsuranceRepository.deleteAll(
-            healthInsuranceRepository.findByStudent_StudentId(studentId)
-        );
+        // Dependent rows, the student and its login account go in set-based deletes (see StudentPurgeService).
+        // City and Ward are not deleted as they can be shared among students
+        return studentPurgeService.purgeStudents(List.of(studentId)) > 0;
     }
 
 @Transactional
@@ -358,11 +261,23 @@ ward.setWardName(dto.getWardName());
 account.setAccountStatus(account.getAccountStatus() == 1 ? 0 : 1);
             account.setUpdatedAt(LocalDateTime.now());
             accountRepository.save(account);
+            principalCache.evict(account.getAccountId());
         }
 
         return toDto(student);
     }
 
+    // City/ward come from the dimension snapshot; the repository is only hit for rows this node has not seen yet
+    private Optional<City> findCity(String cityId) {
+        Optional<City> city = dimensionSnapshotService.city(cityId);
+        return city.isPresent() ? city : cityRepository.findById(cityId);
+    }
+
+    private Optional<Ward> findWard(String wardId) {
+        Optional<Ward> ward = dimensionSnapshotService.ward(wardId);
+        return ward.isPresent() ? ward : wardRepository.findById(wardId);
+    }
+
     private StudentDto toDto(Student student) {
         StudentDto dto = new StudentDto();
         dto.setStudentId(student.getStudentId());
@@ -0,0 +1,202 @@
+package com.SBS_StudentServing_System.service.student;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+// Streams the first worksheet of an .xlsx with StAX, so only the shared-string table is held in memory.
+// Numeric cells come back in plain notation ("912345678", not "9.12345678E8").
+final class XlsxRowReader implements ImportRowReader {
+
+    private static final String SHARED_STRINGS = "xl/sharedStrings.xml";
+    private static final String FIRST_SHEET = "xl/worksheets/sheet1.xml";
+
+    private final ZipFile zip;
+    private final List<String> sharedStrings;
+    private final XMLStreamReader sheet;
+    private int rowNumber;
+
+    XlsxRowReader(Path file) throws IOException {
+        this.zip = new ZipFile(file.toFile());
+        try {
+            this.sharedStrings = readSharedStrings();
+            this.sheet = factory().createXMLStreamReader(zip.getInputStream(firstSheet()));
+        } catch (XMLStreamException | IOException | RuntimeException e) {
+            zip.close();
+            throw e instanceof IOException io ? io : new IOException("Unreadable workbook", e);
+        }
+    }
+
+    @Override
+    public String[] next() throws IOException {
+        try {
+            while (sheet.hasNext()) {
+                if (sheet.next() == XMLStreamConstants.START_ELEMENT && "row".equals(sheet.getLocalName())) {
+                    return readRow();
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed worksheet near row " + rowNumber, e);
+        }
+    }
+
+    @Override
+    public int rowNumber() {
+        return rowNumber;
+    }
+
+    private String[] readRow() throws XMLStreamException {
+        String ref = sheet.getAttributeValue(null, "r");
+        rowNumber = ref != null ? Integer.parseInt(ref) : rowNumber + 1;
+
+        List<String> cells = new ArrayList<>();
+        int column = 0;
+        String type = null;
+        StringBuilder value = null;
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                switch (sheet.getLocalName()) {
+                    case "c" -> {
+                        String cellRef = sheet.getAttributeValue(null, "r");
+                        column = cellRef != null ? columnIndex(cellRef) : cells.size();
+                        type = sheet.getAttributeValue(null, "t");
+                        value = new StringBuilder();
+                    }
+                    case "v", "t" -> {
+                        String text = sheet.getElementText();
+                        if (value != null) {
+                            value.append(text);
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                String name = sheet.getLocalName();
+                if ("c".equals(name) && value != null) {
+                    // Empty cells are omitted from the XML; pad the gap so indexes line up with the header
+                    while (cells.size() < column) {
+                        cells.add(null);
+                    }
+                    cells.add(cellValue(type, value.toString()));
+                    value = null;
+                } else if ("row".equals(name)) {
+                    break;
+                }
+            }
+        }
+        return cells.toArray(new String[0]);
+    }
+
+    private String cellValue(String type, String raw) {
+        if (raw.isEmpty()) {
+            return null;
+        }
+        if ("s".equals(type)) {
+            int index = Integer.parseInt(raw.trim());
+            return index < sharedStrings.size() ? sharedStrings.get(index) : null;
+        }
+        if (type == null || "n".equals(type)) {
+            try {
+                return new BigDecimal(raw.trim()).stripTrailingZeros().toPlainString();
+            } catch (NumberFormatException e) {
+                return raw;
+            }
+        }
+        return raw;
+    }
+
+    // "AB12" -> 27
+    private static int columnIndex(String cellRef) {
+        int index = 0;
+        for (int i = 0; i < cellRef.length(); i++) {
+            char ch = cellRef.charAt(i);
+            if (ch < 'A' || ch > 'Z') {
+                break;
+            }
+            index = index * 26 + (ch - 'A' + 1);
+        }
+        return index - 1;
+    }
+
+    private ZipEntry firstSheet() throws IOException {
+        ZipEntry entry = zip.getEntry(FIRST_SHEET);
+        if (entry != null) {
+            return entry;
+        }
+        return zip.stream()
+                .filter(e -> e.getName().startsWith("xl/worksheets/") && e.getName().endsWith(".xml"))
+                .min((a, b) -> a.getName().compareTo(b.getName()))
+                .orElseThrow(() -> new IOException("Workbook has no worksheet"));
+    }
+
+    private List<String> readSharedStrings() throws IOException, XMLStreamException {
+        ZipEntry entry = zip.getEntry(SHARED_STRINGS);
+        if (entry == null) {
+            return Collections.emptyList();
+        }
+        List<String> strings = new ArrayList<>();
+        try (InputStream in = zip.getInputStream(entry)) {
+            XMLStreamReader xml = factory().createXMLStreamReader(in);
+            StringBuilder current = null;
+            boolean phonetic = false;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (xml.getLocalName()) {
+                        case "si" -> current = new StringBuilder();
+                        case "rPh" -> phonetic = true;
+                        case "t" -> {
+                            String text = xml.getElementText();
+                            if (current != null && !phonetic) {
+                                current.append(text);
+                            }
+                        }
+                        default -> {
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if ("rPh".equals(xml.getLocalName())) {
+                        phonetic = false;
+                    } else if ("si".equals(xml.getLocalName()) && current != null) {
+                        strings.add(current.toString());
+                        current = null;
+                    }
+                }
+            }
+            xml.close();
+        }
+        return strings;
+    }
+
+    // Workbooks are user uploads: no DTDs, no external entities
+    private static XMLInputFactory factory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sheet.close();
+        } catch (XMLStreamException e) {
+            // the zip close below releases the underlying stream
+        } finally {
+            zip.close();
+        }
+    }
+}
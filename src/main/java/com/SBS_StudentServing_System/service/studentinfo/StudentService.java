@@ -3,8 +3,8 @@ package com.SBS_StudentServing_System.service.studentinfo;
 import com.SBS_StudentServing_System.dto.studentinfo.StudentProfileResponse;
 import com.SBS_StudentServing_System.model.academic.StudyPlan;
 import com.SBS_StudentServing_System.model.student.Student;
-import com.SBS_StudentServing_System.repository.academic.StudyPlanRepository;
 import com.SBS_StudentServing_System.repository.student.StudentRepository;
+import com.SBS_StudentServing_System.service.common.DimensionSnapshotService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -14,7 +14,7 @@ import org.springframework.stereotype.Service;
 public class StudentService {
 
     private final StudentRepository studentRepository;
-    private final StudyPlanRepository studyPlanRepository;
+    private final DimensionSnapshotService dimensionSnapshotService;
 
 
     public StudentProfileResponse getLoggedInStudentInfo() {
@@ -23,7 +23,7 @@ public class StudentService {
         Student student = studentRepository.findByLoginAccount_AccountId(accountId)
                 .orElseThrow(() -> new RuntimeException("Student not found for account ID: " + accountId));
 
-        String pathway = studyPlanRepository.findById(student.getStudyPlanId())
+        String pathway = dimensionSnapshotService.studyPlan(student.getStudyPlanId())
                 .map(StudyPlan::getPathwayName)
                 .orElse("Unknown");
 
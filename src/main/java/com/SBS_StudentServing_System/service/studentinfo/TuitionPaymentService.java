@@ -1,5 +1,6 @@
 package com.SBS_StudentServing_System.service.studentinfo;
 
+import com.SBS_StudentServing_System.dto.common.CursorPage;
 import com.SBS_StudentServing_System.dto.studentinfo.TuitionPaymentDto;
 import com.SBS_StudentServing_System.model.studentinfo.TuitionPayment;
 import com.SBS_StudentServing_System.model.student.Student;
@@ -7,6 +8,9 @@ import com.SBS_StudentServing_System.model.studentinfo.Scholarship;
 import com.SBS_StudentServing_System.repository.student.DimScholarshipRepository;
 import com.SBS_StudentServing_System.repository.student.TuitionPaymentRepository;
 import com.SBS_StudentServing_System.repository.student.StudentRepository;
+import com.SBS_StudentServing_System.service.common.KeysetPageRequest;
+import com.SBS_StudentServing_System.service.common.KeysetPager;
+import com.SBS_StudentServing_System.service.common.KeysetSpec;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -16,6 +20,14 @@ import java.util.stream.Collectors;
 @Service
 public class TuitionPaymentService {
 
+    private static final KeysetSpec<TuitionPayment> PAGE_SPEC = KeysetSpec.of(TuitionPayment.class, "id")
+            .sortable("id", "id")
+            .sortable("amountPaid", "amountPaid")
+            .filterable("studentId", "student.studentId")
+            .filterable("scholarshipId", "scholarship.scholarshipId")
+            .filterable("paymentStatus", "paymentStatus")
+            .filterable("paymentMethod", "paymentMethod");
+
     @Autowired
     private TuitionPaymentRepository tuitionPaymentRepository;
 
@@ -25,12 +37,19 @@ public class TuitionPaymentService {
     @Autowired
     private DimScholarshipRepository scholarshipRepository;
 
+    @Autowired
+    private KeysetPager keysetPager;
+
     public List<TuitionPaymentDto> getAll() {
         return tuitionPaymentRepository.findAll().stream()
                 .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
+    public CursorPage<TuitionPaymentDto> getPage(KeysetPageRequest request) {
+        return keysetPager.page(PAGE_SPEC, request, this::toDto);
+    }
+
     public List<TuitionPaymentDto> getByStudentId(String studentId) {
         return tuitionPaymentRepository.findByStudent_StudentId(studentId).stream()
                 .map(this::toDto)
@@ -1,5 +1,6 @@
 package com.SBS_StudentServing_System.service.studentinfo;
 
+import com.SBS_StudentServing_System.dto.common.CursorPage;
 import com.SBS_StudentServing_System.dto.studentinfo.VisaExtensionRequestDto;
 import com.SBS_StudentServing_System.model.admin.Admin;
 import com.SBS_StudentServing_System.model.student.Student;
@@ -9,6 +10,9 @@ import com.SBS_StudentServing_System.repository.admin.AdminRepository;
 import com.SBS_StudentServing_System.repository.student.StudentRepository;
 import com.SBS_StudentServing_System.repository.student.VisaExtensionRequestRepository;
 import com.SBS_StudentServing_System.repository.student.VisaPassportRepository;
+import com.SBS_StudentServing_System.service.common.KeysetPageRequest;
+import com.SBS_StudentServing_System.service.common.KeysetPager;
+import com.SBS_StudentServing_System.service.common.KeysetSpec;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -18,6 +22,14 @@ import java.util.stream.Collectors;
 @Service
 public class VisaExtensionRequestService {
 
+    private static final KeysetSpec<VisaExtensionRequest> PAGE_SPEC =
+            KeysetSpec.of(VisaExtensionRequest.class, "extensionRequestId")
+                    .sortable("requestDate", "requestDate")
+                    .sortable("requestedExtensionUntil", "requestedExtensionUntil")
+                    .sortable("extensionRequestId", "extensionRequestId")
+                    .filterable("studentId", "student.studentId")
+                    .filterable("status", "status");
+
     @Autowired
     private VisaExtensionRequestRepository visaExtensionRequestRepository;
 
@@ -30,12 +42,19 @@ public class VisaExtensionRequestService {
     @Autowired
     private AdminRepository adminRepository;
 
+    @Autowired
+    private KeysetPager keysetPager;
+
     public List<VisaExtensionRequestDto> getAll() {
         return visaExtensionRequestRepository.findAll().stream()
                 .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
+    public CursorPage<VisaExtensionRequestDto> getPage(KeysetPageRequest request) {
+        return keysetPager.page(PAGE_SPEC, request, this::toDto);
+    }
+
     public List<VisaExtensionRequestDto> getByStudentId(String studentId) {
         return visaExtensionRequestRepository.findByStudent_StudentId(studentId).stream()
                 .map(this::toDto)
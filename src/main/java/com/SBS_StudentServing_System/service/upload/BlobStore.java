@@ -0,0 +1,56 @@
+package com.SBS_StudentServing_System.service.upload;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Where uploaded files live. Keys are relative, slash-separated paths whose first segment is the upload area
+ * ("derived/…", "blobs/…", "profile-images/…", "announcements/…", "certificates/…", "academic-backgrounds/…").
+ * {@code app.storage.type} picks the backend: {@code local} keeps them under {@code app.uploads.root}, {@code s3}
+ * in an S3-compatible bucket that every app node shares.
+ */
+public interface BlobStore {
+
+    /**
+     * Stores {@code source} under {@code key}, replacing any existing object. Readers see either the old or the
+     * complete new object, never a partial one. The source file is moved or deleted afterwards.
+     */
+    void put(String key, Path source, String contentType) throws IOException;
+
+    void put(String key, byte[] content, String contentType) throws IOException;
+
+    boolean exists(String key) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    // Total bytes stored under a key prefix (for the storage gauges)
+    long usage(String prefix) throws IOException;
+
+    /**
+     * The file behind {@code key} when it is on this node's file system, so it can be sent with sendfile or
+     * handed to the front server; empty for remote stores.
+     */
+    Optional<Path> localPath(String key);
+
+    /**
+     * A URL that fetches the object straight from storage until {@code ttl} passes, or empty when the backend
+     * cannot sign URLs. {@code contentDisposition} (may be null) is returned with the object.
+     */
+    Optional<URI> presignedGet(String key, Duration ttl, String contentDisposition);
+
+    // Rejects keys that are absolute or climb out of their area
+    static String checkKey(String key) {
+        if (key == null || key.isEmpty() || key.startsWith("/") || key.indexOf('\\') >= 0) {
+            throw new IllegalArgumentException("Invalid storage key: " + key);
+        }
+        for (String segment : key.split("/", -1)) {
+            if (segment.isEmpty() || segment.equals(".") || segment.equals("..")) {
+                throw new IllegalArgumentException("Invalid storage key: " + key);
+            }
+        }
+        return key;
+    }
+}
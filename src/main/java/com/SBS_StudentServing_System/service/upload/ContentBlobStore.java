@@ -0,0 +1,400 @@
+package com.SBS_StudentServing_System.service.upload;
+
+import com.SBS_StudentServing_System.repository.academic.CertificateRepository;
+import com.SBS_StudentServing_System.repository.academic.StudentAcademicBackgroundRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressable store for certificate and academic-background documents. Each distinct content is kept
+ * once in the {@link BlobStore}, under {@code blobs/<first two hex>/<sha256><ext>}, whatever it was uploaded as
+ * and however often.
+ * dim_content_blob holds one row per blob with the number of Certificate.filePath / StudentAcademicBackground
+ * documentUrl values pointing at it. Writers adjust the count inside their own transaction
+ * ({@link #retain}, {@link #release}); {@link #collect()} rebuilds the counts from those columns every night
+ * and deletes blobs that nothing has referenced for the grace period.
+ */
+@Slf4j
+@Service
+public class ContentBlobStore {
+
+    public static final String KEY_PREFIX = "blobs/";
+
+    // <shard>/<sha256><ext> at the end of a stored path or document URL
+    private static final Pattern BLOB_NAME = Pattern.compile("([0-9a-f]{2})/([0-9a-f]{64})(\\.[a-z0-9]{1,10})?$");
+    private static final Pattern EXTENSION = Pattern.compile("\\.[a-z0-9]{1,10}");
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO dim_content_blob (hash, extension, size_bytes, ref_count, created_at, last_used_at) "
+                    + "VALUES (?, ?, ?, 0, ?, ?) ON DUPLICATE KEY UPDATE last_used_at = VALUES(last_used_at)";
+    private static final String EXTENSION_SQL = "SELECT extension FROM dim_content_blob WHERE hash = ?";
+    private static final String RETAIN_SQL =
+            "UPDATE dim_content_blob SET ref_count = ref_count + 1, last_used_at = ? WHERE hash = ?";
+    private static final String RELEASE_SQL =
+            "UPDATE dim_content_blob SET ref_count = GREATEST(ref_count - 1, 0), last_used_at = ? WHERE hash = ?";
+    private static final String LOCK_ALL_SQL = "SELECT hash, ref_count FROM dim_content_blob FOR UPDATE";
+    private static final String SET_COUNT_SQL = "UPDATE dim_content_blob SET ref_count = ? WHERE hash = ?";
+    private static final String CANDIDATES_SQL =
+            "SELECT hash FROM dim_content_blob WHERE ref_count = 0 AND last_used_at < ?";
+    private static final String LOCK_CANDIDATE_SQL =
+            "SELECT extension, size_bytes FROM dim_content_blob WHERE hash = ? AND ref_count = 0 AND last_used_at < ? "
+                    + "FOR UPDATE";
+    private static final String DELETE_SQL = "DELETE FROM dim_content_blob WHERE hash = ?";
+    private static final String STATS_SQL =
+            "SELECT COUNT(*), COALESCE(SUM(size_bytes), 0), COALESCE(SUM(size_bytes * ref_count), 0) FROM dim_content_blob";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final CertificateRepository certificateRepository;
+    private final StudentAcademicBackgroundRepository studentAcademicBackgroundRepository;
+    private final BlobStore blobStore;
+    private final Path tempDir;
+    // Blobs younger than this are kept at zero references: a new upload is stored before the row that
+    // references it is committed
+    private final long graceMillis;
+    private final List<String> storageAreas = List.of("blobs", "certificates", "academic-backgrounds");
+
+    private final Counter storedWrites;
+    private final Counter deduplicatedWrites;
+    private final Counter collected;
+    private final Counter collectedBytes;
+    private final AtomicLong blobCount = new AtomicLong();
+    private final AtomicLong storedBytes = new AtomicLong();
+    private final AtomicLong referencedBytes = new AtomicLong();
+    private final Map<String, AtomicLong> areaBytes = new HashMap<>();
+
+    public ContentBlobStore(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            CertificateRepository certificateRepository,
+                            StudentAcademicBackgroundRepository studentAcademicBackgroundRepository,
+                            MeterRegistry meterRegistry,
+                            BlobStore blobStore,
+                            @Value("${app.uploads.staging-dir:uploads/tmp/}") String stagingDir,
+                            @Value("${app.uploads.blobs.gc-grace-ms:86400000}") long graceMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.certificateRepository = certificateRepository;
+        this.studentAcademicBackgroundRepository = studentAcademicBackgroundRepository;
+        this.blobStore = blobStore;
+        // Local scratch space; with the local store it sits under the uploads root so placing a blob is a rename
+        this.tempDir = Paths.get(stagingDir);
+        this.graceMillis = graceMillis;
+
+        this.storedWrites = Counter.builder("uploads.blobs.writes").tag("result", "stored")
+                .description("Uploads whose content was new and written to the store")
+                .register(meterRegistry);
+        this.deduplicatedWrites = Counter.builder("uploads.blobs.writes").tag("result", "deduplicated")
+                .description("Uploads whose content was already stored")
+                .register(meterRegistry);
+        this.collected = Counter.builder("uploads.blobs.collected")
+                .description("Unreferenced blobs deleted by garbage collection")
+                .register(meterRegistry);
+        this.collectedBytes = Counter.builder("uploads.blobs.collected.bytes").register(meterRegistry);
+        Gauge.builder("uploads.blobs.count", blobCount, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("uploads.blobs.stored.bytes", storedBytes, AtomicLong::get)
+                .description("Bytes on disk for stored blobs")
+                .register(meterRegistry);
+        Gauge.builder("uploads.blobs.referenced.bytes", referencedBytes, AtomicLong::get)
+                .description("Bytes the references would take with one file per upload")
+                .register(meterRegistry);
+        for (String area : storageAreas) {
+            AtomicLong bytes = new AtomicLong();
+            areaBytes.put(area, bytes);
+            Gauge.builder("uploads.storage.bytes", bytes, AtomicLong::get).tag("area", area)
+                    .description("Bytes held by the blob store under the area")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * A stored blob. {@code extension} is the one the content was first stored with, which can differ from
+     * the extension of a later, deduplicated upload.
+     */
+    public record StoredBlob(String hash, String extension, long sizeBytes, boolean deduplicated) {
+
+        public String relativePath() {
+            return hash.substring(0, 2) + "/" + hash + extension;
+        }
+    }
+
+    /**
+     * Streams the content to a temporary file while hashing it and keeps it unless the same content is
+     * already stored. The blob starts with no references; the caller records one with {@link #retain} in the
+     * transaction that saves the referencing row.
+     */
+    public StoredBlob store(InputStream content, String originalFilename) throws IOException {
+        Files.createDirectories(tempDir);
+        Path temp = tempDir.resolve(UUID.randomUUID() + ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (InputStream in = new DigestInputStream(content, digest)) {
+                size = Files.copy(in, temp);
+            }
+            return place(temp, HexFormat.of().formatHex(digest.digest()), size, originalFilename);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Stores a file that is already on disk, such as a completed resumable upload. New content is handed to
+     * the blob store as is; the file is gone afterwards either way.
+     */
+    public StoredBlob store(Path file, String originalFilename) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return place(file, HexFormat.of().formatHex(digest.digest()), Files.size(file), originalFilename);
+    }
+
+    private StoredBlob place(Path source, String hash, long size, String originalFilename) throws IOException {
+        // The row goes first: its refreshed last_used_at keeps collect() away, and collect() holds the row
+        // lock while it deletes, so this waits for a running deletion to finish before placing the file
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(UPSERT_SQL, hash, extension(originalFilename), size, now, now);
+        String extension = jdbcTemplate.queryForObject(EXTENSION_SQL, String.class, hash);
+
+        String key = key(new StoredBlob(hash, extension, size, false));
+        if (blobStore.exists(key)) {
+            Files.deleteIfExists(source);
+            deduplicatedWrites.increment();
+            return new StoredBlob(hash, extension, size, true);
+        }
+        // Identical bytes either way if another upload of the same content got there first
+        String contentType = MediaTypeFactory.getMediaType("blob" + extension)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+        blobStore.put(key, source, contentType);
+        storedWrites.increment();
+        return new StoredBlob(hash, extension, size, false);
+    }
+
+    // BlobStore key of the blob; what Certificate.filePath holds for documents stored here
+    public String key(StoredBlob blob) {
+        return KEY_PREFIX + blob.relativePath();
+    }
+
+    /**
+     * SHA-256 of the blob a stored path or document URL points at, or null for files stored before the blob
+     * store (and for null).
+     */
+    public static String hashOf(String pathOrUrl) {
+        if (pathOrUrl == null) {
+            return null;
+        }
+        Matcher matcher = BLOB_NAME.matcher(pathOrUrl.replace('\\', '/'));
+        return matcher.find() && matcher.group(2).startsWith(matcher.group(1)) ? matcher.group(2) : null;
+    }
+
+    /**
+     * BlobStore key of the blob a stored path or document URL points at, or null for files stored before the
+     * blob store. Also maps the file-system paths certificates were saved with before keys were stored.
+     */
+    public static String keyOf(String pathOrUrl) {
+        if (hashOf(pathOrUrl) == null) {
+            return null;
+        }
+        Matcher matcher = BLOB_NAME.matcher(pathOrUrl.replace('\\', '/'));
+        return matcher.find() ? KEY_PREFIX + matcher.group() : null;
+    }
+
+    // Lower-case extension of the uploaded name, or "" when it has none usable in a file name
+    public static String extension(String originalFilename) {
+        if (originalFilename == null || originalFilename.lastIndexOf('.') < 0) {
+            return "";
+        }
+        String extension = originalFilename.substring(originalFilename.lastIndexOf('.')).toLowerCase(Locale.ROOT);
+        return EXTENSION.matcher(extension).matches() ? extension : "";
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void retain(String pathOrUrl) {
+        String hash = hashOf(pathOrUrl);
+        if (hash != null && jdbcTemplate.update(RETAIN_SQL, Timestamp.valueOf(LocalDateTime.now()), hash) == 0) {
+            log.warn("Reference to unknown blob {}", hash);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(String pathOrUrl) {
+        String hash = hashOf(pathOrUrl);
+        if (hash != null) {
+            jdbcTemplate.update(RELEASE_SQL, Timestamp.valueOf(LocalDateTime.now()), hash);
+        }
+    }
+
+    // A referencing column changed from one value to another
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void replace(String oldPathOrUrl, String newPathOrUrl) {
+        String oldHash = hashOf(oldPathOrUrl);
+        String newHash = hashOf(newPathOrUrl);
+        if (oldHash != null && oldHash.equals(newHash)) {
+            return;
+        }
+        release(oldPathOrUrl);
+        retain(newPathOrUrl);
+    }
+
+    /**
+     * Rebuilds every reference count from the referencing columns, then deletes blobs that have had no
+     * references for the grace period, and leftovers of interrupted uploads.
+     */
+    @Scheduled(cron = "${app.uploads.blobs.gc-cron:0 45 4 * * *}")
+    public void collect() {
+        Integer corrected = transaction.execute(status -> reconcile());
+        if (corrected != null && corrected > 0) {
+            log.warn("Corrected {} blob reference counts", corrected);
+        }
+
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(Duration.ofMillis(graceMillis)));
+        int deleted = 0;
+        for (String hash : jdbcTemplate.queryForList(CANDIDATES_SQL, String.class, cutoff)) {
+            if (Boolean.TRUE.equals(transaction.execute(status -> delete(hash, cutoff)))) {
+                deleted++;
+            }
+        }
+        deleteStaleTempFiles(cutoff.getTime());
+        if (deleted > 0) {
+            log.info("Deleted {} unreferenced blobs", deleted);
+        }
+        refreshStats();
+    }
+
+    private int reconcile() {
+        // Locking every row first makes a concurrent retain/release wait and apply its delta on top of the
+        // count computed here; references it wrote before are either committed (and read below) or not yet
+        // counted by either side
+        Map<String, Integer> stored = new HashMap<>();
+        jdbcTemplate.query(LOCK_ALL_SQL, rs -> {
+            stored.put(rs.getString(1), rs.getInt(2));
+        });
+
+        Map<String, Integer> counted = new HashMap<>();
+        Stream.concat(certificateRepository.findAllFilePaths().stream(),
+                        studentAcademicBackgroundRepository.findAllDocumentUrls().stream())
+                .map(ContentBlobStore::hashOf)
+                .filter(Objects::nonNull)
+                .forEach(hash -> counted.merge(hash, 1, Integer::sum));
+
+        List<Object[]> corrections = new ArrayList<>();
+        stored.forEach((hash, refCount) -> {
+            int actual = counted.getOrDefault(hash, 0);
+            if (actual != refCount) {
+                corrections.add(new Object[]{actual, hash});
+            }
+        });
+        long missing = counted.keySet().stream().filter(hash -> !stored.containsKey(hash)).count();
+        if (missing > 0) {
+            log.warn("{} referenced blobs have no dim_content_blob row", missing);
+        }
+        if (!corrections.isEmpty()) {
+            jdbcTemplate.batchUpdate(SET_COUNT_SQL, corrections);
+        }
+        return corrections.size();
+    }
+
+    // Runs with the row locked, so a store() of the same content waits and then re-creates row and file
+    private boolean delete(String hash, Timestamp cutoff) {
+        List<StoredBlob> locked = jdbcTemplate.query(LOCK_CANDIDATE_SQL,
+                (rs, i) -> new StoredBlob(hash, rs.getString(1), rs.getLong(2), false), hash, cutoff);
+        if (locked.isEmpty()) {
+            return false;
+        }
+        try {
+            blobStore.delete(key(locked.get(0)));
+        } catch (IOException e) {
+            log.warn("Could not delete blob {}: {}", hash, e.getMessage());
+            return false;
+        }
+        jdbcTemplate.update(DELETE_SQL, hash);
+        collected.increment();
+        collectedBytes.increment(locked.get(0).sizeBytes());
+        return true;
+    }
+
+    private void deleteStaleTempFiles(long cutoffMillis) {
+        if (!Files.isDirectory(tempDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(tempDir)) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toMillis() < cutoffMillis) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not clean upload staging directory: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Updates the gauges: blob counts and bytes from dim_content_blob, and bytes in storage per upload area
+     * (the certificate and academic-background areas hold the files written before the blob store).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.uploads.blobs.stats-refresh-ms:300000}",
+            initialDelayString = "${app.uploads.blobs.stats-refresh-ms:300000}")
+    public void refreshStats() {
+        jdbcTemplate.query(STATS_SQL, rs -> {
+            blobCount.set(rs.getLong(1));
+            storedBytes.set(rs.getLong(2));
+            referencedBytes.set(rs.getLong(3));
+        });
+        for (String area : storageAreas) {
+            try {
+                areaBytes.get(area).set(blobStore.usage(area + "/"));
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not measure upload area {}: {}", area, e.getMessage());
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.SBS_StudentServing_System.service.upload;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * One-time copy of the upload areas under {@code app.uploads.root} into the configured {@link BlobStore}, for
+ * switching {@code app.storage.type} from {@code local} to {@code s3}. Stored paths and URLs already hold the
+ * area-relative key, so the same key is used in the bucket and no rows change. Objects that already exist are
+ * skipped, which makes a rerun pick up only what is missing, and local files are copied rather than moved so
+ * the local root stays usable until the switch is confirmed. Runs at startup, before requests are served, on
+ * the node that holds the local root with {@code app.storage.migrate-local-uploads=true}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.storage.migrate-local-uploads", havingValue = "true")
+public class LocalUploadMigration implements ApplicationRunner {
+
+    // Areas holding stored files; tmp/ and resumable/ are node-local scratch space and are not copied
+    private static final List<String> AREAS = List.of(
+            "blobs", "derived", "profile-images", "announcements", "certificates", "academic-backgrounds");
+
+    private final BlobStore blobStore;
+    private final Path root;
+    private final Path stagingDir;
+
+    public LocalUploadMigration(BlobStore blobStore,
+                                @Value("${app.uploads.root:uploads/}") String root,
+                                @Value("${app.uploads.staging-dir:uploads/tmp/}") String stagingDir) {
+        this.blobStore = blobStore;
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.stagingDir = Paths.get(stagingDir);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (blobStore instanceof LocalBlobStore) {
+            log.warn("app.storage.migrate-local-uploads is set but app.storage.type is local; nothing to copy");
+            return;
+        }
+        Files.createDirectories(stagingDir);
+        int copied = 0;
+        int skipped = 0;
+        int failed = 0;
+        for (String area : AREAS) {
+            Path directory = root.resolve(area);
+            if (!Files.isDirectory(directory)) {
+                continue;
+            }
+            List<Path> files;
+            try (Stream<Path> walk = Files.walk(directory)) {
+                files = walk.filter(Files::isRegularFile).toList();
+            }
+            for (Path file : files) {
+                String key = root.relativize(file).toString().replace('\\', '/');
+                try {
+                    if (blobStore.exists(key)) {
+                        skipped++;
+                        continue;
+                    }
+                    copy(key, file);
+                    copied++;
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Could not copy {} to storage: {}", key, e.getMessage());
+                    failed++;
+                }
+            }
+            log.info("Upload migration: {} done ({} copied, {} already present, {} failed so far)",
+                    area, copied, skipped, failed);
+        }
+        log.info("Upload migration finished: {} copied, {} already present, {} failed", copied, skipped, failed);
+    }
+
+    // BlobStore.put consumes its source, so it gets a staged copy and the local file is left in place
+    private void copy(String key, Path file) throws IOException {
+        Path staged = Files.createTempFile(stagingDir, "migrate-", ".tmp");
+        try {
+            Files.copy(file, staged, StandardCopyOption.REPLACE_EXISTING);
+            blobStore.put(key, staged, Files.probeContentType(file));
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.SBS_StudentServing_System.service.upload;
+
+import com.SBS_StudentServing_System.dto.upload.ResumableUploadDto;
+import com.SBS_StudentServing_System.exception.ResumableUploadException;
+import com.SBS_StudentServing_System.model.upload.ResumableUpload;
+import com.SBS_StudentServing_System.repository.account.LoginAccountRepository;
+import com.SBS_StudentServing_System.repository.upload.ResumableUploadRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server side of the tus 1.0 core protocol (with the creation, expiration and termination extensions) for
+ * documents larger than the multipart limit. Chunks are streamed from the request straight into
+ * {@code <dir>/<id>.part} with {@link FileChannel#transferFrom}, flushed, and only then counted in
+ * dim_resumable_upload's offset, so a client can always resume from the offset it is told. When the last
+ * byte arrives the part file is renamed to {@code <id>.upload} in one atomic step; the upload endpoints then
+ * take it by id. Uploads that see no chunk for the expiry period are deleted with their data.
+ *
+ * <p>Part files live on this node's disk, so chunks of one upload must reach the node that created it (sticky
+ * routing or a shared {@code dir}). The per-user limit on open uploads is enforced in the database and holds
+ * across nodes.
+ */
+@Slf4j
+@Service
+public class ResumableUploadService {
+
+    public static final String TUS_VERSION = "1.0.0";
+
+    private static final String PART_SUFFIX = ".part";
+    private static final String COMPLETE_SUFFIX = ".upload";
+
+    private final ResumableUploadRepository resumableUploadRepository;
+    private final LoginAccountRepository loginAccountRepository;
+    private final TransactionTemplate createTransaction;
+    private final Path dir;
+    private final long maxSize;
+    private final int maxPerUser;
+    private final Duration expiry;
+
+    // Uploads with a PATCH being written on this node; a second concurrent PATCH gets 409
+    private final Set<String> writing = ConcurrentHashMap.newKeySet();
+
+    /** A completed upload ready to be stored; {@code file} is owned by the caller until {@link #remove}. */
+    public record CompletedUpload(String uploadId, Path file, String fileName, long sizeBytes) {
+    }
+
+    public ResumableUploadService(ResumableUploadRepository resumableUploadRepository,
+                                  LoginAccountRepository loginAccountRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.uploads.resumable.dir:uploads/resumable/}") String dir,
+                                  @Value("${app.uploads.resumable.max-size:209715200}") long maxSize,
+                                  @Value("${app.uploads.resumable.max-per-user:3}") int maxPerUser,
+                                  @Value("${app.uploads.resumable.expiry-ms:86400000}") long expiryMillis) {
+        this.resumableUploadRepository = resumableUploadRepository;
+        this.loginAccountRepository = loginAccountRepository;
+        this.createTransaction = new TransactionTemplate(transactionManager);
+        this.dir = Paths.get(dir);
+        this.maxSize = maxSize;
+        this.maxPerUser = maxPerUser;
+        this.expiry = Duration.ofMillis(expiryMillis);
+    }
+
+    public long maxSize() {
+        return maxSize;
+    }
+
+    public ResumableUploadDto create(String accountId, long length, String fileName) throws IOException {
+        if (length <= 0) {
+            throw new IllegalArgumentException("Upload-Length must be positive");
+        }
+        if (length > maxSize) {
+            throw new ResumableUploadException(HttpStatus.PAYLOAD_TOO_LARGE, "Upload exceeds " + maxSize + " bytes");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        ResumableUpload upload = ResumableUpload.builder()
+                .uploadId(UUID.randomUUID().toString())
+                .accountId(accountId)
+                .fileName(fileName)
+                .uploadLength(length)
+                .uploadOffset(0L)
+                .createdAt(now)
+                .expiresAt(now.plus(expiry))
+                .build();
+        // Count and insert under the account's row lock so parallel creates by one user, on any node, cannot
+        // both slip under the limit
+        try {
+            createTransaction.executeWithoutResult(status -> {
+                loginAccountRepository.findForUpdate(accountId)
+                        .orElseThrow(() -> new ResumableUploadException(HttpStatus.FORBIDDEN, "Unknown account"));
+                if (resumableUploadRepository.countByAccountIdAndCompletedAtIsNullAndExpiresAtAfter(accountId, now) >= maxPerUser) {
+                    throw new ResumableUploadException(HttpStatus.TOO_MANY_REQUESTS,
+                            "At most " + maxPerUser + " uploads may be in progress at once");
+                }
+                try {
+                    Files.createDirectories(dir);
+                    Files.createFile(part(upload.getUploadId()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                resumableUploadRepository.save(upload);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return toDto(upload);
+    }
+
+    public Optional<ResumableUploadDto> find(String uploadId, String accountId) {
+        return load(uploadId, accountId).map(ResumableUploadService::toDto);
+    }
+
+    /**
+     * Appends one PATCH body at {@code offset}, which must equal the stored offset. Bytes are counted even
+     * when the client disconnects mid-chunk, so the next HEAD reports exactly what was kept.
+     */
+    public ResumableUploadDto append(String uploadId, String accountId, long offset, InputStream body) throws IOException {
+        if (!writing.add(uploadId)) {
+            throw new ResumableUploadException(HttpStatus.CONFLICT, "Another request is writing to this upload");
+        }
+        try {
+            ResumableUpload upload = load(uploadId, accountId)
+                    .orElseThrow(() -> new ResumableUploadException(HttpStatus.NOT_FOUND, "Upload not found"));
+            if (upload.getCompletedAt() != null) {
+                throw new ResumableUploadException(HttpStatus.CONFLICT, "Upload is already complete");
+            }
+            if (offset != upload.getUploadOffset()) {
+                throw new ResumableUploadException(HttpStatus.CONFLICT,
+                        "Upload-Offset " + offset + " does not match " + upload.getUploadOffset());
+            }
+            long length = upload.getUploadLength();
+            long position = offset;
+            boolean overflow = false;
+            try (FileChannel channel = FileChannel.open(part(uploadId), StandardOpenOption.WRITE)) {
+                // Drops bytes a failed earlier chunk wrote past the recorded offset
+                channel.truncate(offset);
+                ReadableByteChannel in = Channels.newChannel(body);
+                try {
+                    while (position < length) {
+                        long transferred = channel.transferFrom(in, position, length - position);
+                        if (transferred <= 0) {
+                            break;
+                        }
+                        position += transferred;
+                    }
+                    overflow = position == length && body.read() != -1;
+                } finally {
+                    if (overflow) {
+                        channel.truncate(offset);
+                        position = offset;
+                    }
+                    channel.force(false);
+                    record(upload, position);
+                }
+            }
+            if (overflow) {
+                throw new IllegalArgumentException("Chunk runs past Upload-Length");
+            }
+            if (position == length) {
+                Files.move(part(uploadId), complete(uploadId), StandardCopyOption.ATOMIC_MOVE);
+                upload.setCompletedAt(LocalDateTime.now());
+                resumableUploadRepository.save(upload);
+            }
+            return toDto(upload);
+        } finally {
+            writing.remove(uploadId);
+        }
+    }
+
+    /**
+     * The committed file of a completed upload owned by {@code accountId}. The caller moves or copies it and
+     * then calls {@link #remove}.
+     */
+    public CompletedUpload take(String uploadId, String accountId) {
+        ResumableUpload upload = load(uploadId, accountId)
+                .orElseThrow(() -> new ResumableUploadException(HttpStatus.NOT_FOUND, "Upload not found"));
+        if (upload.getCompletedAt() == null || !Files.isRegularFile(complete(uploadId))) {
+            throw new ResumableUploadException(HttpStatus.CONFLICT, "Upload is not complete");
+        }
+        return new CompletedUpload(uploadId, complete(uploadId), upload.getFileName(), upload.getUploadLength());
+    }
+
+    // Termination: also used once a completed upload has been stored
+    public boolean remove(String uploadId, String accountId) throws IOException {
+        Optional<ResumableUpload> upload = load(uploadId, accountId);
+        if (upload.isEmpty()) {
+            return false;
+        }
+        if (writing.contains(uploadId)) {
+            throw new ResumableUploadException(HttpStatus.CONFLICT, "Another request is writing to this upload");
+        }
+        resumableUploadRepository.delete(upload.get());
+        deleteFiles(uploadId);
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.uploads.resumable.cleanup-ms:900000}")
+    public void deleteExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = 0;
+        for (ResumableUpload upload : resumableUploadRepository.findByExpiresAtBefore(now)) {
+            if (writing.contains(upload.getUploadId())) {
+                continue;
+            }
+            try {
+                deleteFiles(upload.getUploadId());
+                resumableUploadRepository.delete(upload);
+                deleted++;
+            } catch (IOException e) {
+                log.warn("Could not delete expired upload {}: {}", upload.getUploadId(), e.getMessage());
+            }
+        }
+        deleteOrphanFiles(System.currentTimeMillis() - expiry.toMillis());
+        if (deleted > 0) {
+            log.info("Deleted {} expired resumable uploads", deleted);
+        }
+    }
+
+    // Files left by a create that failed before its row was saved
+    private void deleteOrphanFiles(long cutoffMillis) {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                int dot = name.lastIndexOf('.');
+                if (dot > 0 && Files.getLastModifiedTime(file).toMillis() < cutoffMillis
+                        && !resumableUploadRepository.existsById(name.substring(0, dot))) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not clean resumable upload directory: {}", e.getMessage());
+        }
+    }
+
+    private Optional<ResumableUpload> load(String uploadId, String accountId) {
+        return resumableUploadRepository.findById(uploadId)
+                .filter(upload -> upload.getAccountId().equals(accountId))
+                .filter(upload -> upload.getExpiresAt().isAfter(LocalDateTime.now()));
+    }
+
+    private void record(ResumableUpload upload, long offset) {
+        upload.setUploadOffset(offset);
+        upload.setExpiresAt(LocalDateTime.now().plus(expiry));
+        resumableUploadRepository.save(upload);
+    }
+
+    private void deleteFiles(String uploadId) throws IOException {
+        Files.deleteIfExists(part(uploadId));
+        Files.deleteIfExists(complete(uploadId));
+    }
+
+    private Path part(String uploadId) {
+        return dir.resolve(uploadId + PART_SUFFIX);
+    }
+
+    private Path complete(String uploadId) {
+        return dir.resolve(uploadId + COMPLETE_SUFFIX);
+    }
+
+    private static ResumableUploadDto toDto(ResumableUpload upload) {
+        return new ResumableUploadDto(upload.getUploadId(), upload.getUploadOffset(), upload.getUploadLength(),
+                upload.getExpiresAt(), upload.getCompletedAt() != null);
+    }
+}
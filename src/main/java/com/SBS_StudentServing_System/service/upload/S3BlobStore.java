@@ -0,0 +1,184 @@
+package com.SBS_StudentServing_System.service.upload;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Objects in an S3-compatible bucket (AWS S3, or MinIO with {@code app.storage.s3.endpoint} and path-style
+ * access), shared by every app node. Downloads never pass through the application: clients are redirected to
+ * presigned GET URLs. {@code public-endpoint} signs those URLs for the host clients can reach when it differs
+ * from the one the app uses (e.g. MinIO on an internal Docker network).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3")
+public class S3BlobStore implements BlobStore {
+
+    private final S3Client s3;
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final String keyPrefix;
+
+    public S3BlobStore(@Value("${app.storage.s3.bucket}") String bucket,
+                       @Value("${app.storage.s3.region:us-east-1}") String region,
+                       @Value("${app.storage.s3.endpoint:}") String endpoint,
+                       @Value("${app.storage.s3.public-endpoint:}") String publicEndpoint,
+                       @Value("${app.storage.s3.path-style:false}") boolean pathStyle,
+                       @Value("${app.storage.s3.key-prefix:}") String keyPrefix,
+                       @Value("${app.storage.s3.access-key:}") String accessKey,
+                       @Value("${app.storage.s3.secret-key:}") String secretKey) {
+        this.bucket = bucket;
+        this.keyPrefix = keyPrefix.isEmpty() || keyPrefix.endsWith("/") ? keyPrefix : keyPrefix + "/";
+
+        // Without explicit keys: environment, system properties, profile or instance role
+        AwsCredentialsProvider credentials = accessKey.isBlank()
+                ? DefaultCredentialsProvider.create()
+                : StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+        S3Configuration configuration = S3Configuration.builder().pathStyleAccessEnabled(pathStyle).build();
+
+        S3ClientBuilder client = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(configuration);
+        if (!endpoint.isBlank()) {
+            client.endpointOverride(URI.create(endpoint));
+        }
+        this.s3 = client.build();
+
+        S3Presigner.Builder signer = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(configuration);
+        String signingEndpoint = publicEndpoint.isBlank() ? endpoint : publicEndpoint;
+        if (!signingEndpoint.isBlank()) {
+            signer.endpointOverride(URI.create(signingEndpoint));
+        }
+        this.presigner = signer.build();
+        log.info("Storing uploads in bucket {}{}", bucket, endpoint.isBlank() ? "" : " at " + endpoint);
+    }
+
+    // A PUT becomes visible only once complete, so readers never see a partial object
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        try {
+            s3.putObject(putRequest(key, contentType), RequestBody.fromFile(source));
+        } catch (SdkException e) {
+            throw new IOException("Could not store " + key + ": " + e.getMessage(), e);
+        }
+        Files.deleteIfExists(source);
+    }
+
+    @Override
+    public void put(String key, byte[] content, String contentType) throws IOException {
+        try {
+            s3.putObject(putRequest(key, contentType), RequestBody.fromBytes(content));
+        } catch (SdkException e) {
+            throw new IOException("Could not store " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        try {
+            s3.headObject(HeadObjectRequest.builder().bucket(bucket).key(objectKey(key)).build());
+            return true;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            throw new IOException("Could not check " + key + ": " + e.getMessage(), e);
+        } catch (SdkException e) {
+            throw new IOException("Could not check " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            s3.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(objectKey(key)).build());
+        } catch (SdkException e) {
+            throw new IOException("Could not delete " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public long usage(String prefix) throws IOException {
+        try {
+            return s3.listObjectsV2Paginator(ListObjectsV2Request.builder()
+                            .bucket(bucket)
+                            .prefix(keyPrefix + prefix)
+                            .build())
+                    .contents().stream()
+                    .mapToLong(S3Object::size)
+                    .sum();
+        } catch (SdkException e) {
+            throw new IOException("Could not list " + prefix + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+
+    // Signing is local (no request to the bucket); the object's existence is checked when the URL is used
+    @Override
+    public Optional<URI> presignedGet(String key, Duration ttl, String contentDisposition) {
+        GetObjectRequest.Builder get = GetObjectRequest.builder().bucket(bucket).key(objectKey(key));
+        if (contentDisposition != null) {
+            get.responseContentDisposition(contentDisposition);
+        }
+        try {
+            return Optional.of(presigner.presignGetObject(GetObjectPresignRequest.builder()
+                    .signatureDuration(ttl)
+                    .getObjectRequest(get.build())
+                    .build()).url().toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private PutObjectRequest putRequest(String key, String contentType) {
+        return PutObjectRequest.builder().bucket(bucket).key(objectKey(key)).contentType(contentType).build();
+    }
+
+    private String objectKey(String key) {
+        return keyPrefix + BlobStore.checkKey(key);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        presigner.close();
+        s3.close();
+    }
+}
@@ -0,0 +1,277 @@
+package com.SBS_StudentServing_System.service.upload;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes a stored file to the response with strong ETag/Last-Modified validators, single byte-range support
+ * (Range, If-Range) and zero-copy transfer. Bodies go through Tomcat's sendfile when the connector offers it,
+ * otherwise through {@link FileChannel#transferTo}. With {@code app.uploads.accel.mode} set, only the headers are
+ * written and nginx (X-Accel-Redirect) or Apache/lighttpd (X-Sendfile) sends the bytes, after the caller has
+ * done its authorization checks. Objects in a remote {@link BlobStore} are answered with a redirect to a
+ * short-lived presigned URL, so their bytes never pass through the application.
+ */
+@Component
+public class UploadFileServer {
+
+    // Tomcat request attributes behind its sendfile support (see org.apache.catalina.Globals)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    public enum AccelMode {NONE, X_ACCEL_REDIRECT, X_SENDFILE}
+
+    private final BlobStore blobStore;
+    private final Path root;
+    private final Duration presignTtl;
+    private final AccelMode accelMode;
+    private final String accelPrefix;
+    private final long sendfileMinBytes;
+    private final int hashCacheSize;
+
+    // Content hashes of files that carry none in their name, per path and version (size + mtime)
+    private final Map<Path, HashEntry> hashes = new ConcurrentHashMap<>();
+
+    public UploadFileServer(BlobStore blobStore,
+                            @Value("${app.uploads.root:uploads/}") String root,
+                            @Value("${app.storage.presign-ttl-seconds:300}") long presignTtlSeconds,
+                            @Value("${app.uploads.accel.mode:none}") String accelMode,
+                            @Value("${app.uploads.accel.internal-prefix:/protected-uploads/}") String accelPrefix,
+                            @Value("${app.uploads.sendfile-min-bytes:49152}") long sendfileMinBytes,
+                            @Value("${app.uploads.hash-cache-size:10000}") int hashCacheSize) {
+        this.blobStore = blobStore;
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.presignTtl = Duration.ofSeconds(presignTtlSeconds);
+        this.accelMode = AccelMode.valueOf(accelMode.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        this.accelPrefix = accelPrefix.endsWith("/") ? accelPrefix : accelPrefix + "/";
+        this.sendfileMinBytes = sendfileMinBytes;
+        this.hashCacheSize = hashCacheSize;
+    }
+
+    /**
+     * One file to send. {@code contentHash} is used for the ETag when the caller already knows it (derivatives
+     * carry it in their name); otherwise the file is hashed once per version. {@code disposition} may be null.
+     */
+    public record ServedFile(Path path, String contentHash, CacheControl cacheControl, String disposition) {
+    }
+
+    /**
+     * Serves the object stored under {@code key}: from its file when the store is local, otherwise with a 302 to
+     * a presigned URL carrying {@code disposition}. The redirect may be reused privately for half the URL's
+     * lifetime; the object's own caching is then up to the storage service.
+     */
+    public void serve(String key, String contentHash, CacheControl cacheControl, String disposition,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<Path> local = blobStore.localPath(key);
+        if (local.isPresent()) {
+            serve(new ServedFile(local.get(), contentHash, cacheControl, disposition), request, response);
+            return;
+        }
+        Optional<URI> url = blobStore.presignedGet(key, presignTtl, disposition);
+        if (url.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                CacheControl.maxAge(presignTtl.dividedBy(2)).cachePrivate().getHeaderValue());
+        response.sendRedirect(url.get().toString());
+    }
+
+    public void serve(ServedFile file, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path path = file.path();
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (!attributes.isRegularFile()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String etag = "\"" + (file.contentHash() != null ? file.contentHash() : contentHash(path, length, lastModified)) + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, file.cacheControl().getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // Answers If-None-Match/If-Modified-Since with 304 and If-Match/If-Unmodified-Since with 412
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        response.setContentType(MediaTypeFactory.getMediaType(path.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        if (file.disposition() != null) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, file.disposition());
+        }
+
+        if (accelMode != AccelMode.NONE) {
+            // The front server handles Range itself and sends the bytes
+            if (accelMode == AccelMode.X_ACCEL_REDIRECT) {
+                response.setHeader("X-Accel-Redirect", accelPrefix + UriUtils.encodePath(
+                        root.relativize(path.toAbsolutePath().normalize()).toString().replace('\\', '/'),
+                        StandardCharsets.UTF_8));
+            } else {
+                response.setHeader("X-Sendfile", path.toAbsolutePath().normalize().toString());
+            }
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && length > 0 && ifRangeMatches(request, etag, lastModified)) {
+            long[] bounds = parseRange(range, length);
+            if (bounds != null && bounds.length == 0) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds != null) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+        transfer(path, start, count, request, response);
+    }
+
+    private void transfer(Path path, long start, long count, HttpServletRequest request,
+                          HttpServletResponse response) throws IOException {
+        // Tomcat writes the range with FileChannel.transferTo straight to the socket after this request returns
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED)) && count >= sendfileMinBytes) {
+            request.setAttribute(SENDFILE_FILENAME, path.toRealPath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, out);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+
+    // If-Range: the range applies only while the client's copy is current; weak ETags never match
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * {start, end} (inclusive) for a single "bytes=" range, an empty array when it cannot be satisfied, or null
+     * to ignore the header and send the whole file (malformed or multi-range requests).
+     */
+    static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // Suffix range: the last N bytes
+                long suffix = Long.parseLong(last);
+                return suffix <= 0 ? new long[0] : new long[]{Math.max(0, length - suffix), length - 1};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length - 1 : Long.parseLong(last);
+            if (start >= length) {
+                return new long[0];
+            }
+            if (end < start) {
+                return null;
+            }
+            return new long[]{start, Math.min(end, length - 1)};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String contentHash(Path path, long length, long lastModified) throws IOException {
+        HashEntry cached = hashes.get(path);
+        if (cached != null && cached.length() == length && cached.lastModified() == lastModified) {
+            return cached.hash();
+        }
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(path), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        String hash = HexFormat.of().formatHex(digest.digest());
+        if (hashes.size() >= hashCacheSize) {
+            hashes.clear();
+        }
+        hashes.put(path, new HashEntry(length, lastModified, hash));
+        return hash;
+    }
+
+    private record HashEntry(long length, long lastModified, String hash) {
+    }
+}
@@ -0,0 +1,246 @@
+package com.SBS_StudentServing_System.service.upload;
+
+import com.SBS_StudentServing_System.dto.upload.StoredUploadDto;
+import com.SBS_StudentServing_System.model.upload.UploadMetadata;
+import com.SBS_StudentServing_System.repository.upload.UploadMetadataRepository;
+import com.SBS_StudentServing_System.service.common.ImageDerivativeService;
+import com.SBS_StudentServing_System.service.common.ImageDerivativeService.DerivativeSet;
+import com.SBS_StudentServing_System.service.common.ImageDerivativeService.Variant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Index of stored uploads (dim_upload_metadata) with an in-memory cache in front. Lookups, including "no file"
+ * answers, come from memory; misses for many owners are loaded with one IN query. The TTL covers uploads
+ * recorded on other nodes, which only evict locally.
+ */
+@Slf4j
+@Service
+public class UploadMetadataService {
+
+    public static final String PROFILE_IMAGE = "profile-image";
+    public static final String PROFILE_IMAGE_AREA = "profile-images";
+
+    // Extensions the profile upload used before derivatives; only read by the one-off backfill
+    private static final List<String> LEGACY_PROFILE_EXTENSIONS = List.of(".jpg", ".jpeg", ".png", ".gif");
+
+    private final UploadMetadataRepository uploadMetadataRepository;
+    private final BlobStore blobStore;
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped by every eviction; a load that overlapped one is returned but not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public UploadMetadataService(UploadMetadataRepository uploadMetadataRepository,
+                                 BlobStore blobStore,
+                                 @Value("${app.uploads.metadata-cache.max-size:50000}") int maxSize,
+                                 @Value("${app.uploads.metadata-cache.ttl-ms:600000}") long ttlMillis) {
+        this.uploadMetadataRepository = uploadMetadataRepository;
+        this.blobStore = blobStore;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Records (or replaces) the owner's image once the derivative pipeline has stored it. The full-size
+     * derivative is the stored file; the original upload ({@code sizeBytes}) is not kept.
+     */
+    @Transactional
+    public StoredUploadDto recordImage(String category, String ownerId, long sizeBytes, DerivativeSet derivatives) {
+        UploadMetadata metadata = uploadMetadataRepository.findByCategoryAndOwnerId(category, ownerId)
+                .orElseGet(() -> UploadMetadata.builder().category(category).ownerId(ownerId).build());
+        metadata.setStoredPath(ImageDerivativeService.relativePath(derivatives, Variant.FULL));
+        metadata.setContentType(derivatives.contentType());
+        metadata.setSizeBytes(sizeBytes);
+        metadata.setContentHash(derivatives.hash());
+        metadata.setThumbnailName(derivatives.filename(Variant.THUMBNAIL));
+        metadata.setCardName(derivatives.filename(Variant.CARD));
+        metadata.setUploadedAt(LocalDateTime.now());
+        uploadMetadataRepository.save(metadata);
+
+        evict(new Key(category, ownerId));
+        return toDto(metadata);
+    }
+
+    public Optional<StoredUploadDto> find(String category, String ownerId) {
+        return Optional.ofNullable(findAll(category, List.of(ownerId)).get(ownerId));
+    }
+
+    /**
+     * Stored uploads for many owners at once, keyed by owner id in request order. Owners without a file map
+     * to null.
+     */
+    public Map<String, StoredUploadDto> findAll(String category, Collection<String> ownerIds) {
+        long now = System.currentTimeMillis();
+        Map<String, StoredUploadDto> result = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String ownerId : new LinkedHashSet<>(ownerIds)) {
+            Entry entry = entries.get(new Key(category, ownerId));
+            if (entry != null && entry.expiresAt() > now) {
+                result.put(ownerId, entry.upload());
+            } else {
+                result.put(ownerId, null);
+                missing.add(ownerId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        long loadedAt = generation.get();
+        Map<String, StoredUploadDto> loaded = new LinkedHashMap<>();
+        for (UploadMetadata metadata : uploadMetadataRepository.findByCategoryAndOwnerIdIn(category, missing)) {
+            loaded.put(metadata.getOwnerId(), toDto(metadata));
+        }
+        boolean cacheable = generation.get() == loadedAt;
+        if (cacheable && entries.size() + missing.size() > maxSize) {
+            evictExpired(now);
+        }
+        for (String ownerId : missing) {
+            StoredUploadDto upload = loaded.get(ownerId);
+            result.put(ownerId, upload);
+            if (cacheable) {
+                entries.put(new Key(category, ownerId), new Entry(upload, now + ttlMillis));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Indexes profile images stored by the old upload code ({@code <studentId>.<ext>} in the profile
+     * directory), so lookups never need to probe the disk. Owners that already have a row are skipped,
+     * which makes this a no-op after the first run. Only local stores are scanned: the old code wrote to disk,
+     * so its files are indexed before they are ever copied to a bucket.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillLegacyProfileImages() {
+        Path profileImageDir = blobStore.localPath(PROFILE_IMAGE_AREA).orElse(null);
+        if (profileImageDir == null || !Files.isDirectory(profileImageDir)) {
+            return;
+        }
+        int recorded = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(profileImageDir)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                int dot = name.lastIndexOf('.');
+                if (dot <= 0 || !LEGACY_PROFILE_EXTENSIONS.contains(name.substring(dot).toLowerCase(Locale.ROOT))
+                        || !Files.isRegularFile(file)) {
+                    continue;
+                }
+                String studentId = name.substring(0, dot);
+                if (uploadMetadataRepository.existsByCategoryAndOwnerId(PROFILE_IMAGE, studentId)) {
+                    continue;
+                }
+                try {
+                    uploadMetadataRepository.save(UploadMetadata.builder()
+                            .category(PROFILE_IMAGE)
+                            .ownerId(studentId)
+                            .storedPath("/uploads/" + PROFILE_IMAGE_AREA + "/" + name)
+                            .contentType(Optional.ofNullable(Files.probeContentType(file)).orElse("application/octet-stream"))
+                            .sizeBytes(Files.size(file))
+                            .contentHash(sha256(file))
+                            .uploadedAt(LocalDateTime.ofInstant(Files.getLastModifiedTime(file).toInstant(),
+                                    ZoneId.systemDefault()))
+                            .build());
+                    recorded++;
+                } catch (DataIntegrityViolationException e) {
+                    // Another node (or a second extension of the same student) got there first
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Profile image backfill stopped early", e);
+        }
+        if (recorded > 0) {
+            log.info("Indexed {} profile images stored before upload metadata existed", recorded);
+        }
+    }
+
+    private void evict(Key key) {
+        remove(key);
+        // Evict again after commit so a read that reloaded the old row mid-transaction is not kept
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(key);
+                }
+            });
+        }
+    }
+
+    private void remove(Key key) {
+        generation.incrementAndGet();
+        entries.remove(key);
+    }
+
+    private void evictExpired(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+        Iterator<Key> it = entries.keySet().iterator();
+        while (entries.size() >= maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static StoredUploadDto toDto(UploadMetadata metadata) {
+        return new StoredUploadDto(
+                metadata.getStoredPath(),
+                metadata.getContentType(),
+                metadata.getSizeBytes(),
+                metadata.getContentHash(),
+                metadata.getThumbnailName() != null ? ImageDerivativeService.DERIVED_PATH + metadata.getThumbnailName() : null,
+                metadata.getCardName() != null ? ImageDerivativeService.DERIVED_PATH + metadata.getCardName() : null);
+    }
+
+    private static String sha256(Path file) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Key(String category, String ownerId) {
+    }
+
+    // upload is null for owners known to have no file
+    private record Entry(StoredUploadDto upload, long expiresAt) {
+    }
+}
@@ -0,0 +1,169 @@
+package com.SBS_StudentServing_System.service.usefulInfo;
+
+import com.SBS_StudentServing_System.dto.usefulInfo.AnnouncementDTO;
+import com.SBS_StudentServing_System.repository.UsefulInfo.AnnouncementRepository;
+import com.SBS_StudentServing_System.service.common.ImageDerivativeService;
+import com.SBS_StudentServing_System.service.common.ImageDerivativeService.Variant;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pre-serialized public announcement feed: the active announcements whose start/end window contains today,
+ * already rendered to JSON with full image URLs. Rows are read straight into DTOs, so no entity is loaded.
+ * The same rows feed {@link AnnouncementSearchIndex}. Writers call {@link #refresh()}; the date window is
+ * applied by rebuilding at the next start/end boundary, and other nodes' writes are picked up by the checksum
+ * check.
+ */
+@Slf4j
+@Component
+public class AnnouncementFeed {
+
+    private static final String VERSION_SQL = "CHECKSUM TABLE dim_announcement";
+
+    private final AnnouncementRepository announcementRepository;
+    private final AnnouncementSearchIndex searchIndex;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final String baseUrl;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    public AnnouncementFeed(AnnouncementRepository announcementRepository, AnnouncementSearchIndex searchIndex,
+                            ObjectMapper objectMapper, JdbcTemplate jdbcTemplate,
+                            @Value("${app.base-url}") String baseUrl) {
+        this.announcementRepository = announcementRepository;
+        this.searchIndex = searchIndex;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.baseUrl = baseUrl;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuild();
+    }
+
+    public Snapshot current() {
+        Snapshot current = snapshot.get();
+        return current != null ? current : rebuild();
+    }
+
+    /**
+     * Rebuilds the feed once the caller's transaction commits (or immediately when there is none).
+     */
+    public void refresh() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuild();
+                }
+            });
+        } else {
+            rebuild();
+        }
+    }
+
+    // Announcement windows are whole days, so every start/end boundary falls on a midnight
+    @Scheduled(cron = "${app.announcements.feed-boundary-cron:0 0 0 * * *}")
+    public void rebuildAtBoundary() {
+        Snapshot current = snapshot.get();
+        if (current == null || current.nextBoundary() == null || !LocalDate.now().isBefore(current.nextBoundary())) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.announcements.feed-version-check-ms:60000}",
+            initialDelayString = "${app.announcements.feed-version-check-ms:60000}")
+    public void checkVersion() {
+        Snapshot current = snapshot.get();
+        try {
+            Long checksum = readChecksum();
+            if (current == null || checksum == null || !checksum.equals(current.checksum())) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Announcement feed version check failed, keeping current feed", e);
+        }
+    }
+
+    public synchronized Snapshot rebuild() {
+        // Read the checksum first: a write that lands during the load changes it again and triggers another rebuild
+        Long checksum = readChecksum();
+        LocalDate today = LocalDate.now();
+        List<AnnouncementDTO> announcements = announcementRepository.findAllReadModelRows();
+        for (AnnouncementDTO announcement : announcements) {
+            String imageUrl = AnnouncementService.fullImageUrl(announcement.getImageUrl(), baseUrl);
+            announcement.setImageUrl(imageUrl);
+            announcement.setThumbnailUrl(ImageDerivativeService.variantUrl(imageUrl, Variant.THUMBNAIL));
+            announcement.setCardUrl(ImageDerivativeService.variantUrl(imageUrl, Variant.CARD));
+        }
+        searchIndex.rebuild(announcements);
+
+        List<AnnouncementDTO> feed = new ArrayList<>();
+        LocalDate nextBoundary = null;
+        for (AnnouncementDTO announcement : announcements) {
+            if (!Boolean.TRUE.equals(announcement.getActive())) {
+                continue;
+            }
+            LocalDate start = announcement.getStartDate();
+            LocalDate end = announcement.getEndDate();
+            if (start != null && start.isAfter(today)) {
+                nextBoundary = earliest(nextBoundary, start);
+            } else if (end == null || !end.isBefore(today)) {
+                feed.add(announcement);
+                if (end != null) {
+                    nextBoundary = earliest(nextBoundary, end.plusDays(1));
+                }
+            }
+        }
+        feed.sort(Comparator.comparing(AnnouncementDTO::getStartDate, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(AnnouncementDTO::getAnnouncementId));
+
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(feed);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize announcement feed", e);
+        }
+        Snapshot built = new Snapshot(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"", feed.size(),
+                checksum, nextBoundary);
+        snapshot.set(built);
+        return built;
+    }
+
+    private Long readChecksum() {
+        return jdbcTemplate.query(VERSION_SQL, rs -> rs.next() ? rs.getLong("Checksum") : null);
+    }
+
+    private static LocalDate earliest(LocalDate current, LocalDate candidate) {
+        return current == null || candidate.isBefore(current) ? candidate : current;
+    }
+
+    /**
+     * One immutable rendering of the feed. {@code body} is the JSON array exactly as sent; callers must not
+     * modify it.
+     */
+    public record Snapshot(byte[] body, String etag, int size, Long checksum, LocalDate nextBoundary) {
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.SBS_StudentServing_System.service.usefulInfo;
+
+import com.SBS_StudentServing_System.dto.common.CursorPage;
+import com.SBS_StudentServing_System.dto.usefulInfo.AnnouncementDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over announcement title, type and description. Every query token must match a
+ * term exactly or as a prefix; hits are ranked by field weight, dampened term frequency and term rarity.
+ * The index is immutable and swapped whole by {@link AnnouncementFeed}, which loads the rows and rebuilds it
+ * on every announcement write.
+ */
+@Component
+public class AnnouncementSearchIndex {
+
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float TYPE_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    // A prefix hit ("exam" for "examination") counts for less than the whole word
+    private static final float PREFIX_FACTOR = 0.5f;
+
+    // Combining marks are kept: Myanmar script spells vowels and tones with them
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}\\p{M}]+");
+
+    @Value("${app.pagination.default-size:50}")
+    private int defaultSize;
+
+    @Value("${app.pagination.max-size:200}")
+    private int maxSize;
+
+    private final AtomicReference<Index> index = new AtomicReference<>(Index.build(List.of()));
+
+    void rebuild(List<AnnouncementDTO> announcements) {
+        index.set(Index.build(announcements));
+    }
+
+    /**
+     * Ranked search. A blank query lists every announcement that passes the filters, newest first.
+     * {@code cursor} is the {@code nextCursor} of the previous page: the (score, start date, id) key of its
+     * last hit. The next page starts after that key rather than at a position, so a rebuild between pages
+     * neither repeats nor skips announcements whose place relative to the key is unchanged.
+     */
+    public CursorPage<AnnouncementDTO> search(String query, boolean activeOnly, LocalDate date,
+                                              String cursor, Integer size) {
+        int pageSize = size == null ? defaultSize : Math.max(1, Math.min(size, maxSize));
+        List<String> tokens = tokenize(query);
+        Key last = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor, tokens);
+
+        List<Hit> hits = index.get().query(tokens, activeOnly, date);
+        int from = last == null ? 0 : firstAfter(hits, last);
+        int to = Math.min(from + pageSize, hits.size());
+        boolean hasMore = to < hits.size();
+        List<AnnouncementDTO> items = new ArrayList<>(to - from);
+        for (Hit hit : hits.subList(from, to)) {
+            items.add(hit.doc());
+        }
+        return new CursorPage<>(items, hasMore ? encodeCursor(tokens, hits.get(to - 1).key()) : null,
+                hasMore, pageSize);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Hits are sorted by key, so the first one past the cursor is found by binary search
+    private static int firstAfter(List<Hit> hits, Key last) {
+        int low = 0;
+        int high = hits.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Key.ORDER.compare(hits.get(mid).key(), last) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // The query is part of the cursor because scores only order hits of the same query
+    private static String encodeCursor(List<String> tokens, Key key) {
+        String raw = queryTag(tokens) + "|" + Integer.toHexString(Float.floatToIntBits(key.score())) + "|"
+                + (key.startDate() == null ? "" : key.startDate()) + "|" + key.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Cursors come back from clients: anything that does not decode to a key for this query is a 400
+    private static Key decodeCursor(String cursor, List<String> tokens) {
+        String[] parts;
+        float score;
+        LocalDate startDate;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            score = Float.intBitsToFloat(Integer.parseUnsignedInt(parts[1], 16));
+            startDate = parts[2].isEmpty() ? null : LocalDate.parse(parts[2]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (!queryTag(tokens).equals(parts[0])) {
+            throw new IllegalArgumentException("Cursor does not match the query");
+        }
+        return new Key(score, startDate, parts[3]);
+    }
+
+    private static String queryTag(List<String> tokens) {
+        return Integer.toHexString(String.join(" ", tokens).hashCode());
+    }
+
+    // Page order: score descending, then newest start date (undated last), then id
+    private record Key(float score, LocalDate startDate, String id) {
+        static final Comparator<Key> ORDER = Comparator.comparing(Key::score, Comparator.reverseOrder())
+                .thenComparing(Key::startDate, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(Key::id);
+    }
+
+    private record Hit(AnnouncementDTO doc, float score) {
+        Key key() {
+            return new Key(score, doc.getStartDate(), doc.getAnnouncementId());
+        }
+    }
+
+    // Terms are kept sorted so all terms sharing a prefix form one contiguous run found by binary search
+    private record Index(AnnouncementDTO[] docs, String[] terms, int[][] postings, float[][] weights) {
+
+        static Index build(List<AnnouncementDTO> announcements) {
+            AnnouncementDTO[] docs = announcements.toArray(new AnnouncementDTO[0]);
+            TreeMap<String, Map<Integer, Float>> inverted = new TreeMap<>();
+            for (int doc = 0; doc < docs.length; doc++) {
+                Map<String, Float> termWeights = new HashMap<>();
+                addField(termWeights, docs[doc].getTitle(), TITLE_WEIGHT);
+                addField(termWeights, docs[doc].getAnnouncementType(), TYPE_WEIGHT);
+                addField(termWeights, docs[doc].getDescription(), DESCRIPTION_WEIGHT);
+                for (Map.Entry<String, Float> entry : termWeights.entrySet()) {
+                    inverted.computeIfAbsent(entry.getKey(), t -> new HashMap<>()).put(doc, entry.getValue());
+                }
+            }
+
+            String[] terms = new String[inverted.size()];
+            int[][] postings = new int[inverted.size()][];
+            float[][] weights = new float[inverted.size()][];
+            int i = 0;
+            for (Map.Entry<String, Map<Integer, Float>> entry : inverted.entrySet()) {
+                terms[i] = entry.getKey();
+                postings[i] = new int[entry.getValue().size()];
+                weights[i] = new float[entry.getValue().size()];
+                int j = 0;
+                for (Map.Entry<Integer, Float> posting : entry.getValue().entrySet()) {
+                    postings[i][j] = posting.getKey();
+                    weights[i][j] = posting.getValue();
+                    j++;
+                }
+                i++;
+            }
+            return new Index(docs, terms, postings, weights);
+        }
+
+        // Repeats of a word add log-dampened weight, so a long description cannot outrank a title match
+        private static void addField(Map<String, Float> termWeights, String text, float fieldWeight) {
+            Map<String, Integer> counts = new HashMap<>();
+            for (String token : tokenize(text)) {
+                counts.merge(token, 1, Integer::sum);
+            }
+            for (Map.Entry<String, Integer> count : counts.entrySet()) {
+                float weight = fieldWeight * (1f + (float) Math.log(count.getValue()));
+                termWeights.merge(count.getKey(), weight, Float::sum);
+            }
+        }
+
+        // Blank queries score every hit 0, which leaves them ordered newest first
+        List<Hit> query(List<String> tokens, boolean activeOnly, LocalDate date) {
+            List<Hit> hits = new ArrayList<>();
+            if (tokens.isEmpty()) {
+                for (AnnouncementDTO doc : docs) {
+                    if (passes(doc, activeOnly, date)) {
+                        hits.add(new Hit(doc, 0f));
+                    }
+                }
+                hits.sort(Comparator.comparing(Hit::key, Key.ORDER));
+                return hits;
+            }
+
+            float[] scores = null;
+            for (String token : new LinkedHashSet<>(tokens)) {
+                float[] tokenScores = score(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    // Every token has to match: a document missing one drops out
+                    for (int doc = 0; doc < scores.length; doc++) {
+                        scores[doc] = tokenScores[doc] > 0 && scores[doc] > 0 ? scores[doc] + tokenScores[doc] : 0;
+                    }
+                }
+            }
+
+            for (int doc = 0; doc < docs.length; doc++) {
+                if (scores[doc] > 0 && passes(docs[doc], activeOnly, date)) {
+                    hits.add(new Hit(docs[doc], scores[doc]));
+                }
+            }
+            hits.sort(Comparator.comparing(Hit::key, Key.ORDER));
+            return hits;
+        }
+
+        // Best match of the token per document, over every term it equals or prefixes
+        private float[] score(String token) {
+            float[] tokenScores = new float[docs.length];
+            int from = Arrays.binarySearch(terms, token);
+            if (from < 0) {
+                from = -from - 1;
+            }
+            for (int t = from; t < terms.length && terms[t].startsWith(token); t++) {
+                float factor = terms[t].length() == token.length() ? 1f : PREFIX_FACTOR;
+                float idf = (float) Math.log(1 + (double) docs.length / postings[t].length);
+                for (int p = 0; p < postings[t].length; p++) {
+                    float score = weights[t][p] * factor * idf;
+                    int doc = postings[t][p];
+                    if (score > tokenScores[doc]) {
+                        tokenScores[doc] = score;
+                    }
+                }
+            }
+            return tokenScores;
+        }
+
+        private static boolean passes(AnnouncementDTO doc, boolean activeOnly, LocalDate date) {
+            if (activeOnly && !Boolean.TRUE.equals(doc.getActive())) {
+                return false;
+            }
+            if (date != null) {
+                if (doc.getStartDate() != null && doc.getStartDate().isAfter(date)) {
+                    return false;
+                }
+                return doc.getEndDate() == null || !doc.getEndDate().isBefore(date);
+            }
+            return true;
+        }
+    }
+}
@@ -1,17 +1,16 @@
 package com.SBS_StudentServing_System.service.usefulInfo;
 
+import com.SBS_StudentServing_System.dto.common.CursorPage;
 import com.SBS_StudentServing_System.dto.usefulInfo.AnnouncementDTO;
 import com.SBS_StudentServing_System.model.admin.Admin;
 import com.SBS_StudentServing_System.model.usefulinfo.Announcement;
 import com.SBS_StudentServing_System.repository.UsefulInfo.AnnouncementRepository;
 import com.SBS_StudentServing_System.repository.admin.AdminRepository;
+import com.SBS_StudentServing_System.service.upload.BlobStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -25,10 +24,19 @@ public class AnnouncementService {
     @Autowired
     private AnnouncementRepository announcementRepository;
 
+    @Autowired
+    private AnnouncementFeed announcementFeed;
+
+    @Autowired
+    private AnnouncementSearchIndex searchIndex;
+
+    @Autowired
+    private BlobStore blobStore;
+
     @Value("${app.base-url}")
     private String baseUrl;
 
-    private final String UPLOAD_DIR = "uploads/announcements/";
+    private static final String ANNOUNCEMENT_AREA = "announcements/";
 
     public List<Announcement> getAllAnnouncements() {
         return announcementRepository.findAll();
@@ -43,7 +51,9 @@ public class AnnouncementService {
         mapDtoToEntity(announcementDTO, announcement);
         announcement.setCreatedAt(LocalDate.now());
         announcement.setUpdatedAt(LocalDate.now());
-        return announcementRepository.save(announcement);
+        Announcement saved = announcementRepository.save(announcement);
+        announcementFeed.refresh();
+        return saved;
     }
 
     public Announcement updateAnnouncement(String announcementId, AnnouncementDTO announcementDTO) {
@@ -52,7 +62,9 @@ public class AnnouncementService {
             Announcement announcement = existingAnnouncement.get();
             mapDtoToEntity(announcementDTO, announcement);
             announcement.setUpdatedAt(LocalDate.now());
-            return announcementRepository.save(announcement);
+            Announcement saved = announcementRepository.save(announcement);
+            announcementFeed.refresh();
+            return saved;
         }
         throw new RuntimeException("Announcement Not Found with id " + announcementId);
     }
@@ -66,6 +78,7 @@ public class AnnouncementService {
             deleteImageFile(announcement.getImageUrl());
             // Delete the announcement from database
             announcementRepository.deleteById(announcementId);
+            announcementFeed.refresh();
         }
     }
 
@@ -82,8 +95,11 @@ public class AnnouncementService {
         return announcementRepository.findByAnnouncementType(announcementType);
     }
 
-    public List<Announcement> searchAnnouncementsByTitle(String title) {
-        return announcementRepository.findByTitleContainingIgnoreCase(title);
+    // Served from the in-memory index (title, type and description), not a LIKE scan
+    public CursorPage<AnnouncementDTO> searchAnnouncements(String query, boolean activeOnly, LocalDate date,
+                                                           String cursor, Integer size) {
+        announcementFeed.current();
+        return searchIndex.search(query, activeOnly, date, cursor, size);
     }
 
     // --- Versions that return full URLs ---
@@ -118,14 +134,28 @@ public class AnnouncementService {
     }
 
     // --- Helpers ---
+    // Returns a detached copy; the entity may still be managed and must not be flushed with the display URL
     public Announcement addFullImageUrl(Announcement announcement, String baseUrl) {
-        String imageUrl = announcement.getImageUrl();
-        if (imageUrl != null && !imageUrl.startsWith("http")) {
-            announcement.setImageUrl(baseUrl + imageUrl);
-        } else if (imageUrl == null || imageUrl.isEmpty()) {
-            announcement.setImageUrl("https://via.placeholder.com/300x200?text=No+Image");
+        return Announcement.builder()
+                .announcementId(announcement.getAnnouncementId())
+                .admin(announcement.getAdmin())
+                .startDate(announcement.getStartDate())
+                .endDate(announcement.getEndDate())
+                .createdAt(announcement.getCreatedAt())
+                .updatedAt(announcement.getUpdatedAt())
+                .announcementType(announcement.getAnnouncementType())
+                .title(announcement.getTitle())
+                .imageUrl(fullImageUrl(announcement.getImageUrl(), baseUrl))
+                .active(announcement.getActive())
+                .description(announcement.getDescription())
+                .build();
+    }
+
+    static String fullImageUrl(String imageUrl, String baseUrl) {
+        if (imageUrl == null || imageUrl.isEmpty()) {
+            return "https://via.placeholder.com/300x200?text=No+Image";
         }
-        return announcement;
+        return imageUrl.startsWith("http") ? imageUrl : baseUrl + imageUrl;
     }
 
     public void updateAnnouncementImage(String announcementId, String newImageUrl) {
@@ -135,6 +165,7 @@ public class AnnouncementService {
             announcement.setImageUrl(newImageUrl);
             announcement.setUpdatedAt(LocalDate.now());
             announcementRepository.save(announcement);
+            announcementFeed.refresh();
         } else {
             throw new RuntimeException("Announcement not found with id: " + announcementId);
         }
@@ -158,15 +189,16 @@ public class AnnouncementService {
     }
 
     public Announcement saveAnnouncement(Announcement announcement) {
-        return announcementRepository.save(announcement);
+        Announcement saved = announcementRepository.save(announcement);
+        announcementFeed.refresh();
+        return saved;
     }
 
     private void deleteImageFile(String imageUrl) {
         try {
             if (imageUrl != null && imageUrl.contains("/uploads/announcements/")) {
                 String filename = imageUrl.substring(imageUrl.lastIndexOf("/") + 1);
-                Path filePath = Paths.get(UPLOAD_DIR + filename);
-                Files.deleteIfExists(filePath);
+                blobStore.delete(ANNOUNCEMENT_AREA + filename);
             }
         } catch (Exception e) {
             System.err.println("Could not delete image file: " + e.getMessage());
@@ -0,0 +1,17 @@
+-- Per-status attendance counters (AttendanceCounterService). Run once before deploying (ddl-auto is none),
+-- then POST /api/admin/academic/attendance-summaries/reconcile to fill the new columns from
+-- fact_daily_attendance. Duplicate rows for a student and course are dropped first (the lowest id is kept;
+-- the reconcile rebuilds its counts), so the unique key can be added.
+
+ALTER TABLE fact_attendance_summary
+    ADD COLUMN late_days    INT NOT NULL DEFAULT 0,
+    ADD COLUMN excused_days INT NOT NULL DEFAULT 0;
+
+DELETE duplicate FROM fact_attendance_summary duplicate
+JOIN fact_attendance_summary kept
+    ON kept.student_id = duplicate.student_id
+    AND kept.study_plan_course_id = duplicate.study_plan_course_id
+    AND kept.id < duplicate.id;
+
+ALTER TABLE fact_attendance_summary
+    ADD CONSTRAINT uk_attendance_summary_student_course UNIQUE (student_id, study_plan_course_id);
@@ -0,0 +1,15 @@
+-- Content-addressable document store (ContentBlobStore). Run once before deploying (ddl-auto is none).
+-- Files written before the store keep their old paths and are not counted here.
+
+CREATE TABLE IF NOT EXISTS dim_content_blob (
+    hash         CHAR(64)     NOT NULL PRIMARY KEY,
+    extension    VARCHAR(11)  NOT NULL,
+    size_bytes   BIGINT       NOT NULL,
+    ref_count    INT          NOT NULL DEFAULT 0,
+    created_at   DATETIME(6)  NOT NULL,
+    last_used_at DATETIME(6)  NOT NULL,
+    INDEX idx_content_blob_unreferenced (ref_count, last_used_at)
+) ENGINE = InnoDB;
+
+-- Certificate downloads look the stored path up by file name
+CREATE INDEX idx_certificates_file_name ON certificates (file_name);
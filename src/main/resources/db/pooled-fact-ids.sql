@@ -0,0 +1,37 @@
+-- Switches fact_course_result, fact_studentenrollment, fact_lecturer_course, fact_tuitionpayment and
+-- fact_attendance_summary from AUTO_INCREMENT to table-allocated ids (see @TableGenerator on the entities).
+-- Run once with the application stopped (ddl-auto is none). Hibernate uses the pooled-lo optimizer:
+-- next_val is the first id of the next block and each block holds allocationSize (50) ids.
+
+CREATE TABLE IF NOT EXISTS id_generator (
+    sequence_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    next_val      BIGINT      NOT NULL
+) ENGINE = InnoDB;
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'fact_course_result', COALESCE(MAX(id), 0) + 1 FROM fact_course_result
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'fact_studentenrollment', COALESCE(MAX(id), 0) + 1 FROM fact_studentenrollment
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'fact_lecturer_course', COALESCE(MAX(id), 0) + 1 FROM fact_lecturer_course
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'fact_tuitionpayment', COALESCE(MAX(id), 0) + 1 FROM fact_tuitionpayment
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'fact_attendance_summary', COALESCE(MAX(id), 0) + 1 FROM fact_attendance_summary
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+-- Ids now always come from the application; drop AUTO_INCREMENT so a stray insert without an id fails
+-- instead of taking a value from a block Hibernate has already handed out.
+ALTER TABLE fact_course_result MODIFY id BIGINT NOT NULL;
+ALTER TABLE fact_studentenrollment MODIFY id BIGINT NOT NULL;
+ALTER TABLE fact_lecturer_course MODIFY id BIGINT NOT NULL;
+ALTER TABLE fact_tuitionpayment MODIFY id BIGINT NOT NULL;
+ALTER TABLE fact_attendance_summary MODIFY id BIGINT NOT NULL;
@@ -0,0 +1,13 @@
+-- Academic-background documents are no longer served from the public /uploads area. Run once before
+-- deploying: points stored document URLs at the admin-only document endpoint. The content hash stays at the
+-- end of each URL, so blob reference counts are unaffected.
+
+UPDATE dim_student_academic_background
+SET document_url = REPLACE(document_url, '/uploads/blobs/',
+        '/api/admin/academic/student-academic-backgrounds-file/documents/blobs/')
+WHERE document_url LIKE '%/uploads/blobs/%';
+
+UPDATE dim_student_academic_background
+SET document_url = REPLACE(document_url, '/uploads/academic-backgrounds/',
+        '/api/admin/academic/student-academic-backgrounds-file/documents/academic-backgrounds/')
+WHERE document_url LIKE '%/uploads/academic-backgrounds/%';
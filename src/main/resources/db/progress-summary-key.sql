@@ -0,0 +1,11 @@
+-- One progress summary per student (StudentProgressSummaryService). Run once before deploying (ddl-auto is
+-- none), then POST /api/admin/academic/student-progress-summaries/rebuild to recompute the counters of the
+-- rows kept. Duplicate rows left over from manual CRUD are dropped first (the lowest id is kept).
+
+DELETE duplicate FROM fact_student_progress_summary duplicate
+JOIN fact_student_progress_summary kept
+    ON kept.student_id = duplicate.student_id
+    AND kept.id < duplicate.id;
+
+ALTER TABLE fact_student_progress_summary
+    ADD CONSTRAINT uk_progress_summary_student UNIQUE (student_id);
@@ -0,0 +1,14 @@
+-- Chunked (tus) upload sessions (ResumableUpload). Run once before deploying (ddl-auto is none).
+
+CREATE TABLE IF NOT EXISTS dim_resumable_upload (
+    upload_id     VARCHAR(36)  NOT NULL PRIMARY KEY,
+    account_id    VARCHAR(50)  NOT NULL,
+    file_name     VARCHAR(255),
+    upload_length BIGINT       NOT NULL,
+    upload_offset BIGINT       NOT NULL,
+    created_at    DATETIME(6)  NOT NULL,
+    expires_at    DATETIME(6)  NOT NULL,
+    completed_at  DATETIME(6),
+    INDEX idx_resumable_upload_account (account_id),
+    INDEX idx_resumable_upload_expires (expires_at)
+) ENGINE = InnoDB;
@@ -0,0 +1,16 @@
+-- Upload metadata index (UploadMetadata). Run once before deploying (ddl-auto is none); existing profile
+-- images are indexed by the application on its first start.
+
+CREATE TABLE IF NOT EXISTS dim_upload_metadata (
+    id             BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    category       VARCHAR(30)  NOT NULL,
+    owner_id       VARCHAR(50)  NOT NULL,
+    stored_path    VARCHAR(255) NOT NULL,
+    content_type   VARCHAR(100) NOT NULL,
+    size_bytes     BIGINT       NOT NULL,
+    content_hash   VARCHAR(64)  NOT NULL,
+    thumbnail_name VARCHAR(100),
+    card_name      VARCHAR(100),
+    uploaded_at    DATETIME(6)  NOT NULL,
+    CONSTRAINT uk_upload_metadata_owner UNIQUE (category, owner_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,131 @@
+package com.SBS_StudentServing_System.benchmark;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CourseResult-shaped inserts per second through Hibernate with the id strategy before and after the switch
+ * to table-allocated ids: {@code identity} (AUTO_INCREMENT, which keeps Hibernate from batching inserts) and
+ * {@code pooled-lo} (the @TableGenerator mapping now on CourseResult, allocationSize 50). Same batch size and
+ * insert ordering as application.properties; each invocation is rolled back. The rows go to two scratch
+ * tables (bench_course_result_*), created and dropped by the benchmark, never the real fact tables.
+ * In-memory H2 by default; for MySQL figures pass
+ * {@code -Djmh.args="CourseResultInsert -jvmArgs -Dbenchmark.jdbc.url=jdbc:mysql://.../scratch?rewriteBatchedStatements=true
+ * -Dbenchmark.jdbc.user=... -Dbenchmark.jdbc.password=..."} to {@code mvn -Pbenchmark test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(CourseResultInsertBenchmark.ROWS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CourseResultInsertBenchmark {
+
+    static final int ROWS = 5_000;
+    private static final int BATCH_SIZE = 50;
+
+    @Param({"identity", "pooled-lo"})
+    public String idStrategy;
+
+    private SessionFactory sessionFactory;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(IdentityCourseResult.class)
+                .addAnnotatedClass(PooledCourseResult.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL,
+                        System.getProperty("benchmark.jdbc.url", "jdbc:h2:mem:course-results;MODE=MySQL;DB_CLOSE_DELAY=-1"))
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, System.getProperty("benchmark.jdbc.user", "sa"))
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, System.getProperty("benchmark.jdbc.password", ""))
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(BATCH_SIZE))
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .setProperty(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo")
+                .buildSessionFactory();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    // Persist with a flush/clear every batch, as bulk writers in the application do
+    @Benchmark
+    public void insert() {
+        boolean identity = "identity".equals(idStrategy);
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            for (int i = 1; i <= ROWS; i++) {
+                session.persist(identity ? new IdentityCourseResult() : new PooledCourseResult());
+                if (i % BATCH_SIZE == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            session.flush();
+            transaction.rollback();
+        }
+    }
+
+    // The columns CourseResult writes, as plain values so only id generation and batching differ
+    @MappedSuperclass
+    public abstract static class CourseResultRow {
+        @Column(name = "student_id", nullable = false, length = 50)
+        public String studentId = "S0001";
+
+        @Column(name = "study_plan_course_id", nullable = false, length = 15)
+        public String studyPlanCourseId = "SPC0001";
+
+        @Column(name = "grade_name", nullable = false, length = 5)
+        public String gradeName = "A";
+
+        @Column(name = "credits_earned", nullable = false)
+        public Integer creditsEarned = 0;
+    }
+
+    @Entity(name = "IdentityCourseResult")
+    @Table(name = "bench_course_result_identity")
+    public static class IdentityCourseResult extends CourseResultRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        public Long id;
+    }
+
+    @Entity(name = "PooledCourseResult")
+    @Table(name = "bench_course_result_pooled")
+    public static class PooledCourseResult extends CourseResultRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.TABLE, generator = "bench_course_result_id")
+        @TableGenerator(name = "bench_course_result_id", table = "bench_id_generator", pkColumnName = "sequence_name",
+                valueColumnName = "next_val", pkColumnValue = "bench_course_result", allocationSize = 50)
+        public Long id;
+    }
+}
@@ -0,0 +1,113 @@
+package com.SBS_StudentServing_System.benchmark;
+
+import com.SBS_StudentServing_System.service.account.JwtClaims;
+import com.SBS_StudentServing_System.service.account.JwtUtil;
+import com.SBS_StudentServing_System.service.account.VerifiedTokenCache;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token handling cost per request in JwtAuthenticationFilter, before and after the single-parse change.
+ * {@code threeParses} is the old filter path: validateToken, extractAccountId and extractRole each rebuilt the
+ * HMAC key and parser and verified the signature again. {@code singleParse} is JwtUtil.parseToken (one
+ * verification with the prebuilt parser), {@code cacheHit} a VerifiedTokenCache hit. No Spring context or
+ * database is needed. Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args=JwtVerification};
+ * add {@code -t <threads>} to see the cache under request-thread concurrency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "change_this_very_secret_key_which_is_long_enough_1234567890";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        VerifiedTokenCache tokenCache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(tokenCache, "maxSize", 10_000);
+        ReflectionTestUtils.setField(tokenCache, "ttlMillis", 300_000L);
+
+        jwtUtil = new JwtUtil(tokenCache);
+        ReflectionTestUtils.setField(jwtUtil, "SECRET", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "EXPIRATION", 86_400_000L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+
+        token = jwtUtil.generateToken("benchmark-account", "STUDENT");
+        jwtUtil.verifyToken(token);
+    }
+
+    @Benchmark
+    public void threeParses(Blackhole blackhole) {
+        if (validateTokenBefore(token)) {
+            blackhole.consume(extractAccountIdBefore(token));
+            blackhole.consume(extractRoleBefore(token));
+        }
+    }
+
+    @Benchmark
+    public JwtClaims singleParse() {
+        return jwtUtil.parseToken(token);
+    }
+
+    @Benchmark
+    public JwtClaims cacheHit() {
+        return jwtUtil.verifyToken(token);
+    }
+
+    // JwtUtil as it was before the single-parse change, copied verbatim so the old cost stays measurable
+
+    private static Key signingKeyBefore() {
+        return Keys.hmacShaKeyFor(SECRET.getBytes());
+    }
+
+    @SuppressWarnings("deprecation")
+    private static boolean validateTokenBefore(String token) {
+        try {
+            Jwts.parser().setSigningKey(signingKeyBefore()).build().parseClaimsJws(token);
+            return true;
+        } catch (io.jsonwebtoken.JwtException e) {
+            return false;
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private static String extractAccountIdBefore(String token) {
+        return Jwts.parser()
+                .setSigningKey(signingKeyBefore())
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+
+    @SuppressWarnings("deprecation")
+    private static String extractRoleBefore(String token) {
+        return Jwts.parser()
+                .setSigningKey(signingKeyBefore())
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .get("role", String.class);
+    }
+}
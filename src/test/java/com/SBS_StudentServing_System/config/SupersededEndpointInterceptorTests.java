@@ -0,0 +1,44 @@
+package com.SBS_StudentServing_System.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SupersededEndpointInterceptorTests {
+
+	private final SupersededEndpointInterceptor interceptor = new SupersededEndpointInterceptor();
+
+	@Test
+	void supersededEndpointPointsToItsSuccessor() throws Exception {
+		MockHttpServletResponse response = handle("list");
+
+		assertThat(response.getHeader("Deprecation")).isEqualTo("@1792195200");
+		assertThat(response.getHeader("Link")).isEqualTo("</api/things/page>; rel=\"successor-version\"");
+	}
+
+	@Test
+	void otherEndpointsAreLeftAlone() throws Exception {
+		MockHttpServletResponse response = handle("page");
+
+		assertThat(response.getHeaderNames()).isEmpty();
+	}
+
+	private MockHttpServletResponse handle(String method) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		HandlerMethod handler = new HandlerMethod(new Things(), Things.class.getMethod(method));
+		assertThat(interceptor.preHandle(new MockHttpServletRequest(), response, handler)).isTrue();
+		return response;
+	}
+
+	static class Things {
+		@SupersededBy(value = "/api/things/page", since = "2026-10-17")
+		public void list() {
+		}
+
+		public void page() {
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.SBS_StudentServing_System.repository.student;
+
+import com.SBS_StudentServing_System.dto.student.StudentRow;
+import com.SBS_StudentServing_System.model.account.LoginAccount;
+import com.SBS_StudentServing_System.model.student.Student;
+import com.SBS_StudentServing_System.model.student.related.City;
+import com.SBS_StudentServing_System.model.student.related.Ward;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Guards the joined projection: listing students must stay one statement, not 1 + N eager association selects
+@DataJpaTest(properties = {
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class StudentRepositoryTests {
+
+	private static final int STUDENTS = 25;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		City city = entityManager.persist(City.builder().cityId("HCM").cityName("Ho Chi Minh City").build());
+		Ward ward = entityManager.persist(Ward.builder().wardId("W01").wardName("Ben Nghe").build());
+		for (int i = 1; i <= STUDENTS; i++) {
+			LoginAccount account = entityManager.persist(LoginAccount.builder()
+					.accountId("A" + i)
+					.role("STUDENT")
+					.accountStatus(1)
+					.createdAt(LocalDateTime.now())
+					.password("hash")
+					.build());
+			entityManager.persist(Student.builder()
+					.studentId(String.format("S%03d", i))
+					.firstName("Student")
+					.lastName(String.valueOf(i))
+					.loginAccount(account)
+					.city(city)
+					// Every other student without a ward, to exercise the outer joins
+					.ward(i % 2 == 0 ? ward : null)
+					.build());
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManager.getEntityManager().getEntityManagerFactory()
+				.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void findAllRowsIsASingleStatement() {
+		List<StudentRow> rows = studentRepository.findAllRows();
+
+		assertThat(rows).hasSize(STUDENTS);
+		assertThat(rows.get(0).studentId()).isEqualTo("S001");
+		assertThat(rows.get(0).cityId()).isEqualTo("HCM");
+		assertThat(rows.get(0).wardId()).isNull();
+		assertThat(rows.get(1).wardId()).isEqualTo("W01");
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isEqualTo(0);
+	}
+
+	@Test
+	void findRowByIdIsASingleStatement() {
+		StudentRow row = studentRepository.findRowById("S002").orElseThrow();
+
+		assertThat(row.accountId()).isEqualTo("A2");
+		assertThat(row.accountRole()).isEqualTo("STUDENT");
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,87 @@
+package com.SBS_StudentServing_System.service.account;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTests {
+
+	@Test
+	void returnsClaimsForTheSameTokenOnly() {
+		VerifiedTokenCache cache = cache(10, 60_000);
+		JwtClaims claims = claims("S001", 60_000);
+
+		cache.put("token-a", claims);
+
+		assertThat(cache.get("token-a")).isSameAs(claims);
+		assertThat(cache.get("token-b")).isNull();
+	}
+
+	@Test
+	void neverCachesExpiredTokens() {
+		VerifiedTokenCache cache = cache(10, 60_000);
+
+		cache.put("expired", claims("S001", -1_000));
+
+		assertThat(cache.get("expired")).isNull();
+		assertThat(cache.size()).isEqualTo(0);
+	}
+
+	@Test
+	void entryLivesNoLongerThanTheToken() throws InterruptedException {
+		VerifiedTokenCache cache = cache(10, 60_000);
+
+		cache.put("short-lived", claims("S001", 50));
+		assertThat(cache.get("short-lived")).isNotNull();
+
+		Thread.sleep(100);
+		assertThat(cache.get("short-lived")).isNull();
+		assertThat(cache.size()).isEqualTo(0);
+	}
+
+	@Test
+	void entryLivesNoLongerThanTheTtl() throws InterruptedException {
+		VerifiedTokenCache cache = cache(10, 50);
+
+		cache.put("token", claims("S001", 60_000));
+		Thread.sleep(100);
+
+		assertThat(cache.get("token")).isNull();
+	}
+
+	@Test
+	void staysWithinMaxSize() {
+		VerifiedTokenCache cache = cache(2, 60_000);
+
+		cache.put("token-1", claims("S001", 60_000));
+		cache.put("token-2", claims("S002", 60_000));
+		cache.put("token-3", claims("S003", 60_000));
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.get("token-3")).isNotNull();
+	}
+
+	@Test
+	void clearDropsEverything() {
+		VerifiedTokenCache cache = cache(10, 60_000);
+		cache.put("token", claims("S001", 60_000));
+
+		cache.clear();
+
+		assertThat(cache.get("token")).isNull();
+	}
+
+	private static VerifiedTokenCache cache(int maxSize, long ttlMillis) {
+		VerifiedTokenCache cache = new VerifiedTokenCache();
+		ReflectionTestUtils.setField(cache, "maxSize", maxSize);
+		ReflectionTestUtils.setField(cache, "ttlMillis", ttlMillis);
+		return cache;
+	}
+
+	private static JwtClaims claims(String accountId, long validForMillis) {
+		return new JwtClaims(accountId, "STUDENT", new Date(System.currentTimeMillis() + validForMillis));
+	}
+}
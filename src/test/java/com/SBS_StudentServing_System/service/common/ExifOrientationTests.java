@@ -0,0 +1,123 @@
+package com.SBS_StudentServing_System.service.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExifOrientationTests {
+
+	private static final int RED = 0xFF0000;
+	private static final int BLUE = 0x0000FF;
+
+	@Test
+	void readsOrientationInEitherByteOrder() throws IOException {
+		assertThat(read(jpeg(jfif(), exif(ByteOrder.BIG_ENDIAN, 6)))).isEqualTo(6);
+		assertThat(read(jpeg(jfif(), exif(ByteOrder.LITTLE_ENDIAN, 8)))).isEqualTo(8);
+	}
+
+	@Test
+	void skipsXmpSegmentsBeforeExif() throws IOException {
+		byte[] xmp = segment(0xE1, "http://ns.adobe.com/xap/1.0/\0<x:xmpmeta/>".getBytes(StandardCharsets.ISO_8859_1));
+		assertThat(read(jpeg(xmp, exif(ByteOrder.BIG_ENDIAN, 3)))).isEqualTo(3);
+	}
+
+	@Test
+	void defaultsToAsStored() throws IOException {
+		// Not a JPEG
+		assertThat(read(new byte[]{(byte) 0x89, 'P', 'N', 'G'})).isEqualTo(1);
+		// No EXIF before the scan
+		assertThat(read(jpeg(jfif(), segment(0xDA, new byte[4])))).isEqualTo(1);
+		// Out-of-range value
+		assertThat(read(jpeg(exif(ByteOrder.BIG_ENDIAN, 9)))).isEqualTo(1);
+		// Truncated file
+		byte[] truncated = jpeg(exif(ByteOrder.BIG_ENDIAN, 6));
+		assertThat(read(Arrays.copyOf(truncated, 10))).isEqualTo(1);
+	}
+
+	@Test
+	void appliesRotationsAndMirrors() {
+		// Red on the left, blue on the right
+		BufferedImage image = new BufferedImage(2, 1, BufferedImage.TYPE_INT_RGB);
+		image.setRGB(0, 0, RED);
+		image.setRGB(1, 0, BLUE);
+
+		assertThat(ExifOrientation.apply(image, 1)).isSameAs(image);
+
+		BufferedImage mirrored = ExifOrientation.apply(image, 2);
+		assertThat(rgb(mirrored, 0, 0)).isEqualTo(BLUE);
+		assertThat(rgb(mirrored, 1, 0)).isEqualTo(RED);
+
+		BufferedImage clockwise = ExifOrientation.apply(image, 6);
+		assertThat(clockwise.getWidth()).isEqualTo(1);
+		assertThat(clockwise.getHeight()).isEqualTo(2);
+		assertThat(rgb(clockwise, 0, 0)).isEqualTo(RED);
+		assertThat(rgb(clockwise, 0, 1)).isEqualTo(BLUE);
+
+		BufferedImage counterClockwise = ExifOrientation.apply(image, 8);
+		assertThat(rgb(counterClockwise, 0, 0)).isEqualTo(BLUE);
+		assertThat(rgb(counterClockwise, 0, 1)).isEqualTo(RED);
+	}
+
+	private static int read(byte[] file) throws IOException {
+		return ExifOrientation.read(new ByteArrayInputStream(file));
+	}
+
+	private static int rgb(BufferedImage image, int x, int y) {
+		return image.getRGB(x, y) & 0xFFFFFF;
+	}
+
+	private static byte[] jpeg(byte[]... segments) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		out.write(0xFF);
+		out.write(0xD8);
+		for (byte[] segment : segments) {
+			out.write(segment);
+		}
+		out.write(0xFF);
+		out.write(0xD9);
+		return out.toByteArray();
+	}
+
+	private static byte[] jfif() {
+		return segment(0xE0, "JFIF\0\1\1\0\0\1\0\1\0\0".getBytes(StandardCharsets.ISO_8859_1));
+	}
+
+	// APP1 with a TIFF header and a single IFD entry holding the orientation
+	private static byte[] exif(ByteOrder order, int orientation) {
+		ByteBuffer tiff = ByteBuffer.allocate(8 + 2 + 12 + 4).order(order);
+		tiff.put(order == ByteOrder.LITTLE_ENDIAN ? (byte) 'I' : (byte) 'M');
+		tiff.put(order == ByteOrder.LITTLE_ENDIAN ? (byte) 'I' : (byte) 'M');
+		tiff.putShort((short) 42);
+		tiff.putInt(8);
+		tiff.putShort((short) 1);
+		tiff.putShort((short) 0x0112);
+		tiff.putShort((short) 3);
+		tiff.putInt(1);
+		tiff.putShort((short) orientation);
+		tiff.putShort((short) 0);
+		tiff.putInt(0);
+
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		body.writeBytes("Exif\0\0".getBytes(StandardCharsets.ISO_8859_1));
+		body.writeBytes(tiff.array());
+		return segment(0xE1, body.toByteArray());
+	}
+
+	private static byte[] segment(int type, byte[] body) {
+		ByteBuffer segment = ByteBuffer.allocate(4 + body.length);
+		segment.put((byte) 0xFF);
+		segment.put((byte) type);
+		segment.putShort((short) (body.length + 2));
+		segment.put(body);
+		return segment.array();
+	}
+}
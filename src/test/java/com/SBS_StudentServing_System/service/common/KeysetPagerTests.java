@@ -0,0 +1,89 @@
+package com.SBS_StudentServing_System.service.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetPagerTests {
+
+	private static final List<Class<?>> KEY_TYPES = List.of(LocalDate.class, Long.class);
+
+	private final KeysetPager pager = new KeysetPager(new ObjectMapper());
+
+	@Test
+	void cursorRoundTripsTypedKeys() {
+		String cursor = pager.encodeCursor("-startDate", List.of("2026-03-01", "42"));
+
+		assertThat(cursor).doesNotContain("=", "+", "/");
+		assertThat(pager.decodeCursor(cursor, "-startDate", KEY_TYPES)).containsExactly(LocalDate.of(2026, 3, 1), 42L);
+	}
+
+	@Test
+	void cursorKeepsNullSortValues() {
+		String cursor = pager.encodeCursor("startDate", Arrays.asList(null, "7"));
+
+		assertThat(pager.decodeCursor(cursor, "startDate", KEY_TYPES)).containsExactly(null, 7L);
+	}
+
+	@Test
+	void rejectsCursorForAnotherSort() {
+		String cursor = pager.encodeCursor("startDate", List.of("2026-03-01", "42"));
+
+		assertThatThrownBy(() -> pager.decodeCursor(cursor, "-startDate", KEY_TYPES))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("does not match");
+		assertThatThrownBy(() -> pager.decodeCursor(cursor, "startDate", List.of(Long.class)))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void rejectsTamperedCursors() {
+		// Not Base64, Base64 of non-JSON, JSON null, and a key that does not parse as the column type
+		assertThatThrownBy(() -> pager.decodeCursor("%%%", "startDate", KEY_TYPES))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Invalid cursor");
+		assertThatThrownBy(() -> pager.decodeCursor(base64("not json"), "startDate", KEY_TYPES))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Invalid cursor");
+		assertThatThrownBy(() -> pager.decodeCursor(base64("null"), "startDate", KEY_TYPES))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Invalid cursor");
+		String tampered = pager.encodeCursor("startDate", List.of("2026-03-01", "9999999999999999999999"));
+		assertThatThrownBy(() -> pager.decodeCursor(tampered, "startDate", KEY_TYPES))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("Invalid value");
+	}
+
+	@Test
+	void pageRequestSeparatesPagingParametersFromFilters() {
+		KeysetPageRequest request = KeysetPageRequest.from(Map.of(
+				"size", " 20 ", "cursor", "", "sort", "-startDate", "status", "Pending", "studentId", " "));
+
+		assertThat(request.size()).isEqualTo(20);
+		assertThat(request.cursor()).isNull();
+		assertThat(request.sort()).isEqualTo("-startDate");
+		assertThat(request.filters()).isEqualTo(Map.of("status", "Pending"));
+	}
+
+	@Test
+	void pageRequestRejectsNonNumericSize() {
+		assertThatThrownBy(() -> KeysetPageRequest.from(Map.of("size", "ten")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("Invalid page size");
+		assertThatThrownBy(() -> KeysetPageRequest.from(Map.of("size", "99999999999")))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static String base64(String text) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,64 @@
+package com.SBS_StudentServing_System.service.student;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvRowReaderTests {
+
+	@Test
+	void readsRowsAndLineNumbers() throws IOException {
+		try (CsvRowReader reader = reader("studentId,name\nS1,Lan\nS2,Minh")) {
+			assertThat(reader.next()).containsExactly("studentId", "name");
+			assertThat(reader.rowNumber()).isEqualTo(1);
+			assertThat(reader.next()).containsExactly("S1", "Lan");
+			assertThat(reader.next()).containsExactly("S2", "Minh");
+			assertThat(reader.rowNumber()).isEqualTo(3);
+			assertThat(reader.next()).isNull();
+		}
+	}
+
+	@Test
+	void quotedFieldsKeepCommasQuotesAndLineBreaks() throws IOException {
+		try (CsvRowReader reader = reader("\"Nguyen, Lan\",\"says \"\"hi\"\"\",\"12 Le Loi\nDistrict 1\"\nS2,x,y\n")) {
+			assertThat(reader.next()).containsExactly("Nguyen, Lan", "says \"hi\"", "12 Le Loi\nDistrict 1");
+			assertThat(reader.rowNumber()).isEqualTo(1);
+			// The line break inside the quoted field still counts as a line
+			assertThat(reader.next()).containsExactly("S2", "x", "y");
+			assertThat(reader.rowNumber()).isEqualTo(3);
+			assertThat(reader.next()).isNull();
+		}
+	}
+
+	@Test
+	void stripsByteOrderMarkAndHandlesCrLf() throws IOException {
+		try (CsvRowReader reader = reader("\uFEFFstudentId,name\r\nS1,Lan\r\n")) {
+			assertThat(reader.next()).containsExactly("studentId", "name");
+			assertThat(reader.next()).containsExactly("S1", "Lan");
+			assertThat(reader.rowNumber()).isEqualTo(2);
+			assertThat(reader.next()).isNull();
+		}
+	}
+
+	@Test
+	void keepsEmptyFields() throws IOException {
+		try (CsvRowReader reader = reader("S1,,\n")) {
+			assertThat(reader.next()).containsExactly("S1", "", "");
+		}
+	}
+
+	@Test
+	void emptyInputHasNoRows() throws IOException {
+		try (CsvRowReader reader = reader("")) {
+			assertThat(reader.next()).isNull();
+		}
+	}
+
+	private static CsvRowReader reader(String content) {
+		return new CsvRowReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+	}
+}
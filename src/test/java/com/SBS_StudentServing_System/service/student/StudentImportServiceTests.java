@@ -0,0 +1,43 @@
+package com.SBS_StudentServing_System.service.student;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StudentImportServiceTests {
+
+	@Test
+	void isoDatesParseOnBothPaths() {
+		assertThat(StudentImportService.parseDate("1999-01-01", false)).isEqualTo(LocalDate.of(1999, 1, 1));
+		assertThat(StudentImportService.parseDate("1999-01-01", true)).isEqualTo(LocalDate.of(1999, 1, 1));
+	}
+
+	@Test
+	void serialDayNumbersOnlyOnTheWorkbookPath() {
+		assertThat(StudentImportService.parseDate("36161", true)).isEqualTo(LocalDate.of(1999, 1, 1));
+		assertThatThrownBy(() -> StudentImportService.parseDate("36161", false))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("expected yyyy-MM-dd");
+	}
+
+	@Test
+	void compactCsvDateIsARowError() {
+		assertThatThrownBy(() -> StudentImportService.parseDate("19990101", false))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void implausibleDatesAreRejected() {
+		// 19990101 read as a serial day number lands in the year 56,600
+		assertThatThrownBy(() -> StudentImportService.parseDate("19990101", true))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("out of range");
+		assertThatThrownBy(() -> StudentImportService.parseDate("1850-06-01", false))
+				.hasMessageContaining("out of range");
+		assertThatThrownBy(() -> StudentImportService.parseDate(LocalDate.now().plusDays(1).toString(), false))
+				.hasMessageContaining("out of range");
+	}
+}
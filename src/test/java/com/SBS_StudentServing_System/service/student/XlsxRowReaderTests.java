@@ -0,0 +1,95 @@
+package com.SBS_StudentServing_System.service.student;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class XlsxRowReaderTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void readsSharedStringsNumbersAndGaps() throws IOException {
+		Path file = workbook("xl/worksheets/sheet1.xml",
+				"""
+				<sst xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main">
+				  <si><t>studentId</t></si>
+				  <si><t>phone</t></si>
+				  <si><r><t>Nguyen </t></r><r><t>Lan</t></r><rPh><t>ignored</t></rPh></si>
+				</sst>
+				""",
+				"""
+				<worksheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main"><sheetData>
+				  <row r="1"><c r="A1" t="s"><v>0</v></c><c r="B1" t="s"><v>1</v></c></row>
+				  <row r="3"><c r="A3" t="s"><v>2</v></c><c r="C3"><v>9.12345678E8</v></c></row>
+				  <row r="4"><c r="A4" t="inlineStr"><is><t>S4</t></is></c><c r="B4"><v>3.50</v></c></row>
+				</sheetData></worksheet>
+				""");
+
+		try (XlsxRowReader reader = new XlsxRowReader(file)) {
+			assertThat(reader.next()).containsExactly("studentId", "phone");
+			assertThat(reader.rowNumber()).isEqualTo(1);
+			// Skipped row numbers are kept; the missing B3 cell is padded
+			assertThat(reader.next()).containsExactly("Nguyen Lan", null, "912345678");
+			assertThat(reader.rowNumber()).isEqualTo(3);
+			assertThat(reader.next()).containsExactly("S4", "3.5");
+			assertThat(reader.next()).isNull();
+		}
+	}
+
+	@Test
+	void fallsBackToFirstWorksheetByName() throws IOException {
+		Path file = workbook("xl/worksheets/students.xml", null,
+				"""
+				<worksheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main"><sheetData>
+				  <row><c><v>1</v></c><c><v>2</v></c></row>
+				</sheetData></worksheet>
+				""");
+
+		try (XlsxRowReader reader = new XlsxRowReader(file)) {
+			assertThat(reader.next()).containsExactly("1", "2");
+			assertThat(reader.rowNumber()).isEqualTo(1);
+			assertThat(reader.next()).isNull();
+		}
+	}
+
+	@Test
+	void rejectsWorkbookWithoutWorksheet() throws IOException {
+		Path file = dir.resolve("empty.xlsx");
+		try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(file))) {
+			zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+			zip.write("<Types/>".getBytes(StandardCharsets.UTF_8));
+			zip.closeEntry();
+		}
+
+		assertThatThrownBy(() -> new XlsxRowReader(file))
+				.isInstanceOf(IOException.class)
+				.hasMessageContaining("no worksheet");
+	}
+
+	private Path workbook(String sheetName, String sharedStrings, String sheet) throws IOException {
+		Path file = Files.createTempFile(dir, "import-", ".xlsx");
+		try (OutputStream out = Files.newOutputStream(file); ZipOutputStream zip = new ZipOutputStream(out)) {
+			if (sharedStrings != null) {
+				zip.putNextEntry(new ZipEntry("xl/sharedStrings.xml"));
+				zip.write(sharedStrings.getBytes(StandardCharsets.UTF_8));
+				zip.closeEntry();
+			}
+			zip.putNextEntry(new ZipEntry(sheetName));
+			zip.write(sheet.getBytes(StandardCharsets.UTF_8));
+			zip.closeEntry();
+		}
+		return file;
+	}
+}
@@ -0,0 +1,44 @@
+package com.SBS_StudentServing_System.service.upload;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadFileServerTests {
+
+	private static final long LENGTH = 1000;
+
+	@Test
+	void parsesClosedAndOpenRanges() {
+		assertThat(UploadFileServer.parseRange("bytes=0-499", LENGTH)).containsExactly(0L, 499L);
+		assertThat(UploadFileServer.parseRange("bytes=500-", LENGTH)).containsExactly(500L, 999L);
+		assertThat(UploadFileServer.parseRange("bytes= 10 - 20 ", LENGTH)).containsExactly(10L, 20L);
+	}
+
+	@Test
+	void clampsEndToLength() {
+		assertThat(UploadFileServer.parseRange("bytes=900-5000", LENGTH)).containsExactly(900L, 999L);
+	}
+
+	@Test
+	void parsesSuffixRanges() {
+		assertThat(UploadFileServer.parseRange("bytes=-100", LENGTH)).containsExactly(900L, 999L);
+		assertThat(UploadFileServer.parseRange("bytes=-5000", LENGTH)).containsExactly(0L, 999L);
+	}
+
+	@Test
+	void unsatisfiableRangesAreEmpty() {
+		assertThat(UploadFileServer.parseRange("bytes=1000-", LENGTH)).isEmpty();
+		assertThat(UploadFileServer.parseRange("bytes=-0", LENGTH)).isEmpty();
+	}
+
+	// null: the header is ignored and the whole file is served
+	@Test
+	void ignoresMalformedAndMultipleRanges() {
+		assertThat(UploadFileServer.parseRange("items=0-10", LENGTH)).isNull();
+		assertThat(UploadFileServer.parseRange("bytes=0-10,20-30", LENGTH)).isNull();
+		assertThat(UploadFileServer.parseRange("bytes=10", LENGTH)).isNull();
+		assertThat(UploadFileServer.parseRange("bytes=20-10", LENGTH)).isNull();
+		assertThat(UploadFileServer.parseRange("bytes=a-b", LENGTH)).isNull();
+	}
+}
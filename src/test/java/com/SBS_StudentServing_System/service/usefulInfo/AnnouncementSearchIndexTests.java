@@ -0,0 +1,140 @@
+package com.SBS_StudentServing_System.service.usefulInfo;
+
+import com.SBS_StudentServing_System.dto.common.CursorPage;
+import com.SBS_StudentServing_System.dto.usefulInfo.AnnouncementDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnnouncementSearchIndexTests {
+
+	private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+
+	private final AnnouncementSearchIndex index = index(List.of(
+			announcement("A1", "Final examination timetable", "Exam", "Rooms for the final exams", TODAY.minusDays(3), true),
+			announcement("A2", "Library hours", "General", "The library opens late during the examination week", TODAY.minusDays(1), true),
+			announcement("A3", "Tuition deadline", "Finance", "Pay tuition before the deadline", TODAY.minusDays(2), false),
+			announcement("A4", "Lịch thi học kỳ", "Exam", "Xem lịch thi", TODAY.plusDays(5), true)));
+
+	@Test
+	void tokenizesOnSeparatorsAndLowercases() {
+		assertThat(AnnouncementSearchIndex.tokenize("Final-Exam, ROOM 101!")).containsExactly("final", "exam", "room", "101");
+		assertThat(AnnouncementSearchIndex.tokenize("  ")).isEmpty();
+		assertThat(AnnouncementSearchIndex.tokenize(null)).isEmpty();
+	}
+
+	@Test
+	void ranksTitleMatchesAboveDescriptionMatches() {
+		assertThat(ids(index.search("examination", false, null, null, null))).containsExactly("A1", "A2");
+	}
+
+	@Test
+	void matchesWordPrefixes() {
+		assertThat(ids(index.search("tuit", false, null, null, null))).containsExactly("A3");
+		assertThat(ids(index.search("lib", false, null, null, null))).containsExactly("A2");
+	}
+
+	@Test
+	void requiresEveryToken() {
+		assertThat(ids(index.search("final rooms", false, null, null, null))).containsExactly("A1");
+		assertThat(ids(index.search("final library", false, null, null, null))).isEmpty();
+	}
+
+	@Test
+	void matchesAccentedTextInEitherUnicodeForm() {
+		assertThat(ids(index.search("lịch", false, null, null, null))).containsExactly("A4");
+		// "i" followed by a combining dot below, as some keyboards send it
+		assertThat(ids(index.search("li\u0323ch", false, null, null, null))).containsExactly("A4");
+	}
+
+	@Test
+	void blankQueryListsNewestFirstWithFilters() {
+		assertThat(ids(index.search(null, false, null, null, null))).containsExactly("A4", "A2", "A3", "A1");
+		assertThat(ids(index.search("", true, null, null, null))).containsExactly("A4", "A2", "A1");
+		// A4 has not started yet on TODAY; "exam" also prefixes "examination" in A2's description
+		assertThat(ids(index.search("exam", false, TODAY, null, null))).containsExactly("A1", "A2");
+	}
+
+	@Test
+	void pagesWithKeysetCursor() {
+		CursorPage<AnnouncementDTO> first = index.search(null, false, null, null, 3);
+		assertThat(ids(first)).containsExactly("A4", "A2", "A3");
+		assertThat(first.isHasMore()).isTrue();
+
+		CursorPage<AnnouncementDTO> second = index.search(null, false, null, first.getNextCursor(), 3);
+		assertThat(ids(second)).containsExactly("A1");
+		assertThat(second.isHasMore()).isFalse();
+		assertThat(second.getNextCursor()).isNull();
+	}
+
+	@Test
+	void rankedPagesContinueAfterTheLastHit() {
+		CursorPage<AnnouncementDTO> first = index.search("examination", false, null, null, 1);
+		assertThat(ids(first)).containsExactly("A1");
+
+		assertThat(ids(index.search("examination", false, null, first.getNextCursor(), 1))).containsExactly("A2");
+	}
+
+	@Test
+	void rebuildBetweenPagesNeitherRepeatsNorSkips() {
+		AnnouncementSearchIndex index = index(List.of(
+				announcement("A1", "Notice one", "General", "", TODAY.minusDays(1), true),
+				announcement("A2", "Notice two", "General", "", TODAY.minusDays(2), true),
+				announcement("A3", "Notice three", "General", "", TODAY.minusDays(3), true),
+				announcement("A4", "Notice four", "General", "", TODAY.minusDays(4), true)));
+		CursorPage<AnnouncementDTO> first = index.search(null, false, null, null, 2);
+		assertThat(ids(first)).containsExactly("A1", "A2");
+
+		// A newer announcement is published before the second page is read; an offset would repeat A2
+		index.rebuild(List.of(
+				announcement("A0", "Notice zero", "General", "", TODAY, true),
+				announcement("A1", "Notice one", "General", "", TODAY.minusDays(1), true),
+				announcement("A2", "Notice two", "General", "", TODAY.minusDays(2), true),
+				announcement("A3", "Notice three", "General", "", TODAY.minusDays(3), true),
+				announcement("A4", "Notice four", "General", "", TODAY.minusDays(4), true)));
+
+		assertThat(ids(index.search(null, false, null, first.getNextCursor(), 2))).containsExactly("A3", "A4");
+	}
+
+	@Test
+	void rejectsMalformedCursor() {
+		assertThatThrownBy(() -> index.search(null, false, null, "abc", null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Invalid cursor");
+		assertThatThrownBy(() -> index.search(null, false, null, "%%%", null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Invalid cursor");
+	}
+
+	@Test
+	void rejectsCursorFromAnotherQuery() {
+		String cursor = index.search("examination", false, null, null, 1).getNextCursor();
+
+		assertThatThrownBy(() -> index.search("library", false, null, cursor, 1))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("does not match");
+	}
+
+	private static AnnouncementSearchIndex index(List<AnnouncementDTO> announcements) {
+		AnnouncementSearchIndex index = new AnnouncementSearchIndex();
+		ReflectionTestUtils.setField(index, "defaultSize", 50);
+		ReflectionTestUtils.setField(index, "maxSize", 200);
+		index.rebuild(announcements);
+		return index;
+	}
+
+	private static AnnouncementDTO announcement(String id, String title, String type, String description,
+												LocalDate startDate, boolean active) {
+		return new AnnouncementDTO(id, "admin", startDate, startDate.plusDays(30), startDate, startDate,
+				type, title, null, active, description);
+	}
+
+	private static List<String> ids(CursorPage<AnnouncementDTO> page) {
+		return page.getItems().stream().map(AnnouncementDTO::getAnnouncementId).toList();
+	}
+}